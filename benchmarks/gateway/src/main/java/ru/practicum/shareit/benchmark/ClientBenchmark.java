@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.client.ClientPolicies;
+import ru.practicum.shareit.client.ClientProperties;
+import ru.practicum.shareit.item.ItemClient;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Round trip of {@code ItemClient.getAll} wired as in the gateway (policy, connection pool, JSON parsing)
+ * against a local stub server answering with a fixed page of items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private WebServer server;
+    private ItemClient itemClient;
+    private final Map<String, Object> parameters = Map.of("from", 0, "size", 1000);
+
+    @Setup
+    public void setUp() {
+        var page = IntStream.rangeClosed(1, size)
+                .mapToObj(id -> String.format("{\"id\":%d,\"name\":\"item %d\",\"description\":\"description of item %d\","
+                        + "\"available\":true,\"lastBooking\":null,\"nextBooking\":null,\"comments\":[]}", id, id, id))
+                .collect(Collectors.joining(",", "[", "]"))
+                .getBytes(StandardCharsets.UTF_8);
+        server = new TomcatServletWebServerFactory(0).getWebServer(context ->
+                context.addServlet("items", new PageServlet(page)).addMapping("/*"));
+        server.start();
+        var policies = new ClientPolicies(new ClientProperties(), new SimpleMeterRegistry());
+        itemClient = new ItemClient("http://localhost:" + server.getPort(), new RestTemplateBuilder(), policies);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> getAll() {
+        return itemClient.getAll(1L, parameters);
+    }
+
+    private static class PageServlet extends HttpServlet {
+        private final byte[] page;
+
+        PageServlet(byte[] page) {
+            this.page = page;
+        }
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setContentType("application/json");
+            response.setContentLength(page.length);
+            response.getOutputStream().write(page);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+#!/usr/bin/env sh
+# Builds and runs the JMH suites and archives the results in benchmarks/results/<time>-<commit>/.
+# The results are compared with the previous archived run, the script fails on regressions over 10%.
+# Arguments are passed to JMH, e.g. ./benchmarks/run.sh -f 1 -wi 2 -i 3
+set -e
+cd "$(dirname "$0")/.."
+
+mvn -B -q package -DskipTests -pl benchmarks/server,benchmarks/gateway -am
+
+previous=$(ls -d benchmarks/results/*/ 2>/dev/null | tail -n 1)
+out="benchmarks/results/$(date +%Y%m%d-%H%M%S)-$(git rev-parse --short HEAD)"
+mkdir -p "$out"
+for module in server gateway; do
+  java -jar "benchmarks/$module/target/benchmarks.jar" -rf json -rff "$out/$module.json" "$@"
+done
+
+if [ -n "$previous" ]; then
+  status=0
+  for module in server gateway; do
+    if [ -f "$previous$module.json" ]; then
+      java -cp benchmarks/server/target/benchmarks.jar ru.practicum.shareit.benchmark.CompareResults \
+        "$previous$module.json" "$out/$module.json" || status=1
+    fi
+  done
+  exit $status
+fi
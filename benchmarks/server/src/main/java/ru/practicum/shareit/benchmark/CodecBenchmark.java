@@ -0,0 +1,94 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode cost of the gateway to server hop per wire format. Decoding targets {@code Object}
+ * because that is what {@code BaseClient} reads responses into. Payload sizes are printed on setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<BookingDto> bookings;
+    private List<ItemWithBookingsDto> items;
+    private byte[] encodedBookings;
+    private byte[] encodedItems;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory(format))
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        bookings = Fixtures.bookings(size);
+        items = Fixtures.itemsWithBookings(size);
+        encodedBookings = mapper.writeValueAsBytes(bookings);
+        encodedItems = mapper.writeValueAsBytes(items);
+        System.out.printf("%n%s payload, %d entries: BookingDto %d B, ItemWithBookingsDto %d B%n",
+                format, size, encodedBookings.length, encodedItems.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBookings() throws IOException {
+        return mapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public Object decodeBookings() throws IOException {
+        return mapper.readValue(encodedBookings, Object.class);
+    }
+
+    @Benchmark
+    public byte[] encodeItemsWithBookings() throws IOException {
+        return mapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public Object decodeItemsWithBookings() throws IOException {
+        return mapper.readValue(encodedItems, Object.class);
+    }
+
+    private static JsonFactory factory(String format) {
+        switch (format) {
+            case "smile":
+                return new SmileFactory();
+            case "cbor":
+                return new CBORFactory();
+            default:
+                return new JsonFactory();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH result files written with {@code -rf json} and exits with status 1 if any benchmark got
+ * slower than the threshold, 10% by default.
+ * <pre>java -cp benchmarks.jar ru.practicum.shareit.benchmark.CompareResults base.json new.json [percent]</pre>
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: CompareResults <baseline.json> <current.json> [threshold percent]");
+            System.exit(2);
+        }
+        var baseline = read(new File(args[0]));
+        var current = read(new File(args[1]));
+        var threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        var regressions = 0;
+        for (var entry : current.entrySet()) {
+            var before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %12s -> %10.3f %s%n", entry.getKey(), "new", entry.getValue().score,
+                        entry.getValue().unit);
+                continue;
+            }
+            var change = entry.getValue().changePercent(before);
+            var regression = change > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %12.3f -> %10.3f %s %+7.1f%%%s%n", entry.getKey(), before.score,
+                    entry.getValue().score, entry.getValue().unit, change, regression ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode node : new ObjectMapper().readTree(file)) {
+            Map<String, String> params = new TreeMap<>();
+            node.path("params").fields().forEachRemaining(p -> params.put(p.getKey(), p.getValue().asText()));
+            var metric = node.get("primaryMetric");
+            results.put(node.get("benchmark").asText() + (params.isEmpty() ? "" : " " + params),
+                    new Result(node.get("mode").asText(), metric.get("score").asDouble(),
+                            metric.get("scoreUnit").asText()));
+        }
+        return results;
+    }
+
+    private static class Result {
+        private final String mode;
+        private final double score;
+        private final String unit;
+
+        Result(String mode, double score, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.unit = unit;
+        }
+
+        /**
+         * Positive values mean slower: a longer time per operation or fewer operations per time unit.
+         */
+        double changePercent(Result baseline) {
+            var change = (score - baseline.score) / baseline.score * 100;
+            return "thrpt".equals(mode) ? -change : change;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.dto.BookerDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingShort;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.dto.ItemWithRequestDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.LatestCommentRow;
+import ru.practicum.shareit.request.dto.RequestWithItemsDto;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Deterministic response payloads shaped like the ones the server returns.
+ */
+final class Fixtures {
+
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+    private static final int COMMENTS_PER_ITEM = 3;
+
+    private Fixtures() {
+    }
+
+    static List<BookingDto> bookings(int size) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> BookingDto.builder()
+                        .id(id)
+                        .booker(new BookerDto(id % 50 + 1))
+                        .item(new ItemShortDto(id % 200 + 1, "item " + (id % 200 + 1)))
+                        .start(NOW.minusDays(id))
+                        .end(NOW.minusDays(id).plusHours(36))
+                        .status(BookingStatus.APPROVED)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    static List<ItemWithBookingsDto> itemsWithBookings(int size) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> ItemWithBookingsDto.builder()
+                        .id(id)
+                        .name("item " + id)
+                        .description("description of item " + id)
+                        .available(true)
+                        .lastBooking(new BookingShortDto(id * 2, id % 50 + 1, NOW.minusDays(3), NOW.minusDays(2)))
+                        .nextBooking(new BookingShortDto(id * 2 + 1, id % 50 + 2, NOW.plusDays(2), NOW.plusDays(3)))
+                        .comments(LongStream.rangeClosed(1, COMMENTS_PER_ITEM)
+                                .mapToObj(c -> new CommentDto(id * COMMENTS_PER_ITEM + c, "user " + c,
+                                        "comment " + c + " for item " + id, NOW.minusDays(c)))
+                                .collect(Collectors.toList()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    static User user(long id) {
+        var user = new User();
+        user.setId(id);
+        user.setName("user " + id);
+        user.setEmail("user" + id + "@mail.com");
+        return user;
+    }
+
+    static List<Item> items(int size, User owner) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> {
+                    var item = new Item();
+                    item.setId(id);
+                    item.setOwner(owner);
+                    item.setName("item " + id);
+                    item.setDescription("description of item " + id);
+                    item.setAvailable(true);
+                    return item;
+                })
+                .collect(Collectors.toList());
+    }
+
+    static List<Booking> bookingEntities(int size) {
+        var owner = user(1);
+        var items = items(200, owner);
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> {
+                    var booking = new Booking();
+                    booking.setId(id);
+                    booking.setBooker(user(id % 50 + 2));
+                    booking.setItem(items.get((int) (id % items.size())));
+                    booking.setStart(NOW.minusDays(id));
+                    booking.setEnd(NOW.minusDays(id).plusHours(36));
+                    booking.setStatus(BookingStatus.APPROVED);
+                    return booking;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Past and future bookings of every item, newest first as the repository returns them.
+     */
+    static List<BookingShort> bookingShorts(List<Item> items, int perItem) {
+        return items.stream()
+                .flatMap(item -> LongStream.range(0, perItem)
+                        .mapToObj(i -> {
+                            var start = NOW.plusDays(i - perItem / 2).plusHours(item.getId() % 24);
+                            return new BookingShort(item.getId() * perItem + i, item.getId(), i + 2, start,
+                                    start.plusHours(12));
+                        }))
+                .sorted(Comparator.comparing(BookingShort::getStart).reversed())
+                .collect(Collectors.toList());
+    }
+
+    static List<LatestCommentRow> latestCommentRows(List<Item> items) {
+        return items.stream()
+                .flatMap(item -> LongStream.iterate(COMMENTS_PER_ITEM, c -> c > 0, c -> c - 1)
+                        .mapToObj(c -> new CommentRow(item.getId() * COMMENTS_PER_ITEM + c, item.getId(),
+                                "user " + c, "comment " + c + " for item " + item.getId(),
+                                NOW.minusDays(COMMENTS_PER_ITEM - c))))
+                .collect(Collectors.toList());
+    }
+
+    static List<UserDto> userDtos(int size) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new UserDto(id, "user " + id, "user" + id + "@mail.com"))
+                .collect(Collectors.toList());
+    }
+
+    static List<ItemDto> itemDtos(int size) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> new ItemDto(id, "item " + id, "description of item " + id, true, id % 10 + 1, null, null))
+                .collect(Collectors.toList());
+    }
+
+    static List<RequestWithItemsDto> requestDtos(int size) {
+        return LongStream.rangeClosed(1, size)
+                .mapToObj(id -> RequestWithItemsDto.builder()
+                        .id(id)
+                        .description("looking for item " + id)
+                        .created(NOW.minusDays(id))
+                        .items(LongStream.rangeClosed(1, 2)
+                                .mapToObj(i -> {
+                                    var item = new ItemWithRequestDto();
+                                    item.setId(id * 2 + i);
+                                    item.setRequestId(id);
+                                    item.setName("item " + (id * 2 + i));
+                                    item.setDescription("answer to request " + id);
+                                    item.setAvailable(true);
+                                    return item;
+                                })
+                                .collect(Collectors.toList()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Implements the given repository interface with the listed methods only, keyed by name.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            var answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(method.toString());
+            }
+            return answer.apply(args);
+        });
+    }
+
+    private static final class CommentRow implements LatestCommentRow {
+        private final Long id;
+        private final Long itemId;
+        private final String authorName;
+        private final String text;
+        private final LocalDateTime created;
+
+        private CommentRow(Long id, Long itemId, String authorName, String text, LocalDateTime created) {
+            this.id = id;
+            this.itemId = itemId;
+            this.authorName = authorName;
+            this.text = text;
+            this.created = created;
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getItemId() {
+            return itemId;
+        }
+
+        @Override
+        public String getAuthorName() {
+            return authorName;
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public LocalDateTime getCreated() {
+            return created;
+        }
+    }
+}
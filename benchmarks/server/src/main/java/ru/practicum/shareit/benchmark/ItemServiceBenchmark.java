@@ -0,0 +1,100 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingListCache;
+import ru.practicum.shareit.item.dao.CommentRepository;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.mapper.CommentMapperImpl;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.service.CommentEligibilityCache;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.item.service.LatestCommentsCache;
+import ru.practicum.shareit.outbox.Outbox;
+import ru.practicum.shareit.outbox.OutboxRepository;
+import ru.practicum.shareit.request.dao.ItemTermRepository;
+import ru.practicum.shareit.request.dao.RequestMatchRepository;
+import ru.practicum.shareit.request.dao.RequestRepository;
+import ru.practicum.shareit.request.dao.RequestTermRepository;
+import ru.practicum.shareit.request.match.RequestMatcher;
+import ru.practicum.shareit.user.dao.UserRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ItemServiceImpl.getAll} over in-memory repositories: the last/next booking selection, comment grouping
+ * and mapping, without the database. The latest comments cache is disabled so every call groups them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int items;
+    @Param({"2", "20"})
+    private int bookingsPerItem;
+
+    private ItemService itemService;
+    private final Pageable pageable = PageRequest.ofSize(1000);
+
+    @Setup
+    public void setUp() {
+        var ownerItems = Fixtures.items(items, Fixtures.user(1));
+        var bookings = Fixtures.bookingShorts(ownerItems, bookingsPerItem);
+        var comments = Fixtures.latestCommentRows(ownerItems);
+        itemService = new ItemServiceImpl(
+                Fixtures.stub(ItemRepository.class, Map.of("findAllByOwnerId", args -> new SliceImpl<>(ownerItems))),
+                Fixtures.stub(UserRepository.class, Map.of()),
+                Fixtures.stub(BookingRepository.class, Map.of("findAllBookingsShortByItemIdIn", args -> bookings)),
+                Fixtures.stub(CommentRepository.class, Map.of("findLatestByItemIdIn", args -> comments)),
+                Fixtures.stub(RequestRepository.class, Map.of()),
+                new ItemMapperImpl(),
+                new CommentMapperImpl(),
+                new CommentEligibilityCache(Clock.systemDefaultZone(), 100_000, Duration.ofHours(1)),
+                new LatestCommentsCache(0),
+                new RequestMatcher(
+                        Fixtures.stub(ItemTermRepository.class, Map.of()),
+                        Fixtures.stub(RequestTermRepository.class, Map.of()),
+                        Fixtures.stub(RequestMatchRepository.class, Map.of()),
+                        new TransactionTemplate(),
+                        Clock.systemDefaultZone(),
+                        100,
+                        500),
+                new Outbox(Fixtures.stub(OutboxRepository.class, Map.of()), new ObjectMapper(),
+                        Clock.systemDefaultZone()),
+                new BookingListCache(Clock.systemDefaultZone(), 0, Duration.ZERO),
+                Clock.systemDefaultZone(),
+                10,
+                100);
+    }
+
+    @Benchmark
+    public Slice<ItemWithBookingsDto> getAll() {
+        return itemService.getAll(1L, pageable);
+    }
+}
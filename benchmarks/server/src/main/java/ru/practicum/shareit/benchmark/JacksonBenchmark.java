@@ -0,0 +1,68 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a page of each response DTO with the mapper settings of the server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonBenchmark {
+
+    @Param({"UserDto", "ItemDto", "ItemWithBookingsDto", "BookingDto", "RequestWithItemsDto"})
+    private String dto;
+    @Param({"10", "100"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<?> page;
+
+    @Setup
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        page = page(dto, size);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    private static List<?> page(String dto, int size) {
+        switch (dto) {
+            case "UserDto":
+                return Fixtures.userDtos(size);
+            case "ItemDto":
+                return Fixtures.itemDtos(size);
+            case "ItemWithBookingsDto":
+                return Fixtures.itemsWithBookings(size);
+            case "BookingDto":
+                return Fixtures.bookings(size);
+            default:
+                return Fixtures.requestDtos(size);
+        }
+    }
+}
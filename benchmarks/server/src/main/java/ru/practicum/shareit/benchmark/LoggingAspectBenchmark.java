@@ -0,0 +1,71 @@
+package ru.practicum.shareit.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.enums.ItemSort;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.logging.LoggingAspect;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@code @Logging} on a controller call returning a page of items, compared to calling the controller
+ * directly. With level {@code INFO} the log lines go to a file configured in {@code logback.xml}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingAspectBenchmark {
+
+    @Param({"OFF", "INFO"})
+    private String level;
+    @Param({"1", "20"})
+    private int size;
+
+    private ItemController controller;
+    private ItemController advisedController;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(LoggingAspect.class)).setLevel(Level.toLevel(level));
+        List<ItemWithBookingsDto> page = Fixtures.itemsWithBookings(size);
+        var itemService = Fixtures.stub(ItemService.class, Map.of("getAll", args -> new SliceImpl<>(page)));
+        controller = new ItemController(itemService);
+        var proxyFactory = new AspectJProxyFactory(new ItemController(itemService));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LoggingAspect());
+        advisedController = proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<ItemWithBookingsDto>> direct() {
+        return controller.getAll(1L, 0, size, ItemSort.ID);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<ItemWithBookingsDto>> advised() {
+        return advisedController.getAll(1L, 0, size, ItemSort.ID);
+    }
+}
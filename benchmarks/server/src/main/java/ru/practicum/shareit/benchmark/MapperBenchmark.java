@@ -0,0 +1,70 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingShort;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private final BookingMapper bookingMapper = new BookingMapperImpl();
+    private final ItemMapper itemMapper = new ItemMapperImpl();
+    private List<Booking> bookings;
+    private List<Item> items;
+    private BookingShort last;
+    private BookingShort next;
+    private List<CommentDto> comments;
+
+    @Setup
+    public void setUp() {
+        bookings = Fixtures.bookingEntities(size);
+        items = Fixtures.items(size, Fixtures.user(1));
+        var itemWithBookings = Fixtures.itemsWithBookings(1).get(0);
+        last = new BookingShort(1L, 1L, 2L, itemWithBookings.getLastBooking().getStart(),
+                itemWithBookings.getLastBooking().getEnd());
+        next = new BookingShort(2L, 1L, 3L, itemWithBookings.getNextBooking().getStart(),
+                itemWithBookings.getNextBooking().getEnd());
+        comments = itemWithBookings.getComments();
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingsToDto() {
+        return bookingMapper.toDto(bookings);
+    }
+
+    @Benchmark
+    public void itemsToItemWithBookingsDto(Blackhole blackhole) {
+        for (var item : items) {
+            blackhole.consume(itemMapper.toItemWithBookingsDto(item, last, next, comments));
+        }
+    }
+}
@@ -4,26 +4,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientPolicies;
 
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
+    private static final String CLIENT_NAME = "bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientPolicies policies) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> policies.requestFactory(CLIENT_NAME))
+                        .build(),
+                policies.get(CLIENT_NAME)
         );
     }
 
@@ -50,4 +53,8 @@ public class BookingClient extends BaseClient {
     public ResponseEntity<Object> getAllForOwner(long ownerId, Map<String, Object> parameters) {
         return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
     }
+
+    public ResponseEntity<Object> getOwnerSummary(long ownerId) {
+        return get("/owner/summary", ownerId);
+    }
 }
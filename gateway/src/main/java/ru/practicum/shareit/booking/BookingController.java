@@ -84,4 +84,10 @@ public class BookingController {
 		return bookingClient.getAllForOwner(ownerId, parameters);
 	}
 
+	@Logging
+	@GetMapping("/owner/summary")
+	public ResponseEntity<Object> getOwnerSummary(@RequestHeader(HEADER_USER_ID) long ownerId) {
+		return bookingClient.getOwnerSummary(ownerId);
+	}
+
 }
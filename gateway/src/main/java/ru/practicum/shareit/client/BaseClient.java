@@ -1,7 +1,9 @@
 package ru.practicum.shareit.client;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -9,14 +11,26 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
+    private static final List<String> ENTITY_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONTENT_ENCODING, HttpHeaders.TRANSFER_ENCODING);
+
     protected final RestTemplate rest;
+    private final ClientPolicy policy;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, ClientPolicy.unlimited(BaseClient.class.getSimpleName()));
+    }
+
+    public BaseClient(RestTemplate rest, ClientPolicy policy) {
         this.rest = rest;
+        this.policy = policy;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -79,15 +93,33 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Copies the response body of a GET request to the given stream chunk by chunk,
+     * without buffering or parsing it in the gateway. Only the request up to the server's answer is guarded by
+     * the client policy.
+     */
+    protected void stream(String path, Long userId, Map<String, Object> parameters, OutputStream outputStream) {
+        RequestCallback requestCallback = request -> request.getHeaders().addAll(defaultHeaders(userId));
+        policy.executeUntilAnswered(answered -> {
+            ResponseExtractor<Void> responseExtractor = response -> {
+                answered.run();
+                StreamUtils.copy(response.getBody(), outputStream);
+                return null;
+            };
+            rest.execute(path, HttpMethod.GET, requestCallback, responseExtractor, parameters);
+        });
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
         ResponseEntity<Object> shareitServerResponse;
         try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+            if (method == HttpMethod.GET) {
+                shareitServerResponse = policy.executeRead(readKey(path, userId, parameters),
+                        () -> exchange(method, path, requestEntity, parameters));
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = policy.execute(() -> exchange(method, path, requestEntity, parameters));
             }
         } catch (HttpStatusCodeException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
@@ -95,6 +127,21 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private <T> ResponseEntity<Object> exchange(HttpMethod method, String path, HttpEntity<T> requestEntity, @Nullable Map<String, Object> parameters) {
+        if (parameters != null) {
+            return rest.exchange(path, method, requestEntity, Object.class, parameters);
+        }
+        return rest.exchange(path, method, requestEntity, Object.class);
+    }
+
+    /**
+     * Responses depend on the path, the parameters and the user sending the header, so identical reads
+     * of different users are never shared.
+     */
+    private static String readKey(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return path + " " + (parameters == null ? "{}" : new TreeMap<>(parameters)) + " " + userId;
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -105,9 +152,16 @@ public class BaseClient {
         return headers;
     }
 
+    /**
+     * Successful bodies are decoded by the gateway and encoded again for its client, so the server's headers
+     * describing the encoded body are dropped and the rest, such as {@code X-Has-Next}, passed on.
+     */
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            ENTITY_HEADERS.forEach(headers::remove);
+            return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
         }
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
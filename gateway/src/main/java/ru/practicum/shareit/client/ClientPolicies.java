@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(ClientProperties.class)
+public class ClientPolicies {
+
+    private final ClientProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ClientPolicy> policies = new ConcurrentHashMap<>();
+
+    public ClientPolicy get(String client) {
+        return policies.computeIfAbsent(client,
+                name -> new ClientPolicy(name, properties.getPolicy(name), System::nanoTime, meterRegistry));
+    }
+
+    /**
+     * Each client gets its own connection pool sized to its bulkhead, or its own HTTP/2 connection with h2c.
+     */
+    public ClientHttpRequestFactory requestFactory(String client) {
+        var policy = properties.getPolicy(client);
+        if (properties.getTransport() == ClientProperties.Transport.H2C) {
+            return new H2cRequestFactory(properties.getConnectTimeout(), policy.getReadTimeout(),
+                    properties.getEndpointReadTimeouts());
+        }
+        var httpClient = HttpClientBuilder.create()
+                .useSystemProperties()
+                .setMaxConnPerRoute(policy.getMaxConcurrentCalls())
+                .setMaxConnTotal(policy.getMaxConcurrentCalls())
+                .build();
+        return new TimeoutRequestFactory(httpClient, properties.getConnectTimeout(), policy.getReadTimeout(),
+                properties.getEndpointReadTimeouts());
+    }
+}
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.exception.ErrorMessages;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead, circuit breaker and read coalescing of one server client. The bulkhead caps the calls in flight
+ * so a slow endpoint of one client cannot occupy the threads serving the others.
+ */
+public class ClientPolicy {
+
+    private final String name;
+    private final Semaphore bulkhead;
+    private final long maxWaitMillis;
+    private final CircuitBreaker circuitBreaker;
+    private final RequestCoalescer coalescer;
+
+    public ClientPolicy(String name, ClientProperties.Policy policy, LongSupplier clock, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.coalescer = policy.isCoalesceReads() ? new RequestCoalescer(name, meterRegistry) : null;
+        this.bulkhead = new Semaphore(policy.getMaxConcurrentCalls());
+        this.maxWaitMillis = policy.getMaxWait().toMillis();
+        this.circuitBreaker = new CircuitBreaker(policy.getSlidingWindowSize(), policy.getFailureRateThreshold(),
+                policy.getOpenDuration().toNanos(), policy.getHalfOpenProbes(), clock);
+    }
+
+    public static ClientPolicy unlimited(String name) {
+        var policy = new ClientProperties.Policy();
+        policy.setMaxConcurrentCalls(Integer.MAX_VALUE);
+        policy.setFailureRateThreshold(101);
+        policy.setCoalesceReads(false);
+        return new ClientPolicy(name, policy, System::nanoTime, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Executes an idempotent call, sharing it with the concurrent calls of the same key when coalescing is on.
+     */
+    public <T> T executeRead(String key, Supplier<T> call) {
+        if (coalescer == null) {
+            return execute(call);
+        }
+        return coalescer.execute(key, () -> execute(call));
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        acquireBulkhead();
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                throw new ServerUnavailableException(ErrorMessages.CIRCUIT_OPEN.getFormatMessage(name));
+            }
+            var success = false;
+            try {
+                var result = call.get();
+                success = true;
+                return result;
+            } catch (HttpClientErrorException e) {
+                success = true;
+                throw e;
+            } catch (ResourceAccessException e) {
+                throw new ServerUnavailableException(ErrorMessages.SERVER_UNAVAILABLE.getFormatMessage(name));
+            } finally {
+                if (success) {
+                    circuitBreaker.onSuccess();
+                } else {
+                    circuitBreaker.onFailure();
+                }
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Executes a call passing on a response as it arrives. The call runs the given callback once the server has
+     * answered: from then on the call no longer holds a bulkhead permit and counts as a success, so a slow or
+     * aborted transfer to the caller neither blocks other calls nor opens the circuit.
+     */
+    public void executeUntilAnswered(Consumer<Runnable> call) {
+        acquireBulkhead();
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            throw new ServerUnavailableException(ErrorMessages.CIRCUIT_OPEN.getFormatMessage(name));
+        }
+        var finished = new AtomicBoolean();
+        try {
+            call.accept(() -> finish(finished, true));
+            finish(finished, true);
+        } catch (HttpClientErrorException e) {
+            finish(finished, true);
+            throw e;
+        } catch (ResourceAccessException e) {
+            if (!finish(finished, false)) throw e;
+            throw new ServerUnavailableException(ErrorMessages.SERVER_UNAVAILABLE.getFormatMessage(name));
+        } catch (RuntimeException | Error e) {
+            finish(finished, false);
+            throw e;
+        }
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    public int getAvailableCalls() {
+        return bulkhead.availablePermits();
+    }
+
+    /**
+     * Records the outcome and releases the permit of a call, unless done before.
+     *
+     * @return whether the call was still running
+     */
+    private boolean finish(AtomicBoolean finished, boolean success) {
+        if (!finished.compareAndSet(false, true)) return false;
+        if (success) {
+            circuitBreaker.onSuccess();
+        } else {
+            circuitBreaker.onFailure();
+        }
+        bulkhead.release();
+        return true;
+    }
+
+    private void acquireBulkhead() {
+        try {
+            if (!bulkhead.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                throw new ServerUnavailableException(ErrorMessages.BULKHEAD_FULL.getFormatMessage(name));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerUnavailableException(ErrorMessages.BULKHEAD_FULL.getFormatMessage(name));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.client")
+public class ClientProperties {
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+    /**
+     * Transport to the server: {@code http1} uses a connection pool per client, {@code h2c} multiplexes
+     * the calls of a client over a single HTTP/2 connection.
+     */
+    private Transport transport = Transport.HTTP1;
+    /**
+     * Preferred encoding of server responses: {@code json}, or {@code smile} which falls back to JSON
+     * for servers that don't support it.
+     */
+    private Codec codec = Codec.JSON;
+    /**
+     * Policies of the server clients keyed by client name: {@code bookings}, {@code items}, {@code users},
+     * {@code requests}.
+     */
+    private Map<String, Policy> clients = new HashMap<>();
+    /**
+     * Read timeouts keyed by an Ant-style pattern of the server path, e.g. {@code /items/search}.
+     * They take precedence over the read timeout of the client.
+     */
+    private Map<String, Duration> endpointReadTimeouts = new HashMap<>();
+
+    public Policy getPolicy(String client) {
+        return clients.getOrDefault(client, new Policy());
+    }
+
+    public enum Transport {
+        HTTP1,
+        H2C
+    }
+
+    public enum Codec {
+        JSON,
+        SMILE
+    }
+
+    @Data
+    public static class Policy {
+        private Duration readTimeout = Duration.ofSeconds(5);
+        private int maxConcurrentCalls = 50;
+        private Duration maxWait = Duration.ZERO;
+        private int slidingWindowSize = 20;
+        private int failureRateThreshold = 50;
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int halfOpenProbes = 3;
+        private boolean coalesceReads = true;
+    }
+}
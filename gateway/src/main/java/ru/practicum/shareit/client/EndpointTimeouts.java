@@ -0,0 +1,31 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read timeouts of server endpoints keyed by an Ant-style path pattern, with a default for the rest.
+ */
+class EndpointTimeouts {
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final Duration defaultTimeout;
+    private final Map<String, Duration> endpointTimeouts;
+
+    EndpointTimeouts(Duration defaultTimeout, Map<String, Duration> endpointTimeouts) {
+        this.defaultTimeout = defaultTimeout;
+        this.endpointTimeouts = new LinkedHashMap<>(endpointTimeouts);
+    }
+
+    Duration get(String path) {
+        return endpointTimeouts.entrySet().stream()
+                .filter(e -> pathMatcher.match(e.getKey(), path))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(defaultTimeout);
+    }
+}
@@ -0,0 +1,171 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Sends requests over HTTP/2 with the JDK client. Plain-text connections are upgraded to h2c, so all calls
+ * of a client are multiplexed over a single connection. Responses are requested gzip-encoded and decompressed
+ * before they reach the message converters.
+ */
+public class H2cRequestFactory implements ClientHttpRequestFactory {
+
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.addAll(Set.of(HttpHeaders.CONNECTION, HttpHeaders.CONTENT_LENGTH, HttpHeaders.EXPECT,
+                HttpHeaders.HOST, HttpHeaders.UPGRADE));
+    }
+
+    private final HttpClient httpClient;
+    private final EndpointTimeouts readTimeouts;
+
+    public H2cRequestFactory(Duration connectTimeout, Duration readTimeout, Map<String, Duration> endpointReadTimeouts) {
+        this(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build(), readTimeout, endpointReadTimeouts);
+    }
+
+    H2cRequestFactory(HttpClient httpClient, Duration readTimeout, Map<String, Duration> endpointReadTimeouts) {
+        this.httpClient = httpClient;
+        this.readTimeouts = new EndpointTimeouts(readTimeout, endpointReadTimeouts);
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new H2cRequest(uri, httpMethod);
+    }
+
+    private class H2cRequest extends AbstractClientHttpRequest {
+
+        private final URI uri;
+        private final HttpMethod method;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        H2cRequest(URI uri, HttpMethod method) {
+            this.uri = uri;
+            this.method = method;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public String getMethodValue() {
+            return method.name();
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return body;
+        }
+
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            var bodyPublisher = body.size() == 0
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(body.toByteArray());
+            var builder = HttpRequest.newBuilder(uri)
+                    .timeout(readTimeouts.get(uri.getPath()))
+                    .method(method.name(), bodyPublisher);
+            headers.forEach((name, values) -> {
+                if (!RESTRICTED_HEADERS.contains(name)) {
+                    values.forEach(value -> builder.header(name, value));
+                }
+            });
+            if (!headers.containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+                builder.header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+            }
+            try {
+                return new H2cResponse(httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            }
+        }
+    }
+
+    private static class H2cResponse implements ClientHttpResponse {
+
+        private final HttpResponse<InputStream> response;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final boolean gzipped;
+        private InputStream body;
+
+        H2cResponse(HttpResponse<InputStream> response) {
+            this.response = response;
+            response.headers().map().forEach(headers::addAll);
+            this.gzipped = "gzip".equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+            if (gzipped) {
+                headers.remove(HttpHeaders.CONTENT_ENCODING);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+            }
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.valueOf(response.statusCode());
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getStatusText() {
+            var status = HttpStatus.resolve(response.statusCode());
+            return status == null ? "" : status.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = gzipped ? new GZIPInputStream(response.body()) : response.body();
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                getBody().close();
+            } catch (IOException ignored) {
+                // the connection is released either way
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution: concurrent calls with the same key share the result of the first one
+ * instead of each going to the server.
+ */
+public class RequestCoalescer {
+
+    private static final String METRIC_PREFIX = "gateway.client.coalescing";
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Counter requests;
+    private final Counter coalesced;
+
+    public RequestCoalescer(String client, MeterRegistry meterRegistry) {
+        this.requests = Counter.builder(METRIC_PREFIX + ".requests")
+                .tag("client", client)
+                .register(meterRegistry);
+        this.coalesced = Counter.builder(METRIC_PREFIX + ".coalesced")
+                .tag("client", client)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".ratio", this, RequestCoalescer::getRatio)
+                .tag("client", client)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call) {
+        requests.increment();
+        var future = new CompletableFuture<Object>();
+        var leader = inFlight.putIfAbsent(key, future);
+        if (leader != null) {
+            coalesced.increment();
+            return (T) await(leader);
+        }
+        try {
+            var result = call.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public double getRatio() {
+        var total = requests.count();
+        return total == 0 ? 0 : coalesced.count() / total;
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Asks the server for Smile instead of JSON. Successful responses are decoded by the Smile message converter and
+ * encoded again as the gateway's client asks, error bodies are transcoded back to JSON because the gateway passes
+ * them to its clients as they are.
+ */
+public class SmileAcceptInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    private static final List<MediaType> ACCEPT = List.of(APPLICATION_SMILE,
+            new MediaType(MediaType.APPLICATION_JSON, Map.of("q", "0.9")));
+
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper jsonMapper;
+
+    public SmileAcceptInterceptor(ObjectMapper smileMapper, ObjectMapper jsonMapper) {
+        this.smileMapper = smileMapper;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getHeaders().getAccept().contains(MediaType.APPLICATION_JSON)) {
+            request.getHeaders().setAccept(ACCEPT);
+        }
+        var response = execution.execute(request, body);
+        if (response.getRawStatusCode() < HttpStatus.BAD_REQUEST.value()
+                || !APPLICATION_SMILE.includes(response.getHeaders().getContentType())) {
+            return response;
+        }
+        try (response) {
+            var json = jsonMapper.writeValueAsBytes(smileMapper.readTree(response.getBody()));
+            return new TranscodedResponse(response, json);
+        }
+    }
+
+    private static class TranscodedResponse implements ClientHttpResponse {
+
+        private final HttpStatus statusCode;
+        private final int rawStatusCode;
+        private final String statusText;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final byte[] body;
+
+        TranscodedResponse(ClientHttpResponse response, byte[] body) throws IOException {
+            this.statusCode = response.getStatusCode();
+            this.rawStatusCode = response.getRawStatusCode();
+            this.statusText = response.getStatusText();
+            this.headers.putAll(response.getHeaders());
+            this.headers.setContentType(MediaType.APPLICATION_JSON);
+            this.headers.setContentLength(body.length);
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return rawStatusCode;
+        }
+
+        @Override
+        public String getStatusText() {
+            return statusText;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+@ConditionalOnProperty(prefix = "shareit.client", name = "codec", havingValue = "smile")
+public class SmileCodecConfig {
+
+    @Bean
+    public RestTemplateCustomizer smileRestTemplateCustomizer(Jackson2ObjectMapperBuilder builder,
+                                                              ObjectMapper objectMapper) {
+        var smileMapper = builder.factory(new SmileFactory()).build();
+        return restTemplate -> {
+            restTemplate.getMessageConverters().add(new MappingJackson2SmileHttpMessageConverter(smileMapper));
+            restTemplate.getInterceptors().add(new SmileAcceptInterceptor(smileMapper, objectMapper));
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Applies the read timeout of the matching server endpoint to every request, falling back to the client default.
+ * The underlying client negotiates gzip and decompresses responses transparently.
+ */
+public class TimeoutRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+    private final Duration connectTimeout;
+    private final EndpointTimeouts readTimeouts;
+
+    public TimeoutRequestFactory(HttpClient httpClient, Duration connectTimeout, Duration readTimeout,
+                                 Map<String, Duration> endpointReadTimeouts) {
+        super(httpClient);
+        this.connectTimeout = connectTimeout;
+        this.readTimeouts = new EndpointTimeouts(readTimeout, endpointReadTimeouts);
+    }
+
+    @Override
+    protected void postProcessHttpRequest(HttpUriRequest request) {
+        if (request instanceof HttpRequestBase) {
+            ((HttpRequestBase) request).setConfig(getRequestConfig(request.getURI().getPath()));
+        }
+    }
+
+    RequestConfig getRequestConfig(String path) {
+        return RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setConnectionRequestTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeouts.get(path).toMillis())
+                .build();
+    }
+}
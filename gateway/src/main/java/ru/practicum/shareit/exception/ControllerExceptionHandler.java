@@ -1,7 +1,9 @@
 package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -34,6 +36,21 @@ public class ControllerExceptionHandler {
         return new ErrorDto(e.getMessage());
     }
 
+    @ExceptionHandler
+    public ResponseEntity<ErrorDto> exceptionHandler(TooManyRequestsException e) {
+        log.info("TooManyRequestsException: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new ErrorDto(e.getMessage()));
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler
+    public ErrorDto exceptionHandler(ServerUnavailableException e) {
+        log.warn("ServerUnavailableException: {}", e.getMessage());
+        return new ErrorDto(e.getMessage());
+    }
+
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ExceptionHandler
     public ErrorDto exceptionHandler(Exception e) {
@@ -15,7 +15,14 @@ public enum ErrorMessages {
     OWNER_DELETE("only owner can delete item"),
     REVIEW_WITHOUT_BOOKING("you cannot create a review without booking"),
     UNKNOWN_STATE("Unknown state: %s"),
-    VALIDATION_EXCEPTION("Validation exception");
+    UNKNOWN_SORT("Unknown sort: %s"),
+    INVALID_RANGE("range start must be before its end"),
+    INCOMPLETE_RANGE("range needs both a start and an end"),
+    VALIDATION_EXCEPTION("Validation exception"),
+    TOO_MANY_REQUESTS("too many requests, retry after %d s"),
+    SERVER_UNAVAILABLE("server is unavailable for %s"),
+    CIRCUIT_OPEN("circuit breaker of %s is open"),
+    BULKHEAD_FULL("too many concurrent calls to %s");
 
     private final String message;
 
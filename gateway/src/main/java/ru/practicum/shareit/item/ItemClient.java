@@ -4,11 +4,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientPolicies;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -17,14 +17,17 @@ import java.util.Map;
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    private static final String CLIENT_NAME = "items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientPolicies policies) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> policies.requestFactory(CLIENT_NAME))
+                        .build(),
+                policies.get(CLIENT_NAME)
         );
     }
 
@@ -41,7 +44,7 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getAll(long userId, Map<String, Object> parameters) {
-        return get("?from={from}&size={size}", userId, parameters);
+        return get("?from={from}&size={size}&sort={sort}", userId, parameters);
     }
 
     public ResponseEntity<Object> update(long userId, long id, ItemDto item) {
@@ -53,10 +56,28 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> search(Map<String, Object> parameters) {
-        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+        var window = parameters.containsKey("availableFrom")
+                ? "&availableFrom={availableFrom}&availableTo={availableTo}" : "";
+        return get("/search?text={text}&from={from}&size={size}&sort={sort}" + window, null, parameters);
+    }
+
+    public ResponseEntity<Object> searchNearby(Map<String, Object> parameters) {
+        var radius = parameters.containsKey("radius") ? "&radius={radius}" : "";
+        var text = parameters.containsKey("text") ? "&text={text}" : "";
+        return get("/nearby?latitude={latitude}&longitude={longitude}&from={from}&size={size}" + radius + text, null,
+                parameters);
     }
 
     public ResponseEntity<Object> createComment(long userId, long itemId, CommentCreateDto commentCreateDto) {
         return post("/" + itemId + "/comment", userId, commentCreateDto);
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Object> getComments(long userId, long itemId, Map<String, Object> parameters) {
+        var query = parameters.containsKey("beforeId") ? "?beforeId={beforeId}&size={size}" : "?size={size}";
+        return get("/" + itemId + "/comment" + query, userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAvailability(long userId, long itemId, Map<String, Object> parameters) {
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+}
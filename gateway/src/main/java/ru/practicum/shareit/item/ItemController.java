@@ -1,16 +1,24 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.constraint.Update;
+import ru.practicum.shareit.exception.ErrorMessages;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSort;
 import ru.practicum.shareit.logging.Logging;
 
 import javax.validation.Valid;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.Positive;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Validated
@@ -22,6 +30,7 @@ public class ItemController {
     private final ItemClient itemClient;
 
     private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final String DEFAULT_ITEM_SORT = "ID";
 
     @Logging
     @PostMapping
@@ -40,10 +49,12 @@ public class ItemController {
     @GetMapping
     public ResponseEntity<Object> getAll(@RequestHeader(HEADER_USER_ID) long userId,
                                          @RequestParam(defaultValue = "0") @Min(0) int from,
-                                         @RequestParam(defaultValue = "10") @Min(1) int size) {
+                                         @RequestParam(defaultValue = "10") @Min(1) int size,
+                                         @RequestParam(defaultValue = DEFAULT_ITEM_SORT) String sort) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
-                "size", size
+                "size", size,
+                "sort", parseSort(sort)
         );
         return itemClient.getAll(userId, parameters);
     }
@@ -67,16 +78,51 @@ public class ItemController {
     @GetMapping("/search")
     public ResponseEntity<Object> search(@RequestHeader(HEADER_USER_ID) long userId,
                                          @RequestParam String text,
+                                         @RequestParam(required = false)
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                         LocalDateTime availableFrom,
+                                         @RequestParam(required = false)
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                         LocalDateTime availableTo,
                                          @RequestParam(defaultValue = "0") @Min(0) int from,
-                                         @RequestParam(defaultValue = "10") @Min(1) int size) {
-        Map<String, Object> parameters = Map.of(
-                "text", text,
-                "from", from,
-                "size", size
-        );
+                                         @RequestParam(defaultValue = "10") @Min(1) int size,
+                                         @RequestParam(defaultValue = DEFAULT_ITEM_SORT) String sort) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        parameters.put("sort", parseSort(sort));
+        if (availableFrom != null || availableTo != null) {
+            checkRange(availableFrom, availableTo);
+            parameters.put("availableFrom", availableFrom);
+            parameters.put("availableTo", availableTo);
+        }
         return itemClient.search(parameters);
     }
 
+    @Logging
+    @GetMapping("/nearby")
+    public ResponseEntity<Object> searchNearby(@RequestHeader(HEADER_USER_ID) long userId,
+                                               @RequestParam @DecimalMin("-90") @DecimalMax("90") double latitude,
+                                               @RequestParam @DecimalMin("-180") @DecimalMax("180") double longitude,
+                                               @RequestParam(required = false) @Positive Double radius,
+                                               @RequestParam(required = false) String text,
+                                               @RequestParam(defaultValue = "0") @Min(0) int from,
+                                               @RequestParam(defaultValue = "10") @Min(1) int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("latitude", latitude);
+        parameters.put("longitude", longitude);
+        if (radius != null) {
+            parameters.put("radius", radius);
+        }
+        if (text != null) {
+            parameters.put("text", text);
+        }
+        parameters.put("from", from);
+        parameters.put("size", size);
+        return itemClient.searchNearby(parameters);
+    }
+
     @Logging
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> createComment(@RequestHeader(HEADER_USER_ID) long userId,
@@ -84,4 +130,48 @@ public class ItemController {
                                                 @RequestBody @Valid CommentCreateDto commentCreateDto) {
         return itemClient.createComment(userId, itemId, commentCreateDto);
     }
+
+    @Logging
+    @GetMapping("/{itemId}/comment")
+    public ResponseEntity<Object> getComments(@RequestHeader(HEADER_USER_ID) long userId,
+                                              @PathVariable long itemId,
+                                              @RequestParam(required = false) @Min(1) Long beforeId,
+                                              @RequestParam(defaultValue = "10") @Min(1) int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        if (beforeId != null) {
+            parameters.put("beforeId", beforeId);
+        }
+        parameters.put("size", size);
+        return itemClient.getComments(userId, itemId, parameters);
+    }
+
+    @Logging
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@RequestHeader(HEADER_USER_ID) long userId,
+                                                  @PathVariable long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime to) {
+        checkRange(from, to);
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return itemClient.getAvailability(userId, itemId, parameters);
+    }
+
+    private static void checkRange(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException(ErrorMessages.INCOMPLETE_RANGE.getMessage());
+        }
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_RANGE.getMessage());
+        }
+    }
+
+    private static ItemSort parseSort(String sort) {
+        return ItemSort.parse(sort)
+                .orElseThrow(() -> new IllegalArgumentException(ErrorMessages.UNKNOWN_SORT.getFormatMessage(sort)));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public enum ItemSort {
+    ID, COMMENTS, BOOKINGS, LAST_BOOKED;
+
+    public static Optional<ItemSort> parse(String name) {
+        var isCorrect = Arrays.stream(values())
+                .map(ItemSort::name)
+                .collect(Collectors.toSet())
+                .contains(name);
+        if (isCorrect) return Optional.of(ItemSort.valueOf(name));
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.exception.ErrorMessages;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rejects a request with 429 when the caller has exhausted the token bucket of the endpoint
+ * or when the gateway already has too many requests in flight toward the server. At most
+ * {@code maxTrackedBuckets} buckets are kept, give or take the new callers admitted at the same moment; when all
+ * of them are busy, new callers are rejected until some go idle.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".PERMIT";
+    private static final String METRIC_REJECTED = "gateway.admission.rejected";
+    private static final String METRIC_IN_FLIGHT = "gateway.admission.in.flight";
+    private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Semaphore inFlight;
+    private final AtomicLong nextSweep;
+
+    public AdmissionControlInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry,
+                                       LongSupplier clock) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.inFlight = new Semaphore(properties.getMaxConcurrentRequests());
+        this.nextSweep = new AtomicLong(clock.getAsLong());
+        meterRegistry.gauge(METRIC_IN_FLIGHT, inFlight,
+                s -> properties.getMaxConcurrentRequests() - s.availablePermits());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        var pattern = getPattern(request);
+        var now = clock.getAsLong();
+        var key = getClientKey(request) + " " + request.getMethod() + " " + pattern;
+        var bucket = buckets.get(key);
+        if (bucket == null) {
+            sweepIdle(now);
+            // evicting a busy bucket would let callers reset each other's limits, so a new caller waits instead
+            if (buckets.size() >= properties.getMaxTrackedBuckets()) {
+                reject("buckets", pattern);
+                throw new TooManyRequestsException(ErrorMessages.TOO_MANY_REQUESTS.getFormatMessage(1), 1);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> newBucket(pattern, now));
+        }
+        var wait = bucket.tryAcquire(now);
+        if (wait > 0) {
+            reject("rate", pattern);
+            var retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+            throw new TooManyRequestsException(ErrorMessages.TOO_MANY_REQUESTS.getFormatMessage(retryAfter),
+                    retryAfter);
+        }
+        if (!inFlight.tryAcquire()) {
+            reject("concurrency", pattern);
+            throw new TooManyRequestsException(ErrorMessages.TOO_MANY_REQUESTS.getFormatMessage(1), 1);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            inFlight.release();
+        }
+    }
+
+    int trackedBuckets() {
+        return buckets.size();
+    }
+
+    /**
+     * Drops the idle buckets once the map is full, outside any map operation and by one request at most
+     * every {@link #SWEEP_INTERVAL}, so a map full of busy buckets doesn't make every new caller scan it.
+     */
+    private void sweepIdle(long now) {
+        if (buckets.size() < properties.getMaxTrackedBuckets()) return;
+        var next = nextSweep.get();
+        if (now - next < 0 || !nextSweep.compareAndSet(next, now + SWEEP_INTERVAL)) return;
+        buckets.values().removeIf(b -> b.isIdle(now));
+    }
+
+    private TokenBucket newBucket(String pattern, long now) {
+        var config = properties.getBucket(pattern);
+        return new TokenBucket(config.getCapacity(), config.getRefillPerSecond(), now);
+    }
+
+    private void reject(String reason, String pattern) {
+        Counter.builder(METRIC_REJECTED)
+                .tag("reason", reason)
+                .tag("endpoint", pattern)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String getPattern(HttpServletRequest request) {
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? request.getRequestURI() : pattern.toString();
+    }
+
+    private static String getClientKey(HttpServletRequest request) {
+        var userId = request.getHeader(HEADER_USER_ID);
+        return userId == null ? request.getRemoteAddr() : userId;
+    }
+}
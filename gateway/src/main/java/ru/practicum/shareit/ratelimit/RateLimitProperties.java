@@ -0,0 +1,31 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int maxConcurrentRequests = 200;
+    private int maxTrackedBuckets = 100_000;
+    private Bucket defaults = new Bucket();
+    /**
+     * Per-endpoint overrides keyed by the request mapping pattern, e.g. {@code /items/search}.
+     */
+    private Map<String, Bucket> endpoints = new HashMap<>();
+
+    public Bucket getBucket(String pattern) {
+        return endpoints.getOrDefault(pattern, defaults);
+    }
+
+    @Data
+    public static class Bucket {
+        private int capacity = 50;
+        private double refillPerSecond = 20;
+    }
+}
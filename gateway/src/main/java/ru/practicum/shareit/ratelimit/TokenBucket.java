@@ -0,0 +1,52 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is a single "theoretical arrival time"
+ * updated with CAS, so concurrent callers never block each other.
+ */
+public class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final AtomicLong theoreticalArrivalTime;
+
+    public TokenBucket(int capacity, double refillPerSecond, long now) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refill rate must be positive");
+        }
+        this.emissionInterval = (long) (NANOS_PER_SECOND / refillPerSecond);
+        this.burstTolerance = emissionInterval * (capacity - 1);
+        this.theoreticalArrivalTime = new AtomicLong(now);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @param now current time in nanoseconds, see {@link System#nanoTime()}.
+     * @return {@code 0} if the token was taken, otherwise nanoseconds until the next token is available.
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            var stored = theoreticalArrivalTime.get();
+            var arrival = Math.max(stored, now);
+            var wait = arrival - now - burstTolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrivalTime.compareAndSet(stored, arrival + emissionInterval)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket is idle when it is full again; dropping it is then indistinguishable from keeping it.
+     */
+    public boolean isIdle(long now) {
+        return theoreticalArrivalTime.get() <= now;
+    }
+}
@@ -4,11 +4,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ClientPolicies;
 import ru.practicum.shareit.request.dto.RequestCreateDto;
 
 import java.util.Map;
@@ -16,14 +16,17 @@ import java.util.Map;
 @Service
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
+    private static final String CLIENT_NAME = "requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientPolicies policies) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> policies.requestFactory(CLIENT_NAME))
+                        .build(),
+                policies.get(CLIENT_NAME)
         );
     }
 
@@ -46,4 +49,17 @@ public class RequestClient extends BaseClient {
     public ResponseEntity<Object> getAll(long userId, Map<String, Object> parameters) {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Object> getFeed(long userId, Map<String, Object> parameters) {
+        var query = parameters.containsKey("cursor") ? "?cursor={cursor}&size={size}" : "?size={size}";
+        return get("/feed" + query, userId, parameters);
+    }
+
+    public ResponseEntity<Object> getSuggestions(long userId, long requestId) {
+        return get("/" + requestId + "/suggestions", userId);
+    }
+
+    public ResponseEntity<Object> getMatches(long userId, Map<String, Object> parameters) {
+        return get("/matches?afterId={afterId}&size={size}", userId, parameters);
+    }
+}
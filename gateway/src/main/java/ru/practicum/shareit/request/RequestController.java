@@ -8,6 +8,7 @@ import ru.practicum.shareit.logging.Logging;
 import ru.practicum.shareit.request.dto.RequestCreateDto;
 
 import javax.validation.constraints.Min;
+import java.util.HashMap;
 import java.util.Map;
 
 @Validated
@@ -52,4 +53,36 @@ public class RequestController {
         );
         return requestClient.getAll(userId, parameters);
     }
-}
\ No newline at end of file
+
+    @Logging
+    @GetMapping("/feed")
+    public ResponseEntity<Object> getFeed(@RequestHeader(HEADER_USER_ID) long userId,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "20") @Min(1) int size) {
+        Map<String, Object> parameters = new HashMap<>();
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        parameters.put("size", size);
+        return requestClient.getFeed(userId, parameters);
+    }
+
+    @Logging
+    @GetMapping("/{requestId}/suggestions")
+    public ResponseEntity<Object> getSuggestions(@RequestHeader(HEADER_USER_ID) long userId,
+                                                 @PathVariable long requestId) {
+        return requestClient.getSuggestions(userId, requestId);
+    }
+
+    @Logging
+    @GetMapping("/matches")
+    public ResponseEntity<Object> getMatches(@RequestHeader(HEADER_USER_ID) long userId,
+                                             @RequestParam(defaultValue = "0") @Min(0) long afterId,
+                                             @RequestParam(defaultValue = "20") @Min(1) int size) {
+        Map<String, Object> parameters = Map.of(
+                "afterId", afterId,
+                "size", size
+        );
+        return requestClient.getMatches(userId, parameters);
+    }
+}
@@ -1,14 +1,20 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.constraint.Create;
 import ru.practicum.shareit.constraint.Update;
 import ru.practicum.shareit.logging.Logging;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import javax.validation.constraints.Min;
+import java.util.Map;
+
+@Validated
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
@@ -30,8 +36,21 @@ public class UserController {
 
     @Logging
     @GetMapping
-    public ResponseEntity<Object> getAll() {
-        return userClient.getAll();
+    public ResponseEntity<Object> getAll(@RequestParam(defaultValue = "0") @Min(0) long afterId,
+                                         @RequestParam(defaultValue = "100") @Min(1) int size) {
+        Map<String, Object> parameters = Map.of(
+                "afterId", afterId,
+                "size", size
+        );
+        return userClient.getAll(parameters);
+    }
+
+    @Logging
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(defaultValue = "0") @Min(0) long afterId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> userClient.stream(afterId, outputStream));
     }
 
     @Logging
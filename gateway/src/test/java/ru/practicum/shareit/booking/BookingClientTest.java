@@ -95,6 +95,15 @@ class BookingClientTest {
         assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
     }
 
+    @Test
+    public void getOwnerSummaryOk() {
+        Mockito.when(restTemplate.exchange("/owner/summary", HttpMethod.GET,
+                        new HttpEntity<>(null, defaultHeaders(1L)), Object.class))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK).body(new Object()));
+        var result = bookingClient.getOwnerSummary(1L);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -186,6 +186,19 @@ class BookingControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getOwnerSummaryOk() throws Exception {
+        var ownerId = 1L;
+        var mockRequest = MockMvcRequestBuilders.get("/bookings/owner/summary")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(CUSTOM_HEADER, ownerId);
+        when(bookingClient.getOwnerSummary(ownerId))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ErrorMessages.USER_NOT_FOUND.getFormatMessage(ownerId)));
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getAllForUserUnknownStateFail() throws Exception {
         String errorState = "UNKNOWN";
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private static final long OPEN_DURATION = 1_000;
+
+    private final AtomicLong clock = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setUp() {
+        circuitBreaker = new CircuitBreaker(4, 50, OPEN_DURATION, 2, clock::get);
+    }
+
+    @Test
+    public void opensOnFailureRateOk() {
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void slidingWindowOk() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void halfOpenProbesCloseOk() {
+        open();
+        clock.addAndGet(OPEN_DURATION);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.HALF_OPEN));
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.CLOSED));
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void halfOpenProbeFailureReopensOk() {
+        open();
+        clock.addAndGet(OPEN_DURATION);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void wrongConfigFail() {
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker(0, 50, 1, 1, clock::get));
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+        assertThat(circuitBreaker.getState(), equalTo(CircuitBreaker.State.OPEN));
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import ru.practicum.shareit.exception.ErrorMessages;
+import ru.practicum.shareit.exception.ServerUnavailableException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ClientPolicyTest {
+
+    @Test
+    public void bulkheadIsolatesClientsOk() throws InterruptedException {
+        var config = new ClientProperties.Policy();
+        config.setMaxConcurrentCalls(1);
+        var items = new ClientPolicy("items", config, System::nanoTime, new SimpleMeterRegistry());
+        var bookings = new ClientPolicy("bookings", config, System::nanoTime, new SimpleMeterRegistry());
+
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var slowCall = new Thread(() -> items.execute(() -> {
+            started.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }));
+        slowCall.start();
+        started.await();
+
+        var exception = assertThrows(ServerUnavailableException.class, () -> items.execute(() -> "fast"));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.BULKHEAD_FULL.getFormatMessage("items")));
+        assertThat(bookings.execute(() -> "fast"), equalTo("fast"));
+
+        release.countDown();
+        slowCall.join();
+        assertThat(items.getAvailableCalls(), equalTo(1));
+    }
+
+    @Test
+    public void circuitOpensOnServerErrorsOk() {
+        var config = new ClientProperties.Policy();
+        config.setSlidingWindowSize(2);
+        var policy = new ClientPolicy("items", config, System::nanoTime, new SimpleMeterRegistry());
+
+        assertThrows(HttpServerErrorException.class, () -> policy.execute(() -> {
+            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+        }));
+        var exception = assertThrows(ServerUnavailableException.class, () -> policy.execute(() -> {
+            throw new ResourceAccessException("Read timed out");
+        }));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.SERVER_UNAVAILABLE.getFormatMessage("items")));
+        assertThat(policy.getState(), equalTo(CircuitBreaker.State.OPEN));
+
+        exception = assertThrows(ServerUnavailableException.class, () -> policy.execute(() -> "ok"));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.CIRCUIT_OPEN.getFormatMessage("items")));
+    }
+
+    @Test
+    public void clientErrorsKeepCircuitClosedOk() {
+        var config = new ClientProperties.Policy();
+        config.setSlidingWindowSize(2);
+        var policy = new ClientPolicy("items", config, System::nanoTime, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(HttpClientErrorException.class, () -> policy.execute(() -> {
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            }));
+        }
+        assertThat(policy.getState(), equalTo(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    public void streamAbortedByCallerKeepsCircuitClosedOk() {
+        var config = new ClientProperties.Policy();
+        config.setSlidingWindowSize(1);
+        config.setMaxConcurrentCalls(1);
+        var policy = new ClientPolicy("users", config, System::nanoTime, new SimpleMeterRegistry());
+
+        assertThrows(ResourceAccessException.class, () -> policy.executeUntilAnswered(answered -> {
+            answered.run();
+            assertThat(policy.getAvailableCalls(), equalTo(1));
+            throw new ResourceAccessException("Broken pipe");
+        }));
+        assertThat(policy.getState(), equalTo(CircuitBreaker.State.CLOSED));
+        assertThat(policy.getAvailableCalls(), equalTo(1));
+
+        var exception = assertThrows(ServerUnavailableException.class, () -> policy.executeUntilAnswered(answered -> {
+            throw new ResourceAccessException("Connection refused");
+        }));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.SERVER_UNAVAILABLE.getFormatMessage("users")));
+        assertThat(policy.getState(), equalTo(CircuitBreaker.State.OPEN));
+        assertThat(policy.getAvailableCalls(), equalTo(1));
+    }
+
+    @Test
+    public void endpointTimeoutOk() {
+        var factory = new TimeoutRequestFactory(HttpClients.createDefault(), Duration.ofSeconds(1),
+                Duration.ofSeconds(5), Map.of("/items/search", Duration.ofSeconds(2)));
+        assertThat(factory.getRequestConfig("/items/search").getSocketTimeout(), equalTo(2000));
+        assertThat(factory.getRequestConfig("/items/1").getSocketTimeout(), equalTo(5000));
+        assertThat(factory.getRequestConfig("/items/1").getConnectTimeout(), equalTo(1000));
+    }
+}
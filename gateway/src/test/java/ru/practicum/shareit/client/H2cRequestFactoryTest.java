@@ -0,0 +1,114 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.Http2;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class H2cRequestFactoryTest {
+
+    private static final AtomicReference<String> protocol = new AtomicReference<>();
+    private static final AtomicReference<String> userId = new AtomicReference<>();
+    private static WebServer server;
+    private static RestTemplate rest;
+
+    @BeforeAll
+    public static void startServer() {
+        var factory = new TomcatServletWebServerFactory(0);
+        var http2 = new Http2();
+        http2.setEnabled(true);
+        factory.setHttp2(http2);
+        var compression = new Compression();
+        compression.setEnabled(true);
+        compression.setMinResponseSize(DataSize.ofBytes(1024));
+        factory.setCompression(compression);
+        server = factory.getWebServer(context -> context.addServlet("items", new ItemsServlet()).addMapping("/*"));
+        server.start();
+        rest = new RestTemplate(new H2cRequestFactory(Duration.ofSeconds(1), Duration.ofSeconds(5), Map.of()));
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    public void largeResponseIsCompressedOverH2cOk() {
+        var headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+        var response = rest.exchange(url("/items?size=500"), HttpMethod.GET, new HttpEntity<>(headers), List.class);
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getBody().size(), equalTo(500));
+        assertThat(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING), equalTo(false));
+        assertThat(protocol.get(), equalTo("HTTP/2.0"));
+        assertThat(userId.get(), equalTo("1"));
+    }
+
+    @Test
+    public void postBodyOk() {
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        var response = rest.exchange(url("/items?size=1"), HttpMethod.POST,
+                new HttpEntity<>(Map.of("name", "drill"), headers), List.class);
+
+        assertThat(response.getBody().size(), equalTo(1));
+    }
+
+    @Test
+    public void errorStatusOk() {
+        var exception = assertThrows(HttpClientErrorException.class,
+                () -> rest.getForEntity(url("/items?size=-1"), List.class));
+
+        assertThat(exception.getStatusCode(), equalTo(HttpStatus.BAD_REQUEST));
+        assertThat(exception.getResponseBodyAsString(), equalTo("{\"error\":\"size\"}"));
+    }
+
+    private static String url(String path) {
+        return "http://localhost:" + server.getPort() + path;
+    }
+
+    private static class ItemsServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            protocol.set(request.getProtocol());
+            userId.set(request.getHeader("X-Sharer-User-Id"));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            var size = Integer.parseInt(request.getParameter("size"));
+            if (size < 0) {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+                response.getWriter().write("{\"error\":\"size\"}");
+                return;
+            }
+            response.getWriter().write(IntStream.rangeClosed(1, size)
+                    .mapToObj(i -> "{\"id\":" + i + ",\"name\":\"item " + i + "\",\"available\":true}")
+                    .collect(Collectors.joining(",", "[", "]")));
+        }
+    }
+}
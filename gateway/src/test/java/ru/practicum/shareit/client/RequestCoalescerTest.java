@@ -0,0 +1,91 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer("items", meterRegistry);
+    }
+
+    @Test
+    public void concurrentCallsShareOneUpstreamCallOk() throws Exception {
+        var followers = 4;
+        var upstreamCalls = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(followers + 1);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> coalescer.execute("/search drill", () -> {
+                upstreamCalls.incrementAndGet();
+                await(release);
+                return "items";
+            })));
+            while (meterRegistry.get("gateway.client.coalescing.requests").counter().count() < 1) {
+                Thread.onSpinWait();
+            }
+            for (int i = 0; i < followers; i++) {
+                results.add(executor.submit(() -> coalescer.execute("/search drill", () -> {
+                    upstreamCalls.incrementAndGet();
+                    return "items";
+                })));
+            }
+            while (meterRegistry.get("gateway.client.coalescing.coalesced").counter().count() < followers) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (var result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS), equalTo("items"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(upstreamCalls.get(), equalTo(1));
+        assertThat(coalescer.getRatio(), equalTo(0.8));
+    }
+
+    @Test
+    public void sequentialCallsAreNotSharedOk() {
+        var upstreamCalls = new AtomicInteger();
+        coalescer.execute("key", upstreamCalls::incrementAndGet);
+        coalescer.execute("key", upstreamCalls::incrementAndGet);
+        assertThat(upstreamCalls.get(), equalTo(2));
+        assertThat(coalescer.getRatio(), equalTo(0.0));
+    }
+
+    @Test
+    public void exceptionPropagatesOk() {
+        assertThrows(IllegalStateException.class, () -> coalescer.execute("key", () -> {
+            throw new IllegalStateException();
+        }));
+        assertThat(coalescer.execute("key", () -> "ok"), equalTo("ok"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
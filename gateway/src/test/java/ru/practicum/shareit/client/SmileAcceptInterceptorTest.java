@@ -0,0 +1,117 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.UserController;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class SmileAcceptInterceptorTest {
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    public void setUp() {
+        rest = new RestTemplate();
+        rest.getMessageConverters().add(new MappingJackson2SmileHttpMessageConverter(smileMapper));
+        rest.getInterceptors().add(new SmileAcceptInterceptor(smileMapper, new ObjectMapper()));
+        server = MockRestServiceServer.bindTo(rest).build();
+    }
+
+    @Test
+    public void smileResponseDecodedOk() throws Exception {
+        var item = Map.of("id", 1, "name", "drill");
+        server.expect(requestTo("/items/1"))
+                .andExpect(header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/json;q=0.9"))
+                .andRespond(withSuccess(smileMapper.writeValueAsBytes(item), SmileAcceptInterceptor.APPLICATION_SMILE));
+
+        var response = rest.exchange("/items/1", HttpMethod.GET, new HttpEntity<>(jsonHeaders()), Object.class);
+
+        assertThat(response.getBody(), equalTo(item));
+        server.verify();
+    }
+
+    @Test
+    public void smileErrorTranscodedToJsonOk() throws Exception {
+        server.expect(requestTo("/items/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(SmileAcceptInterceptor.APPLICATION_SMILE)
+                        .body(smileMapper.writeValueAsBytes(Map.of("error", "item 1 not found"))));
+
+        var exception = assertThrows(HttpClientErrorException.class,
+                () -> rest.exchange("/items/1", HttpMethod.GET, new HttpEntity<>(jsonHeaders()), Object.class));
+
+        assertThat(exception.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(exception.getResponseHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(exception.getResponseBodyAsString(), equalTo("{\"error\":\"item 1 not found\"}"));
+    }
+
+    @Test
+    public void jsonResponseFromServerWithoutSmileOk() {
+        server.expect(requestTo("/items/1"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        var response = rest.exchange("/items/1", HttpMethod.GET, new HttpEntity<>(jsonHeaders()), Object.class);
+
+        assertThat(response.getBody(), equalTo(Map.of("id", 1)));
+    }
+
+    @Test
+    public void smileResponseServedAsJsonOk() throws Exception {
+        var smileRest = new RestTemplate();
+        new SmileCodecConfig().smileRestTemplateCustomizer(new Jackson2ObjectMapperBuilder(), new ObjectMapper())
+                .customize(smileRest);
+        var smileServer = MockRestServiceServer.bindTo(smileRest).build();
+        var headers = new HttpHeaders();
+        headers.set("X-Has-Next", "false");
+        smileServer.expect(requestTo("/1"))
+                .andRespond(withSuccess(smileMapper.writeValueAsBytes(Map.of("id", 1, "name", "user")),
+                        SmileAcceptInterceptor.APPLICATION_SMILE).headers(headers));
+        var mockMvc = MockMvcBuilders.standaloneSetup(new UserController(new UserClient(smileRest))).build();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/users/1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.header().string("X-Has-Next", "false"))
+                .andExpect(jsonPath("$.id", is(1)))
+                .andExpect(jsonPath("$.name", is("user")));
+        smileServer.verify();
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        var headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        return headers;
+    }
+}
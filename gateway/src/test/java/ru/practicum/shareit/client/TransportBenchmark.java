@@ -0,0 +1,165 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.Http2;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares bytes on the wire and latency of the gateway transports for booking lists of 10, 100 and 1000 entries,
+ * against an embedded Tomcat configured like the server. Run with
+ * {@code mvn -pl gateway test -Dtest=TransportBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransportBenchmark {
+
+    private static final int[] PAGE_SIZES = {10, 100, 1000};
+    private static final int THREADS = 8;
+    private static final int WARMUP_CALLS = 100;
+    private static final int MEASURED_CALLS = 200;
+
+    private static WebServer server;
+
+    @BeforeAll
+    public static void startServer() {
+        var factory = new TomcatServletWebServerFactory(0);
+        var http2 = new Http2();
+        http2.setEnabled(true);
+        factory.setHttp2(http2);
+        var compression = new Compression();
+        compression.setEnabled(true);
+        compression.setMimeTypes(new String[]{MediaType.APPLICATION_JSON_VALUE});
+        compression.setMinResponseSize(DataSize.ofKilobytes(2));
+        factory.setCompression(compression);
+        server = factory.getWebServer(context -> context.addServlet("bookings", new BookingsServlet()).addMapping("/*"));
+        server.start();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    public void wireBytes() throws Exception {
+        var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        System.out.printf("%n%-6s %12s %12s %8s%n", "size", "identity, B", "gzip, B", "ratio");
+        for (int size : PAGE_SIZES) {
+            var identity = bodyBytes(client, size, "identity");
+            var gzip = bodyBytes(client, size, "gzip");
+            System.out.printf("%-6d %12d %12d %8.2f%n", size, identity, gzip, (double) identity / gzip);
+        }
+    }
+
+    @Test
+    public void latency() throws Exception {
+        var transports = Map.<String, ClientHttpRequestFactory>of(
+                "http1", new TimeoutRequestFactory(HttpClients.custom()
+                        .setMaxConnPerRoute(THREADS)
+                        .build(), Duration.ofSeconds(1), Duration.ofSeconds(5), Map.of()),
+                "h2c", new H2cRequestFactory(Duration.ofSeconds(1), Duration.ofSeconds(5), Map.of()));
+        System.out.printf("%n%-6s %-6s %10s %10s%n", "size", "proto", "p50, us", "p99, us");
+        for (int size : PAGE_SIZES) {
+            for (var transport : List.of("http1", "h2c")) {
+                var rest = new RestTemplate(transports.get(transport));
+                run(rest, size, WARMUP_CALLS);
+                var latencies = run(rest, size, MEASURED_CALLS);
+                System.out.printf("%-6d %-6s %10d %10d%n", size, transport,
+                        percentile(latencies, 0.5) / 1000, percentile(latencies, 0.99) / 1000);
+            }
+        }
+    }
+
+    private static long[] run(RestTemplate rest, int size, int callsPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    var latencies = new long[callsPerThread];
+                    for (int i = 0; i < callsPerThread; i++) {
+                        var start = System.nanoTime();
+                        rest.getForObject(url(size), List.class);
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return latencies;
+                }));
+            }
+            var all = new long[THREADS * callsPerThread];
+            for (int t = 0; t < THREADS; t++) {
+                System.arraycopy(futures.get(t).get(), 0, all, t * callsPerThread, callsPerThread);
+            }
+            return all;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long percentile(long[] values, double percentile) {
+        var sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+
+    private static int bodyBytes(HttpClient client, int size, String encoding) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create(url(size)))
+                .header("Accept-Encoding", encoding)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+
+    private static String url(int size) {
+        return "http://localhost:" + server.getPort() + "/bookings?size=" + size;
+    }
+
+    private static class BookingsServlet extends HttpServlet {
+        private final Map<Integer, String> pages = Arrays.stream(PAGE_SIZES).boxed()
+                .collect(Collectors.toMap(size -> size, BookingsServlet::page));
+
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(pages.get(Integer.parseInt(request.getParameter("size"))));
+        }
+
+        private static String page(int size) {
+            var start = LocalDateTime.of(2024, 1, 1, 12, 0);
+            return IntStream.rangeClosed(1, size)
+                    .mapToObj(i -> String.format("{\"id\":%d,\"start\":\"%s\",\"end\":\"%s\",\"status\":\"APPROVED\","
+                                    + "\"booker\":{\"id\":%d,\"name\":\"user %d\",\"email\":\"user%d@mail.com\"},"
+                                    + "\"item\":{\"id\":%d,\"name\":\"item %d\",\"description\":\"description of item %d\","
+                                    + "\"available\":true}}",
+                            i, start.plusDays(i), start.plusDays(i + 1), i % 50, i % 50, i % 50, i % 200, i % 200, i % 200))
+                    .collect(Collectors.joining(",", "[", "]"));
+        }
+    }
+}
@@ -12,7 +12,9 @@ import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.exception.ErrorMessages;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSort;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -69,10 +71,11 @@ class ItemClientTest {
         var size = 10;
         Map<String, Object> parameters = Map.of(
                 "from", from,
-                "size", size
+                "size", size,
+                "sort", ItemSort.ID
         );
 
-        Mockito.when(restTemplate.exchange("?from={from}&size={size}", HttpMethod.GET,
+        Mockito.when(restTemplate.exchange("?from={from}&size={size}&sort={sort}", HttpMethod.GET,
                         new HttpEntity<>(null, defaultHeaders(userId)), Object.class, parameters))
                 .thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ErrorMessages.USER_NOT_FOUND.getFormatMessage(userId)));
@@ -117,10 +120,11 @@ class ItemClientTest {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
-                "size", size
+                "size", size,
+                "sort", ItemSort.BOOKINGS
         );
 
-        Mockito.when(restTemplate.exchange("/search?text={text}&from={from}&size={size}", HttpMethod.GET,
+        Mockito.when(restTemplate.exchange("/search?text={text}&from={from}&size={size}&sort={sort}", HttpMethod.GET,
                         new HttpEntity<>(null, defaultHeaders(null)), Object.class, parameters))
                 .thenReturn(ResponseEntity.status(HttpStatus.OK)
                         .body(Collections.emptyList()));
@@ -143,6 +147,76 @@ class ItemClientTest {
         assertThat(result.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
     }
 
+    @Test
+    public void getCommentsOk() {
+        var userId = 1L;
+        var itemId = 1L;
+        Map<String, Object> parameters = Map.of(
+                "beforeId", 10L,
+                "size", 10
+        );
+        Mockito.when(restTemplate.exchange("/" + itemId + "/comment?beforeId={beforeId}&size={size}", HttpMethod.GET,
+                        new HttpEntity<>(null, defaultHeaders(userId)), Object.class, parameters))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK)
+                        .body(Collections.emptyList()));
+        var result = itemClient.getComments(userId, itemId, parameters);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+    }
+
+    @Test
+    public void searchAvailableOk() {
+        Map<String, Object> parameters = Map.of(
+                "text", "drill",
+                "from", 0,
+                "size", 10,
+                "sort", ItemSort.ID,
+                "availableFrom", LocalDateTime.of(2030, 1, 5, 0, 0),
+                "availableTo", LocalDateTime.of(2030, 1, 7, 0, 0)
+        );
+        Mockito.when(restTemplate.exchange("/search?text={text}&from={from}&size={size}&sort={sort}" +
+                                "&availableFrom={availableFrom}&availableTo={availableTo}", HttpMethod.GET,
+                        new HttpEntity<>(null, defaultHeaders(null)), Object.class, parameters))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK)
+                        .body(Collections.emptyList()));
+        var result = itemClient.search(parameters);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+    }
+
+    @Test
+    public void getAvailabilityOk() {
+        var userId = 1L;
+        var itemId = 1L;
+        Map<String, Object> parameters = Map.of(
+                "from", LocalDateTime.of(2030, 1, 1, 0, 0),
+                "to", LocalDateTime.of(2030, 2, 1, 0, 0)
+        );
+        Mockito.when(restTemplate.exchange("/" + itemId + "/availability?from={from}&to={to}", HttpMethod.GET,
+                        new HttpEntity<>(null, defaultHeaders(userId)), Object.class, parameters))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK)
+                        .body(Collections.emptyList()));
+        var result = itemClient.getAvailability(userId, itemId, parameters);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+    }
+
+    @Test
+    public void searchNearbyOk() {
+        Map<String, Object> parameters = Map.of(
+                "latitude", 55.7558,
+                "longitude", 37.6173,
+                "radius", 5.0,
+                "text", "drill",
+                "from", 0,
+                "size", 10
+        );
+        Mockito.when(restTemplate.exchange("/nearby?latitude={latitude}&longitude={longitude}&from={from}" +
+                                "&size={size}&radius={radius}&text={text}", HttpMethod.GET,
+                        new HttpEntity<>(null, defaultHeaders(null)), Object.class, parameters))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK)
+                        .body(Collections.emptyList()));
+        var result = itemClient.searchNearby(parameters);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
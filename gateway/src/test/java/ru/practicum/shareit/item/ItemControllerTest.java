@@ -16,7 +16,9 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import ru.practicum.shareit.exception.ErrorMessages;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSort;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Map;
 
@@ -153,7 +155,8 @@ class ItemControllerTest {
                 .param("size", String.valueOf(size));
         Map<String, Object> parameters = Map.of(
                 "from", from,
-                "size", size
+                "size", size,
+                "sort", ItemSort.ID
         );
         when(itemClient.getAll(userId, parameters))
                 .thenReturn(ResponseEntity.status(HttpStatus.OK)
@@ -211,11 +214,13 @@ class ItemControllerTest {
                 .header(CUSTOM_HEADER, userId)
                 .param("text", text)
                 .param("from", String.valueOf(from))
-                .param("size", String.valueOf(size));
+                .param("size", String.valueOf(size))
+                .param("sort", "COMMENTS");
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
-                "size", size
+                "size", size,
+                "sort", ItemSort.COMMENTS
         );
 
         when(itemClient.search(parameters))
@@ -244,6 +249,173 @@ class ItemControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getCommentsOk() throws Exception {
+        var itemId = 1L;
+        var userId = 1L;
+        var mockRequest = MockMvcRequestBuilders.get("/items/" + itemId + "/comment")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(CUSTOM_HEADER, userId)
+                .param("beforeId", "5");
+        Map<String, Object> parameters = Map.of(
+                "beforeId", 5L,
+                "size", 10
+        );
+
+        when(itemClient.getComments(userId, itemId, parameters))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK).body(Collections.emptyList()));
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getCommentsZeroSizeFail() throws Exception {
+        var mockRequest = MockMvcRequestBuilders.get("/items/1/comment")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(CUSTOM_HEADER, 1L)
+                .param("size", "0");
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchAvailableOk() throws Exception {
+        var userId = 1L;
+        var mockRequest = MockMvcRequestBuilders.get("/items/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(CUSTOM_HEADER, userId)
+                .param("text", "drill")
+                .param("availableFrom", "2030-01-05T00:00:00")
+                .param("availableTo", "2030-01-07T00:00:00");
+        Map<String, Object> parameters = Map.of(
+                "text", "drill",
+                "from", 0,
+                "size", 10,
+                "sort", ItemSort.ID,
+                "availableFrom", LocalDateTime.of(2030, 1, 5, 0, 0),
+                "availableTo", LocalDateTime.of(2030, 1, 7, 0, 0)
+        );
+
+        when(itemClient.search(parameters))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK).body(Collections.emptyList()));
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void searchIncompleteRangeFail() throws Exception {
+        var mockRequest = MockMvcRequestBuilders.get("/items/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(CUSTOM_HEADER, 1L)
+                .param("text", "drill")
+                .param("availableFrom", "2030-01-05T00:00:00");
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is(ErrorMessages.INCOMPLETE_RANGE.getMessage())));
+    }
+
+    @Test
+    void getAvailabilityOk() throws Exception {
+        var itemId = 1L;
+        var userId = 1L;
+        var from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        var to = LocalDateTime.of(2030, 2, 1, 0, 0);
+        var mockRequest = MockMvcRequestBuilders.get("/items/" + itemId + "/availability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(CUSTOM_HEADER, userId)
+                .param("from", "2030-01-01T00:00:00")
+                .param("to", "2030-02-01T00:00:00");
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+
+        when(itemClient.getAvailability(userId, itemId, parameters))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK).body(Collections.emptyList()));
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getAvailabilityRangeFail() throws Exception {
+        var mockRequest = MockMvcRequestBuilders.get("/items/1/availability")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(CUSTOM_HEADER, 1L)
+                .param("from", "2030-02-01T00:00:00")
+                .param("to", "2030-01-01T00:00:00");
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is(ErrorMessages.INVALID_RANGE.getMessage())));
+    }
+
+    @Test
+    void searchNearbyOk() throws Exception {
+        var mockRequest = MockMvcRequestBuilders.get("/items/nearby")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(CUSTOM_HEADER, 1L)
+                .param("latitude", "55.7558")
+                .param("longitude", "37.6173")
+                .param("radius", "5");
+        Map<String, Object> parameters = Map.of(
+                "latitude", 55.7558,
+                "longitude", 37.6173,
+                "radius", 5.0,
+                "from", 0,
+                "size", 10
+        );
+
+        when(itemClient.searchNearby(parameters))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK).body(Collections.emptyList()));
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void searchNearbyInvalidLocationFail() throws Exception {
+        var mockRequest = MockMvcRequestBuilders.get("/items/nearby")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(CUSTOM_HEADER, 1L)
+                .param("latitude", "91")
+                .param("longitude", "37.6173");
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void postInvalidLocationFail() throws Exception {
+        var content = "{\"name\": \"item name\",\"description\": \"item description\",\"available\":true," +
+                "\"latitude\":55.7558,\"longitude\":181}";
+        var mockRequest = MockMvcRequestBuilders.post("/items")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(CUSTOM_HEADER, 1L)
+                .content(content);
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void updateInvalidLocationFail() throws Exception {
+        var content = "{\"latitude\":-91,\"longitude\":37.6173}";
+        var mockRequest = MockMvcRequestBuilders.patch("/items/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(CUSTOM_HEADER, 1L)
+                .content(content);
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchUnknownSortFail() throws Exception {
+        var mockRequest = MockMvcRequestBuilders.get("/items/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(CUSTOM_HEADER, 1L)
+                .param("text", "item")
+                .param("sort", "PRICE");
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is(ErrorMessages.UNKNOWN_SORT.getFormatMessage("PRICE"))));
+    }
+
     @Test
     void searchWithoutTextFail() throws Exception {
         var userId = 1L;
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControlInterceptorTest {
+
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AdmissionControlInterceptor interceptor;
+
+    @BeforeEach
+    public void setUp() {
+        var search = new RateLimitProperties.Bucket();
+        search.setCapacity(1);
+        search.setRefillPerSecond(0.5);
+        var properties = new RateLimitProperties();
+        properties.setMaxConcurrentRequests(2);
+        properties.setEndpoints(Map.of("/items/search", search));
+        interceptor = new AdmissionControlInterceptor(properties, meterRegistry, clock::get);
+    }
+
+    @Test
+    public void rateLimitPerUserAndEndpointOk() {
+        var response = new MockHttpServletResponse();
+        var first = request("/items/search", 1);
+        assertTrue(interceptor.preHandle(first, response, null));
+        interceptor.afterCompletion(first, response, null, null);
+
+        var exception = assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("/items/search", 1), response, null));
+        assertThat(exception.getRetryAfterSeconds(), equalTo(2L));
+        assertTrue(interceptor.preHandle(request("/items/search", 2), response, null));
+        assertTrue(interceptor.preHandle(request("/items/{id}", 1), response, null));
+        assertThat(meterRegistry.get("gateway.admission.rejected")
+                .tag("reason", "rate")
+                .tag("endpoint", "/items/search")
+                .counter()
+                .count(), equalTo(1.0));
+    }
+
+    @Test
+    public void concurrencyLimitOk() {
+        var response = new MockHttpServletResponse();
+        var first = request("/items/{id}", 1);
+        assertTrue(interceptor.preHandle(first, response, null));
+        assertTrue(interceptor.preHandle(request("/items/{id}", 2), response, null));
+
+        var exception = assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("/items/{id}", 3), response, null));
+        assertThat(exception.getRetryAfterSeconds(), equalTo(1L));
+        assertThat(meterRegistry.get("gateway.admission.in.flight").gauge().value(), equalTo(2.0));
+
+        interceptor.afterCompletion(first, response, null, null);
+        assertTrue(interceptor.preHandle(request("/items/{id}", 3), response, null));
+        assertThat(meterRegistry.get("gateway.admission.rejected")
+                .tag("reason", "concurrency")
+                .counter()
+                .count(), equalTo(1.0));
+    }
+
+    @Test
+    public void idleBucketsSweptOk() {
+        var properties = new RateLimitProperties();
+        properties.setMaxTrackedBuckets(2);
+        interceptor = new AdmissionControlInterceptor(properties, meterRegistry, clock::get);
+        var response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request("/items/{id}", 1), response, null));
+        assertTrue(interceptor.preHandle(request("/items/{id}", 2), response, null));
+        assertThat(interceptor.trackedBuckets(), equalTo(2));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(interceptor.preHandle(request("/items/{id}", 3), response, null));
+        assertThat(interceptor.trackedBuckets(), equalTo(1));
+    }
+
+    @Test
+    public void busyBucketsCapNewCallersOk() {
+        var properties = new RateLimitProperties();
+        properties.setMaxTrackedBuckets(2);
+        properties.getDefaults().setCapacity(2);
+        properties.getDefaults().setRefillPerSecond(0.1);
+        interceptor = new AdmissionControlInterceptor(properties, meterRegistry, clock::get);
+        var response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(request("/items/{id}", 1), response, null));
+        assertTrue(interceptor.preHandle(request("/items/{id}", 2), response, null));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        var exception = assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("/items/{id}", 3), response, null));
+        assertThat(exception.getRetryAfterSeconds(), equalTo(1L));
+        assertThat(interceptor.trackedBuckets(), equalTo(2));
+        assertTrue(interceptor.preHandle(request("/items/{id}", 1), response, null));
+        assertThat(meterRegistry.get("gateway.admission.rejected")
+                .tag("reason", "buckets")
+                .counter()
+                .count(), equalTo(1.0));
+    }
+
+    @Test
+    public void retryAfterHeaderOk() {
+        var handler = new ru.practicum.shareit.exception.ControllerExceptionHandler();
+        var result = handler.exceptionHandler(new TooManyRequestsException("too many", 3));
+        assertThat(result.getStatusCodeValue(), equalTo(429));
+        assertThat(result.getHeaders().getFirst(HttpHeaders.RETRY_AFTER), equalTo("3"));
+    }
+
+    private MockHttpServletRequest request(String pattern, long userId) {
+        var request = new MockHttpServletRequest("GET", pattern);
+        request.addHeader(HEADER_USER_ID, userId);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void burstUpToCapacityOk() {
+        var now = 0L;
+        var bucket = new TokenBucket(3, 1, now);
+        assertThat(bucket.tryAcquire(now), equalTo(0L));
+        assertThat(bucket.tryAcquire(now), equalTo(0L));
+        assertThat(bucket.tryAcquire(now), equalTo(0L));
+        assertThat(bucket.tryAcquire(now), equalTo(SECOND));
+    }
+
+    @Test
+    public void refillOk() {
+        var now = 0L;
+        var bucket = new TokenBucket(1, 2, now);
+        assertThat(bucket.tryAcquire(now), equalTo(0L));
+        assertThat(bucket.tryAcquire(now), greaterThan(0L));
+        assertThat(bucket.tryAcquire(now + SECOND / 4), equalTo(SECOND / 4));
+        assertThat(bucket.tryAcquire(now + SECOND / 2), equalTo(0L));
+    }
+
+    @Test
+    public void idleOk() {
+        var now = 0L;
+        var bucket = new TokenBucket(2, 1, now);
+        bucket.tryAcquire(now);
+        assertThat(bucket.isIdle(now), equalTo(false));
+        assertThat(bucket.isIdle(now + SECOND), equalTo(true));
+    }
+
+    @Test
+    public void wrongConfigFail() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, 0));
+    }
+}
@@ -87,6 +87,56 @@ class RequestClientTest {
         assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
     }
 
+    @Test
+    public void getFeedOk() {
+        var userId = 1L;
+        Map<String, Object> parameters = Map.of(
+                "cursor", "abc",
+                "size", 20
+        );
+        Mockito.when(restTemplate.exchange("/feed?cursor={cursor}&size={size}", HttpMethod.GET,
+                        new HttpEntity<>(null, defaultHeaders(userId)), Object.class, parameters))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK)
+                        .body(Collections.emptyMap()));
+        var result = requestClient.getFeed(userId, parameters);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+
+        Map<String, Object> firstPage = Map.of("size", 20);
+        Mockito.when(restTemplate.exchange("/feed?size={size}", HttpMethod.GET,
+                        new HttpEntity<>(null, defaultHeaders(userId)), Object.class, firstPage))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK)
+                        .body(Collections.emptyMap()));
+        result = requestClient.getFeed(userId, firstPage);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+    }
+
+    @Test
+    public void getSuggestionsOk() {
+        var userId = 1L;
+        var requestId = 2L;
+        Mockito.when(restTemplate.exchange("/" + requestId + "/suggestions", HttpMethod.GET,
+                        new HttpEntity<>(null, defaultHeaders(userId)), Object.class))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK)
+                        .body(Collections.emptyList()));
+        var result = requestClient.getSuggestions(userId, requestId);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+    }
+
+    @Test
+    public void getMatchesOk() {
+        var userId = 1L;
+        Map<String, Object> parameters = Map.of(
+                "afterId", 5L,
+                "size", 20
+        );
+        Mockito.when(restTemplate.exchange("/matches?afterId={afterId}&size={size}", HttpMethod.GET,
+                        new HttpEntity<>(null, defaultHeaders(userId)), Object.class, parameters))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK)
+                        .body(Collections.emptyList()));
+        var result = requestClient.getMatches(userId, parameters);
+        assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
+    }
+
 
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
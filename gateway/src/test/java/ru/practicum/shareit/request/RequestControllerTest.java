@@ -102,6 +102,72 @@ class RequestControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getFeedOk() throws Exception {
+        var userId = 1L;
+        var mockRequest = MockMvcRequestBuilders.get("/requests/feed?cursor=abc&size=5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(USER_ID_HEADER, userId);
+        Map<String, Object> parameters = Map.of(
+                "cursor", "abc",
+                "size", 5
+        );
+        when(requestClient.getFeed(userId, parameters))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK)
+                        .body(Collections.emptyMap()));
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getFeedZeroSizeFail() throws Exception {
+        var mockRequest = MockMvcRequestBuilders.get("/requests/feed?size=0")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(USER_ID_HEADER, 1L);
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getSuggestionsOk() throws Exception {
+        var userId = 1L;
+        var requestId = 2L;
+        var mockRequest = MockMvcRequestBuilders.get("/requests/" + requestId + "/suggestions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(USER_ID_HEADER, userId);
+        when(requestClient.getSuggestions(userId, requestId))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK)
+                        .body(Collections.emptyList()));
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getMatchesOk() throws Exception {
+        var userId = 1L;
+        var mockRequest = MockMvcRequestBuilders.get("/requests/matches?afterId=5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(USER_ID_HEADER, userId);
+        Map<String, Object> parameters = Map.of(
+                "afterId", 5L,
+                "size", 20
+        );
+        when(requestClient.getMatches(userId, parameters))
+                .thenReturn(ResponseEntity.status(HttpStatus.OK)
+                        .body(Collections.emptyList()));
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getMatchesNegativeAfterIdFail() throws Exception {
+        var mockRequest = MockMvcRequestBuilders.get("/requests/matches?afterId=-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(USER_ID_HEADER, 1L);
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void postBlankDescriptionFail() throws Exception {
         var userId = 1L;
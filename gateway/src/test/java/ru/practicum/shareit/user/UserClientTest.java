@@ -12,8 +12,10 @@ import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.exception.ErrorMessages;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -58,14 +60,26 @@ class UserClientTest {
 
     @Test
     public void getAllOk() {
-        Mockito.when(restTemplate.exchange("", HttpMethod.GET,
-                        new HttpEntity<>(null, defaultHeaders()), Object.class))
+        Map<String, Object> parameters = Map.of(
+                "afterId", 0L,
+                "size", 10
+        );
+        Mockito.when(restTemplate.exchange("?afterId={afterId}&size={size}", HttpMethod.GET,
+                        new HttpEntity<>(null, defaultHeaders()), Object.class, parameters))
                 .thenReturn(ResponseEntity.status(HttpStatus.OK)
                         .body(Collections.emptyList()));
-        var result = userClient.getAll();
+        var result = userClient.getAll(parameters);
         assertThat(result.getStatusCode(), equalTo(HttpStatus.OK));
     }
 
+    @Test
+    public void streamOk() {
+        var outputStream = new ByteArrayOutputStream();
+        userClient.stream(1L, outputStream);
+        Mockito.verify(restTemplate).execute(Mockito.eq("/stream?afterId={afterId}"), Mockito.eq(HttpMethod.GET),
+                Mockito.any(), Mockito.any(), Mockito.eq(Map.<String, Object>of("afterId", 1L)));
+    }
+
     @Test
     public void updateOk() {
         var userId = 1L;
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hamcrest.core.IsNull;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -17,11 +18,13 @@ import ru.practicum.shareit.exception.ErrorMessages;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.Collections;
+import java.util.Map;
 
 import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
 class UserControllerTest {
@@ -173,12 +176,34 @@ class UserControllerTest {
     void getAllOk() throws Exception {
         var mockRequest = MockMvcRequestBuilders.get("/users")
                 .contentType(MediaType.APPLICATION_JSON);
-        when(userClient.getAll())
+        Map<String, Object> parameters = Map.of(
+                "afterId", 0L,
+                "size", 100
+        );
+        when(userClient.getAll(parameters))
                 .thenReturn(ResponseEntity.status(HttpStatus.OK).body(Collections.emptyList()));
         mockMvc.perform(mockRequest)
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getAllValidationFail() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/users?size=0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(MockMvcRequestBuilders.get("/users?afterId=-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamOk() throws Exception {
+        var mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/stream?afterId=1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+        verify(userClient).stream(Mockito.eq(1L), Mockito.any());
+    }
+
     @Test
     void deleteOk() throws Exception {
         var userId = 1L;
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Synthetic data generated from a seed, so the seeder and the workload see the same users, items and bookings
+ * without sharing state. Ids start from 1 in every table, in the order of the arrays.
+ * <p>
+ * Popularity is skewed with a Zipf distribution: low user ids own most items and low item ids get most bookings
+ * and comments. Bookers and request authors are uniform.
+ */
+class Dataset {
+
+    static final String[] NAMES = {"Дрель", "Отвертка", "Перфоратор", "Лестница", "Палатка", "Велосипед", "Самокат",
+            "Проектор", "Пила", "Шуруповерт", "Drill", "Ladder", "Tent", "Kayak", "Camera", "Projector"};
+    static final String[] ADJECTIVES = {"аккумуляторная", "электрическая", "складная", "простая", "cordless",
+            "compact", "professional", "old"};
+    private static final double ANSWERED_REQUESTS_SHARE = 0.1;
+    private static final double AVAILABLE_SHARE = 0.9;
+
+    final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    final int users;
+    final long[] requestAuthor;
+    final LocalDateTime[] requestCreated;
+    final long[] itemOwner;
+    final long[] itemRequest;
+    final String[] itemName;
+    final String[] itemDescription;
+    final boolean[] itemAvailable;
+    final long[] bookingItem;
+    final long[] bookingBooker;
+    final String[] bookingStatus;
+    final LocalDateTime[] bookingStart;
+    final LocalDateTime[] bookingEnd;
+    final long[] commentItem;
+    final long[] commentAuthor;
+    final LocalDateTime[] commentCreated;
+    /**
+     * Indexes of approved bookings that ended before {@link #now}: their bookers may comment the item.
+     */
+    final int[] completedBookings;
+    /**
+     * Owners of at least one item by id, which puts the heaviest owners first.
+     */
+    final long[] owners;
+    final Zipf itemPopularity;
+    final Zipf ownerPopularity;
+
+    Dataset(Options options) {
+        var random = new Random(options.getLong("seed"));
+        var skew = options.getDouble("skew");
+        users = options.getInt("users");
+        var requests = options.getInt("requests");
+        var items = options.getInt("items");
+        var bookings = options.getInt("bookings");
+        var comments = options.getInt("comments");
+
+        requestAuthor = new long[requests];
+        requestCreated = new LocalDateTime[requests];
+        for (int i = 0; i < requests; i++) {
+            requestAuthor[i] = random.nextInt(users) + 1;
+            requestCreated[i] = now.minusMinutes(random.nextInt(60 * 24 * 365));
+        }
+
+        ownerPopularity = new Zipf(users, skew);
+        itemOwner = new long[items];
+        itemRequest = new long[items];
+        itemName = new String[items];
+        itemDescription = new String[items];
+        itemAvailable = new boolean[items];
+        for (int i = 0; i < items; i++) {
+            itemOwner[i] = ownerPopularity.sample(random) + 1;
+            if (requests > 0 && random.nextDouble() < ANSWERED_REQUESTS_SHARE) {
+                itemRequest[i] = random.nextInt(requests) + 1;
+            }
+            var adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+            itemName[i] = NAMES[random.nextInt(NAMES.length)] + " " + adjective;
+            itemDescription[i] = "Item " + (i + 1) + ", " + adjective + ", in good condition";
+            itemAvailable[i] = random.nextDouble() < AVAILABLE_SHARE;
+        }
+
+        itemPopularity = new Zipf(items, skew);
+        bookingItem = new long[bookings];
+        bookingBooker = new long[bookings];
+        bookingStatus = new String[bookings];
+        bookingStart = new LocalDateTime[bookings];
+        bookingEnd = new LocalDateTime[bookings];
+        List<Integer> completed = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            var item = itemPopularity.sample(random) + 1;
+            bookingItem[i] = item;
+            bookingBooker[i] = otherUser(random, itemOwner[item - 1]);
+            bookingStart[i] = now.plusHours(random.nextInt(24 * 425) - 24 * 365);
+            bookingEnd[i] = bookingStart[i].plusHours(random.nextInt(72) + 1);
+            if (bookingEnd[i].isBefore(now)) {
+                bookingStatus[i] = random.nextDouble() < 0.85 ? "APPROVED" : "REJECTED";
+            } else if (bookingStart[i].isAfter(now)) {
+                bookingStatus[i] = random.nextBoolean() ? "APPROVED" : "WAITING";
+            } else {
+                bookingStatus[i] = "APPROVED";
+            }
+            if (bookingStatus[i].equals("APPROVED") && bookingEnd[i].isBefore(now)) {
+                completed.add(i);
+            }
+        }
+        completedBookings = completed.stream().mapToInt(Integer::intValue).toArray();
+
+        var commentCount = completedBookings.length == 0 ? 0 : comments;
+        commentItem = new long[commentCount];
+        commentAuthor = new long[commentCount];
+        commentCreated = new LocalDateTime[commentCount];
+        for (int i = 0; i < commentCount; i++) {
+            var booking = completedBookings[random.nextInt(completedBookings.length)];
+            commentItem[i] = bookingItem[booking];
+            commentAuthor[i] = bookingBooker[booking];
+            commentCreated[i] = bookingEnd[booking].plusHours(random.nextInt(48) + 1);
+            if (commentCreated[i].isAfter(now)) {
+                commentCreated[i] = now;
+            }
+        }
+
+        owners = IntStream.range(0, items)
+                .mapToLong(i -> itemOwner[i])
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    String email(long userId) {
+        return "user" + userId + "@load.test";
+    }
+
+    String commentText(int comment) {
+        return "Comment " + (comment + 1) + " about item " + commentItem[comment];
+    }
+
+    private long otherUser(Random random, long owner) {
+        if (users == 1) {
+            return owner;
+        }
+        long user;
+        do {
+            user = random.nextInt(users) + 1;
+        } while (user == owner);
+        return user;
+    }
+}
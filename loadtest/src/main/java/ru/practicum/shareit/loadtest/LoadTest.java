@@ -0,0 +1,39 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.File;
+
+/**
+ * Entry point of the load test.
+ * <pre>
+ * java -jar loadtest.jar seed [--users=1000 --items=5000 --bookings=20000 ... --jdbc-url=...]
+ * java -jar loadtest.jar run [--gateway-url=http://localhost:8080 --threads=16 --duration=60s ...]
+ * </pre>
+ * Both commands must get the same volume, skew and seed options, the workload regenerates the seeded data
+ * to pick existing users, items and bookings.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !(args[0].equals("seed") || args[0].equals("run"))) {
+            System.err.println("usage: loadtest seed|run [--name=value ...], options and defaults: "
+                    + Options.DEFAULTS);
+            System.exit(2);
+        }
+        var options = Options.parse(args, 1);
+        var dataset = new Dataset(options);
+        if (args[0].equals("seed")) {
+            new Seeder(options).seed(dataset);
+            return;
+        }
+        var workload = new Workload(dataset, options.get("gateway-url"), options.getDouble("skew"));
+        var report = new Runner(workload, options).run();
+        report.print(System.out);
+        if (!options.get("report").isEmpty()) {
+            report.save(new File(options.get("report")));
+        }
+        System.exit(0);
+    }
+}
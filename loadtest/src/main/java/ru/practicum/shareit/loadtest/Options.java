@@ -0,0 +1,84 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options in the {@code --name=value} form. Unknown names are rejected so that typos don't
+ * silently fall back to defaults.
+ */
+class Options {
+
+    static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("users", "1000"),
+            Map.entry("items", "5000"),
+            Map.entry("requests", "500"),
+            Map.entry("bookings", "20000"),
+            Map.entry("comments", "5000"),
+            Map.entry("skew", "1.1"),
+            Map.entry("seed", "42"),
+            Map.entry("jdbc-url", "jdbc:postgresql://localhost:5432/shareit"),
+            Map.entry("jdbc-user", "shareit"),
+            Map.entry("jdbc-password", "123456"),
+            Map.entry("gateway-url", "http://localhost:8080"),
+            Map.entry("threads", "16"),
+            Map.entry("warmup", "10s"),
+            Map.entry("duration", "60s"),
+            Map.entry("report", ""));
+
+    private final Map<String, String> values;
+
+    Options(Map<String, String> values) {
+        this.values = values;
+    }
+
+    static Options parse(String[] args, int from) {
+        Map<String, String> values = new HashMap<>(DEFAULTS);
+        for (int i = from; i < args.length; i++) {
+            var arg = args[i];
+            var separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("expected --name=value but got " + arg);
+            }
+            var name = arg.substring(2, separator);
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("unknown option " + name);
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+        return new Options(values);
+    }
+
+    String get(String name) {
+        return values.get(name);
+    }
+
+    int getInt(String name) {
+        return Integer.parseInt(get(name));
+    }
+
+    long getLong(String name) {
+        return Long.parseLong(get(name));
+    }
+
+    double getDouble(String name) {
+        return Double.parseDouble(get(name));
+    }
+
+    /**
+     * Durations are written as a number followed by {@code s} or {@code m}, e.g. {@code 30s}.
+     */
+    Duration getDuration(String name) {
+        var value = get(name);
+        var amount = Long.parseLong(value.substring(0, value.length() - 1));
+        switch (value.charAt(value.length() - 1)) {
+            case 's':
+                return Duration.ofSeconds(amount);
+            case 'm':
+                return Duration.ofMinutes(amount);
+            default:
+                throw new IllegalArgumentException("unsupported duration " + value);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Latencies and status counts per endpoint. Each worker thread owns one recorder, they are merged at the end.
+ */
+class Recorder {
+
+    private final Map<String, Samples> endpoints = new HashMap<>();
+
+    void record(String endpoint, int status, long latencyNanos) {
+        endpoints.computeIfAbsent(endpoint, e -> new Samples()).add(status, latencyNanos);
+    }
+
+    void merge(Recorder other) {
+        other.endpoints.forEach((endpoint, samples) ->
+                endpoints.computeIfAbsent(endpoint, e -> new Samples()).addAll(samples));
+    }
+
+    Map<String, Samples> getEndpoints() {
+        return endpoints;
+    }
+
+    static class Samples {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private int rejected;
+
+        void add(int status, long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (status == 429 || status == 503) {
+                rejected++;
+            } else if (status >= 400) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = other.latencies[i];
+            }
+            errors += other.errors;
+            rejected += other.rejected;
+        }
+
+        int getCount() {
+            return count;
+        }
+
+        /**
+         * Responses with 4xx or 5xx status, except rejections by admission control or the circuit breakers.
+         */
+        int getErrors() {
+            return errors;
+        }
+
+        /**
+         * Responses with 429 or 503 status.
+         */
+        int getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Latency at the given percentile, from 0 to 100, in nanoseconds.
+         */
+        long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            var sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            var rank = (int) Math.ceil(percentile / 100 * count);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+    }
+}
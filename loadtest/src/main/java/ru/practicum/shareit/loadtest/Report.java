@@ -0,0 +1,77 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Throughput and latency percentiles per endpoint, printed as a table and optionally saved as JSON.
+ */
+class Report {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Recorder.Samples> endpoints;
+    private final Duration duration;
+
+    Report(Recorder recorder, Duration duration) {
+        this.endpoints = new TreeMap<>(recorder.getEndpoints());
+        this.duration = duration;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-32s %9s %9s %7s %8s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "req/s", "errors",
+                "rejected", "p50, ms", "p90, ms", "p99, ms", "p99.9, ms", "max, ms");
+        var total = new Recorder.Samples();
+        endpoints.forEach((endpoint, samples) -> {
+            print(out, endpoint, samples);
+            total.addAll(samples);
+        });
+        print(out, "total", total);
+    }
+
+    void save(File file) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        endpoints.forEach((endpoint, samples) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint);
+            row.put("requests", samples.getCount());
+            row.put("throughput", throughput(samples));
+            row.put("errors", samples.getErrors());
+            row.put("rejected", samples.getRejected());
+            for (var percentile : PERCENTILES) {
+                row.put("p" + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString(), millis(samples.percentile(percentile)));
+            }
+            row.put("max", millis(samples.percentile(100)));
+            rows.add(row);
+        });
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file, Map.of("durationSeconds", duration.toSeconds(), "endpoints", rows));
+    }
+
+    private void print(PrintStream out, String endpoint, Recorder.Samples samples) {
+        out.printf("%-32s %9d %9.1f %7d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", endpoint, samples.getCount(),
+                throughput(samples), samples.getErrors(), samples.getRejected(),
+                millis(samples.percentile(50)), millis(samples.percentile(90)), millis(samples.percentile(99)),
+                millis(samples.percentile(99.9)), millis(samples.percentile(100)));
+    }
+
+    private double throughput(Recorder.Samples samples) {
+        return samples.getCount() * 1000.0 / duration.toMillis();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
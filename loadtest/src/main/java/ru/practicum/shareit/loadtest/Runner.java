@@ -0,0 +1,91 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load: every thread sends the next call as soon as the previous one completes. Calls finishing
+ * during the warmup are not recorded.
+ */
+class Runner {
+
+    private final Workload workload;
+    private final int threads;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long seed;
+    private final ExecutorService clientExecutor;
+    private final HttpClient httpClient;
+
+    Runner(Workload workload, Options options) {
+        this.workload = workload;
+        this.threads = options.getInt("threads");
+        this.warmup = options.getDuration("warmup");
+        this.duration = options.getDuration("duration");
+        this.seed = options.getLong("seed");
+        this.clientExecutor = Executors.newFixedThreadPool(threads);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+    }
+
+    Report run() throws InterruptedException, ExecutionException {
+        var start = System.nanoTime();
+        var measureFrom = start + warmup.toNanos();
+        var deadline = measureFrom + duration.toNanos();
+        var executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Recorder>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                var random = new Random(seed + i);
+                workers.add(executor.submit(() -> work(random, measureFrom, deadline)));
+            }
+            var recorder = new Recorder();
+            for (var worker : workers) {
+                recorder.merge(worker.get());
+            }
+            return new Report(recorder, duration);
+        } finally {
+            executor.shutdownNow();
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private Recorder work(Random random, long measureFrom, long deadline) {
+        var recorder = new Recorder();
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            var call = workload.next(random);
+            var started = System.nanoTime();
+            int status;
+            HttpResponse<String> response = null;
+            try {
+                response = httpClient.send(call.getRequest(), HttpResponse.BodyHandlers.ofString());
+                status = response.statusCode();
+            } catch (IOException e) {
+                status = 599;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            var finished = System.nanoTime();
+            if (finished >= measureFrom && finished < deadline) {
+                recorder.record(call.getEndpoint(), status, finished - started);
+            }
+            if (response != null) {
+                call.onResponse(response);
+            }
+        }
+        return recorder;
+    }
+}
@@ -0,0 +1,177 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+/**
+ * Writes a {@link Dataset} to an empty PostgreSQL or H2 database with batched inserts. Ids are inserted
+ * explicitly, then the identity columns are restarted after them so the server can keep inserting.
+ */
+class Seeder {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final Options options;
+
+    Seeder(Options options) {
+        this.options = options;
+    }
+
+    void seed(Dataset dataset) throws SQLException, IOException {
+        try (var connection = DriverManager.getConnection(options.get("jdbc-url"), options.get("jdbc-user"),
+                options.get("jdbc-password"))) {
+            createSchema(connection);
+            connection.setAutoCommit(false);
+            var started = System.nanoTime();
+            insertUsers(connection, dataset);
+            insertRequests(connection, dataset);
+            insertItems(connection, dataset);
+            insertBookings(connection, dataset);
+            insertComments(connection, dataset);
+            updateItemAggregates(connection);
+            for (var table : new String[]{"users", "requests", "items", "booking", "comments"}) {
+                restartIdentity(connection, table);
+            }
+            connection.commit();
+            System.out.printf("seeded %d users, %d requests, %d items, %d bookings, %d comments in %d ms%n",
+                    dataset.users, dataset.requestAuthor.length, dataset.itemOwner.length,
+                    dataset.bookingItem.length, dataset.commentItem.length, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private void createSchema(Connection connection) throws SQLException, IOException {
+        try (InputStream schema = Seeder.class.getResourceAsStream("/schema.sql");
+             var statement = connection.createStatement()) {
+            for (var sql : new String(schema.readAllBytes(), StandardCharsets.UTF_8).split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+            try (var resultSet = statement.executeQuery("SELECT count(*) FROM users")) {
+                resultSet.next();
+                if (resultSet.getLong(1) > 0) {
+                    throw new IllegalStateException("database is not empty, seed a fresh one");
+                }
+            }
+        }
+    }
+
+    private void insertUsers(Connection connection, Dataset dataset) throws SQLException {
+        try (var statement = connection.prepareStatement("INSERT INTO users (id, name, email) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < dataset.users; i++) {
+                long id = i + 1;
+                statement.setLong(1, id);
+                statement.setString(2, "User " + id);
+                statement.setString(3, dataset.email(id));
+                addBatch(connection, statement, i);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void insertRequests(Connection connection, Dataset dataset) throws SQLException {
+        try (var statement = connection.prepareStatement(
+                "INSERT INTO requests (id, user_id, description, created) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < dataset.requestAuthor.length; i++) {
+                statement.setLong(1, i + 1);
+                statement.setLong(2, dataset.requestAuthor[i]);
+                statement.setString(3, "Looking for " + Dataset.NAMES[i % Dataset.NAMES.length]);
+                statement.setTimestamp(4, Timestamp.valueOf(dataset.requestCreated[i]));
+                addBatch(connection, statement, i);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void insertItems(Connection connection, Dataset dataset) throws SQLException {
+        try (var statement = connection.prepareStatement("INSERT INTO items "
+                + "(id, user_id, request_id, name, description, available) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < dataset.itemOwner.length; i++) {
+                statement.setLong(1, i + 1);
+                statement.setLong(2, dataset.itemOwner[i]);
+                if (dataset.itemRequest[i] == 0) {
+                    statement.setNull(3, Types.BIGINT);
+                } else {
+                    statement.setLong(3, dataset.itemRequest[i]);
+                }
+                statement.setString(4, dataset.itemName[i]);
+                statement.setString(5, dataset.itemDescription[i]);
+                statement.setBoolean(6, dataset.itemAvailable[i]);
+                addBatch(connection, statement, i);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void insertBookings(Connection connection, Dataset dataset) throws SQLException {
+        try (var statement = connection.prepareStatement("INSERT INTO booking "
+                + "(id, booker_id, item_id, status, start_booking, end_booking) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < dataset.bookingItem.length; i++) {
+                statement.setLong(1, i + 1);
+                statement.setLong(2, dataset.bookingBooker[i]);
+                statement.setLong(3, dataset.bookingItem[i]);
+                statement.setString(4, dataset.bookingStatus[i]);
+                statement.setTimestamp(5, Timestamp.valueOf(dataset.bookingStart[i]));
+                statement.setTimestamp(6, Timestamp.valueOf(dataset.bookingEnd[i]));
+                addBatch(connection, statement, i);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void insertComments(Connection connection, Dataset dataset) throws SQLException {
+        try (var statement = connection.prepareStatement(
+                "INSERT INTO comments (id, author_id, item_id, text, created) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < dataset.commentItem.length; i++) {
+                statement.setLong(1, i + 1);
+                statement.setLong(2, dataset.commentAuthor[i]);
+                statement.setLong(3, dataset.commentItem[i]);
+                statement.setString(4, dataset.commentText(i));
+                statement.setTimestamp(5, Timestamp.valueOf(dataset.commentCreated[i]));
+                addBatch(connection, statement, i);
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private static void updateItemAggregates(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.executeUpdate("UPDATE items i SET "
+                    + "comments_count = (SELECT count(*) FROM comments c WHERE c.item_id = i.id), "
+                    + "bookings_count = (SELECT count(*) FROM booking b WHERE b.item_id = i.id AND b.status = 'APPROVED'), "
+                    + "last_booked_at = (SELECT max(b.start_booking) FROM booking b "
+                    + "WHERE b.item_id = i.id AND b.status = 'APPROVED')");
+        }
+    }
+
+    private static void addBatch(Connection connection, PreparedStatement statement, int index) throws SQLException {
+        statement.addBatch();
+        if ((index + 1) % BATCH_SIZE == 0) {
+            statement.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private static void restartIdentity(Connection connection, String table) throws SQLException {
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT coalesce(max(id), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            var next = resultSet.getLong(1);
+            try (var alter = connection.createStatement()) {
+                if ("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                    // covers both identity columns and the sequence of the partitioned booking table
+                    alter.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " + next + ", false)");
+                } else {
+                    alter.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+                }
+            }
+        }
+    }
+}
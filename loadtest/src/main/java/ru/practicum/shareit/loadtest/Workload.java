@@ -0,0 +1,299 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Mix of gateway calls modeled on the Postman collection, read-heavy with some writes. Users, items and
+ * bookings are picked from the {@link Dataset} with the same skew as the seeded data, so popular items and
+ * heavy owners get most of the traffic.
+ */
+class Workload {
+
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final Dataset dataset;
+    private final String baseUrl;
+    private final Zipf ownerPopularity;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Queue<long[]> waitingBookings = new ConcurrentLinkedQueue<>();
+    private final AtomicLong createdUsers = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final List<Operation> operations;
+    private final int totalWeight;
+
+    Workload(Dataset dataset, String baseUrl, double skew) {
+        this.dataset = dataset;
+        this.baseUrl = baseUrl;
+        this.ownerPopularity = new Zipf(dataset.owners.length, skew);
+        this.operations = List.of(
+                new Operation("GET /users/{id}", 4, this::getUser),
+                new Operation("POST /users", 1, this::createUser),
+                new Operation("GET /items/{id}", 18, this::getItem),
+                new Operation("GET /items", 8, this::getOwnItems),
+                new Operation("GET /items/search", 14, this::search),
+                new Operation("POST /items", 2, this::createItem),
+                new Operation("POST /items/{id}/comment", 1, this::createComment),
+                new Operation("GET /bookings", 8, this::getBookings),
+                new Operation("GET /bookings/owner", 8, this::getOwnerBookings),
+                new Operation("GET /bookings/{id}", 10, this::getBooking),
+                new Operation("POST /bookings", 6, this::createBooking, this::onBookingCreated),
+                new Operation("PATCH /bookings/{id}", 4, this::approveBooking),
+                new Operation("POST /requests", 1, this::createRequest),
+                new Operation("GET /requests", 2, this::getOwnRequests),
+                new Operation("GET /requests/all", 3, this::getOtherRequests),
+                new Operation("GET /requests/{id}", 2, this::getRequest));
+        this.totalWeight = operations.stream().mapToInt(Operation::getWeight).sum();
+    }
+
+    /**
+     * Picks an operation by weight. Operations without a suitable target, such as approvals before any booking
+     * was created, are skipped in favour of another pick.
+     */
+    Call next(Random random) {
+        while (true) {
+            var pick = random.nextInt(totalWeight);
+            for (var operation : operations) {
+                pick -= operation.getWeight();
+                if (pick < 0) {
+                    var request = operation.request.apply(random);
+                    if (request != null) {
+                        return new Call(operation, request);
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    private HttpRequest getUser(Random random) {
+        return get("/users/" + randomUser(random), null);
+    }
+
+    private HttpRequest createUser(Random random) {
+        var n = createdUsers.incrementAndGet();
+        return post("/users", null, Map.of("name", "Load " + n, "email", "load-" + runId + "-" + n + "@load.test"));
+    }
+
+    private HttpRequest getItem(Random random) {
+        var item = popularItem(random);
+        var user = random.nextInt(10) < 3 ? dataset.itemOwner[item - 1] : randomUser(random);
+        return get("/items/" + item, user);
+    }
+
+    private HttpRequest getOwnItems(Random random) {
+        return get("/items?from=0&size=20", heavyOwner(random));
+    }
+
+    private HttpRequest search(Random random) {
+        var words = random.nextBoolean() ? Dataset.NAMES : Dataset.ADJECTIVES;
+        var word = words[random.nextInt(words.length)];
+        var text = word.substring(0, Math.max(3, word.length() - random.nextInt(3))).toLowerCase();
+        return get("/items/search?from=0&size=20&text=" + URLEncoder.encode(text, StandardCharsets.UTF_8),
+                randomUser(random));
+    }
+
+    private HttpRequest createItem(Random random) {
+        return post("/items", heavyOwner(random), Map.of("name", Dataset.NAMES[random.nextInt(Dataset.NAMES.length)],
+                "description", "Added by the load test", "available", true));
+    }
+
+    private HttpRequest createComment(Random random) {
+        if (dataset.completedBookings.length == 0) {
+            return null;
+        }
+        var booking = dataset.completedBookings[random.nextInt(dataset.completedBookings.length)];
+        return post("/items/" + dataset.bookingItem[booking] + "/comment", dataset.bookingBooker[booking],
+                Map.of("text", "Load test comment"));
+    }
+
+    private HttpRequest getBookings(Random random) {
+        return get("/bookings?from=0&size=20&state=" + STATES[random.nextInt(STATES.length)], randomUser(random));
+    }
+
+    private HttpRequest getOwnerBookings(Random random) {
+        return get("/bookings/owner?from=0&size=20&state=" + STATES[random.nextInt(STATES.length)],
+                heavyOwner(random));
+    }
+
+    private HttpRequest getBooking(Random random) {
+        if (dataset.bookingItem.length == 0) {
+            return null;
+        }
+        var booking = random.nextInt(dataset.bookingItem.length);
+        var user = random.nextBoolean()
+                ? dataset.bookingBooker[booking]
+                : dataset.itemOwner[(int) dataset.bookingItem[booking] - 1];
+        return get("/bookings/" + (booking + 1), user);
+    }
+
+    private HttpRequest createBooking(Random random) {
+        var item = popularItem(random);
+        if (!dataset.itemAvailable[item - 1]) {
+            return null;
+        }
+        var owner = dataset.itemOwner[item - 1];
+        var booker = randomUser(random);
+        if (booker == owner) {
+            return null;
+        }
+        var start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(random.nextInt(60) + 1);
+        return post("/bookings", booker, Map.of("itemId", item, "start", start.toString(),
+                "end", start.plusHours(random.nextInt(72) + 1).toString()));
+    }
+
+    private void onBookingCreated(HttpRequest request, HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            return;
+        }
+        try {
+            var booking = objectMapper.readTree(response.body());
+            var item = booking.path("item").path("id").asLong();
+            waitingBookings.add(new long[]{booking.get("id").asLong(), dataset.itemOwner[(int) item - 1]});
+        } catch (IOException | RuntimeException e) {
+            // the booking can't be approved later, the next one will
+        }
+    }
+
+    private HttpRequest approveBooking(Random random) {
+        var booking = waitingBookings.poll();
+        if (booking == null) {
+            return null;
+        }
+        return HttpRequest.newBuilder(uri("/bookings/" + booking[0] + "?approved=" + random.nextBoolean()))
+                .timeout(TIMEOUT)
+                .header(HEADER_USER_ID, String.valueOf(booking[1]))
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest createRequest(Random random) {
+        return post("/requests", randomUser(random), Map.of("description", "Looking for "
+                + Dataset.NAMES[random.nextInt(Dataset.NAMES.length)]));
+    }
+
+    private HttpRequest getOwnRequests(Random random) {
+        return get("/requests", randomUser(random));
+    }
+
+    private HttpRequest getOtherRequests(Random random) {
+        return get("/requests/all?from=0&size=20", randomUser(random));
+    }
+
+    private HttpRequest getRequest(Random random) {
+        if (dataset.requestAuthor.length == 0) {
+            return null;
+        }
+        return get("/requests/" + (random.nextInt(dataset.requestAuthor.length) + 1), randomUser(random));
+    }
+
+    private long randomUser(Random random) {
+        return random.nextInt(dataset.users) + 1;
+    }
+
+    private long heavyOwner(Random random) {
+        return dataset.owners[ownerPopularity.sample(random)];
+    }
+
+    private int popularItem(Random random) {
+        return dataset.itemPopularity.sample(random) + 1;
+    }
+
+    private HttpRequest get(String path, Long userId) {
+        var builder = HttpRequest.newBuilder(uri(path)).timeout(TIMEOUT).GET();
+        if (userId != null) {
+            builder.header(HEADER_USER_ID, userId.toString());
+        }
+        return builder.build();
+    }
+
+    private HttpRequest post(String path, Long userId, Map<String, Object> body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        var builder = HttpRequest.newBuilder(uri(path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json));
+        if (userId != null) {
+            builder.header(HEADER_USER_ID, userId.toString());
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    static class Operation {
+        private final String endpoint;
+        private final int weight;
+        private final Function<Random, HttpRequest> request;
+        private final BiConsumer<HttpRequest, HttpResponse<String>> onResponse;
+
+        Operation(String endpoint, int weight, Function<Random, HttpRequest> request) {
+            this(endpoint, weight, request, (req, resp) -> {
+            });
+        }
+
+        Operation(String endpoint, int weight, Function<Random, HttpRequest> request,
+                  BiConsumer<HttpRequest, HttpResponse<String>> onResponse) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+            this.request = request;
+            this.onResponse = onResponse;
+        }
+
+        String getEndpoint() {
+            return endpoint;
+        }
+
+        int getWeight() {
+            return weight;
+        }
+    }
+
+    static class Call {
+        private final Operation operation;
+        private final HttpRequest request;
+
+        Call(Operation operation, HttpRequest request) {
+            this.operation = operation;
+            this.request = request;
+        }
+
+        String getEndpoint() {
+            return operation.endpoint;
+        }
+
+        HttpRequest getRequest() {
+            return request;
+        }
+
+        void onResponse(HttpResponse<String> response) {
+            operation.onResponse.accept(request, response);
+        }
+    }
+}
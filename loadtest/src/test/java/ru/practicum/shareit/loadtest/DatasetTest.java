@@ -0,0 +1,64 @@
+package ru.practicum.shareit.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DatasetTest {
+
+    private static Options options(String... args) {
+        return Options.parse(args, 0);
+    }
+
+    @Test
+    public void sameSeedSameDataOk() {
+        var first = new Dataset(options("--users=100", "--items=300", "--bookings=2000"));
+        var second = new Dataset(options("--users=100", "--items=300", "--bookings=2000"));
+
+        assertThat(Arrays.equals(first.itemOwner, second.itemOwner), equalTo(true));
+        assertThat(Arrays.equals(first.bookingItem, second.bookingItem), equalTo(true));
+        assertThat(Arrays.equals(first.bookingStatus, second.bookingStatus), equalTo(true));
+        assertThat(Arrays.equals(first.completedBookings, second.completedBookings), equalTo(true));
+    }
+
+    @Test
+    public void popularItemsAndHeavyOwnersOk() {
+        var dataset = new Dataset(options("--users=1000", "--items=1000", "--bookings=20000", "--skew=1.1"));
+
+        var topItemBookings = Arrays.stream(dataset.bookingItem).filter(item -> item <= 10).count();
+        var topOwnerItems = Arrays.stream(dataset.itemOwner).filter(owner -> owner <= 10).count();
+        assertThat(topItemBookings * 100 / dataset.bookingItem.length, greaterThan(30L));
+        assertThat(topOwnerItems * 100 / dataset.itemOwner.length, greaterThan(30L));
+    }
+
+    @Test
+    public void relationsAreValidOk() {
+        var dataset = new Dataset(options("--users=50", "--items=200", "--bookings=3000", "--comments=500"));
+
+        for (int i = 0; i < dataset.bookingItem.length; i++) {
+            assertThat(dataset.bookingBooker[i], not(equalTo(dataset.itemOwner[(int) dataset.bookingItem[i] - 1])));
+            assertThat(dataset.bookingEnd[i].isAfter(dataset.bookingStart[i]), equalTo(true));
+        }
+        for (var booking : dataset.completedBookings) {
+            assertThat(dataset.bookingStatus[booking], equalTo("APPROVED"));
+            assertThat(dataset.bookingEnd[booking].isBefore(dataset.now), equalTo(true));
+        }
+        assertThat(dataset.commentItem.length, equalTo(500));
+    }
+
+    @Test
+    public void unknownOptionFail() {
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> options("--user=1"));
+        assertThat(exception.getMessage(), equalTo("unknown option user"));
+        assertThat(options("--duration=2m").getDuration("duration").toSeconds(), equalTo(120L));
+        assertThat(Options.DEFAULTS, not(equalTo(Map.of())));
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+class RecorderTest {
+
+    @Test
+    public void percentilesOk() {
+        var first = new Recorder();
+        var second = new Recorder();
+        for (int i = 1; i <= 100; i++) {
+            (i % 2 == 0 ? first : second).record("GET /items/{id}", i == 100 ? 500 : 200, i * 1_000_000L);
+        }
+        first.record("GET /items/{id}", 429, 1_000_000L);
+
+        first.merge(second);
+        var samples = first.getEndpoints().get("GET /items/{id}");
+
+        assertThat(samples.getCount(), equalTo(101));
+        assertThat(samples.getErrors(), equalTo(1));
+        assertThat(samples.getRejected(), equalTo(1));
+        assertThat(samples.percentile(50), equalTo(50_000_000L));
+        assertThat(samples.percentile(99), equalTo(99_000_000L));
+        assertThat(samples.percentile(100), equalTo(100_000_000L));
+
+        var out = new ByteArrayOutputStream();
+        new Report(first, Duration.ofSeconds(10)).print(new PrintStream(out));
+        assertThat(out.toString(), containsString("GET /items/{id}"));
+        assertThat(out.toString(), containsString("10.1"));
+    }
+}
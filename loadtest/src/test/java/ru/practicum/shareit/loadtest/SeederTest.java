@@ -0,0 +1,50 @@
+package ru.practicum.shareit.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SeederTest {
+
+    private static final String URL = "jdbc:h2:mem:seeder;DB_CLOSE_DELAY=-1";
+
+    @Test
+    public void seedOk() throws Exception {
+        var options = Options.parse(new String[]{"--jdbc-url=" + URL, "--jdbc-user=sa", "--jdbc-password=",
+                "--users=30", "--requests=5", "--items=60", "--bookings=400", "--comments=50"}, 0);
+        var dataset = new Dataset(options);
+        var seeder = new Seeder(options);
+
+        seeder.seed(dataset);
+
+        try (var connection = DriverManager.getConnection(URL, "sa", "")) {
+            assertThat(count(connection, "users"), equalTo(30L));
+            assertThat(count(connection, "requests"), equalTo(5L));
+            assertThat(count(connection, "items"), equalTo(60L));
+            assertThat(count(connection, "booking"), equalTo(400L));
+            assertThat(count(connection, "comments"), equalTo(50L));
+            try (var statement = connection.createStatement()) {
+                statement.execute("INSERT INTO users (name, email) VALUES ('new', 'new@load.test')");
+                try (var resultSet = statement.executeQuery("SELECT id FROM users WHERE email = 'new@load.test'")) {
+                    resultSet.next();
+                    assertThat(resultSet.getLong(1), equalTo(31L));
+                }
+            }
+        }
+        assertThrows(IllegalStateException.class, () -> seeder.seed(dataset));
+    }
+
+    private static long count(Connection connection, String table) throws SQLException {
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT count(*) FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -4,13 +4,16 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.OwnerBookingSummaryDto;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.logging.Logging;
 import ru.practicum.shareit.util.PageRequestWithOffset;
+import ru.practicum.shareit.util.SliceResponses;
 
 import javax.validation.constraints.Min;
 import java.util.List;
@@ -49,21 +52,29 @@ public class BookingController {
 
     @Logging
     @GetMapping
-    public List<BookingDto> getAllForUser(@RequestHeader(HEADER_USER_ID) long bookerId,
-                                          @RequestParam BookingState state,
-                                          @RequestParam int from,
-                                          @RequestParam int size) {
+    public ResponseEntity<List<BookingDto>> getAllForUser(@RequestHeader(HEADER_USER_ID) long bookerId,
+                                                          @RequestParam BookingState state,
+                                                          @RequestParam int from,
+                                                          @RequestParam int size) {
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        return bookingService.findAllForUser(bookerId, state, pageable);
+        var bookings = bookingService.findAllForUser(bookerId, state, pageable);
+        return SliceResponses.of(bookings, bookingService.estimateTotalForUser(bookerId, state));
     }
 
     @Logging
     @GetMapping("/owner")
-    public List<BookingDto> getAllForOwner(@RequestHeader(HEADER_USER_ID) long ownerId,
-                                           @RequestParam BookingState state,
-                                           @RequestParam int from,
-                                           @RequestParam(defaultValue = "10") @Min(1) int size) {
+    public ResponseEntity<List<BookingDto>> getAllForOwner(@RequestHeader(HEADER_USER_ID) long ownerId,
+                                                           @RequestParam BookingState state,
+                                                           @RequestParam int from,
+                                                           @RequestParam(defaultValue = "10") @Min(1) int size) {
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        return bookingService.findAllForOwner(ownerId, state, pageable);
+        var bookings = bookingService.findAllForOwner(ownerId, state, pageable);
+        return SliceResponses.of(bookings, bookingService.estimateTotalForOwner(ownerId, state));
+    }
+
+    @Logging
+    @GetMapping("/owner/summary")
+    public OwnerBookingSummaryDto getOwnerSummary(@RequestHeader(HEADER_USER_ID) long ownerId) {
+        return bookingService.summarizeForOwner(ownerId);
     }
 }
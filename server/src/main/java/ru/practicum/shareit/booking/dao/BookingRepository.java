@@ -1,18 +1,25 @@
 package ru.practicum.shareit.booking.dao;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingShort;
+import ru.practicum.shareit.booking.model.ItemBookingCounts;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * On PostgreSQL {@code booking} is partitioned by {@code end_booking}, so time-bounded queries also constrain
+ * {@code end} to let the planner skip partitions: a booking starting after a moment also ends after it.
+ */
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     @Query("select b from Booking as b " +
@@ -24,38 +31,42 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Optional<Booking> findByIdAndItemOwnerId(long id, long ownerId);
 
     @EntityGraph("booking-graph")
-    List<Booking> findAllByBookerId(long bookerId, Pageable pageable);
+    Slice<Booking> findAllByBookerId(long bookerId, Pageable pageable);
 
     @EntityGraph("booking-graph")
-    List<Booking> findAllByBookerIdAndStatus(long bookerId, BookingStatus status, Pageable pageable);
+    Slice<Booking> findAllByBookerIdAndStatus(long bookerId, BookingStatus status, Pageable pageable);
 
+    @Query("select b from Booking as b " +
+            "where b.booker.id = ?1 and b.start > ?2 and b.end > ?2")
     @EntityGraph("booking-graph")
-    List<Booking> findAllByBookerIdAndStartAfter(long bookerId, LocalDateTime date, Pageable pageable);
+    Slice<Booking> findAllByBookerIdAndStartAfter(long bookerId, LocalDateTime date, Pageable pageable);
 
     @Query("select b from Booking as b " +
             "where b.booker.id = ?1 and (?2 between b.start and b.end) ")
     @EntityGraph("booking-graph")
-    List<Booking> findAllByBookerCurrent(long bookerId, LocalDateTime date, Pageable pageable);
+    Slice<Booking> findAllByBookerCurrent(long bookerId, LocalDateTime date, Pageable pageable);
 
     @EntityGraph("booking-graph")
-    List<Booking> findAllByBookerIdAndEndBefore(long bookerId, LocalDateTime date, Pageable pageable);
+    Slice<Booking> findAllByBookerIdAndEndBefore(long bookerId, LocalDateTime date, Pageable pageable);
 
     @EntityGraph("booking-graph")
-    List<Booking> findAllByItemOwnerId(long bookerId, Pageable pageable);
+    Slice<Booking> findAllByItemOwnerId(long bookerId, Pageable pageable);
 
     @EntityGraph("booking-graph")
-    List<Booking> findAllByItemOwnerIdAndStatus(long bookerId, BookingStatus status, Pageable pageable);
+    Slice<Booking> findAllByItemOwnerIdAndStatus(long bookerId, BookingStatus status, Pageable pageable);
 
+    @Query("select b from Booking as b " +
+            "where b.item.owner.id = ?1 and b.start > ?2 and b.end > ?2")
     @EntityGraph("booking-graph")
-    List<Booking> findAllByItemOwnerIdAndStartAfter(long bookerId, LocalDateTime date, Pageable pageable);
+    Slice<Booking> findAllByItemOwnerIdAndStartAfter(long bookerId, LocalDateTime date, Pageable pageable);
 
     @Query("select b from Booking as b " +
             "where b.item.owner.id = ?1 and (?2 between b.start and b.end) ")
     @EntityGraph("booking-graph")
-    List<Booking> findAllByItemOwnerCurrent(long bookerId, LocalDateTime date, Pageable pageable);
+    Slice<Booking> findAllByItemOwnerCurrent(long bookerId, LocalDateTime date, Pageable pageable);
 
     @EntityGraph("booking-graph")
-    List<Booking> findAllByItemOwnerIdAndEndBefore(long bookerId, LocalDateTime date, Pageable pageable);
+    Slice<Booking> findAllByItemOwnerIdAndEndBefore(long bookerId, LocalDateTime date, Pageable pageable);
 
     @Query("select new ru.practicum.shareit.booking.model.BookingShort(b.id, b.item.id, b.booker.id, b.start, b.end) " +
             "from Booking b " +
@@ -67,7 +78,51 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "where b.item.id = ?1 and b.status = 'APPROVED'")
     List<BookingShort> findBookingsShortByItem(long itemId);
 
-    @EntityGraph("booking-graph")
-    List<Booking> findByItemIdAndBookerIdAndStatusAndEndBefore(long itemId, long bookerId, BookingStatus status,
-                                                         LocalDateTime dateTime);
+    /**
+     * The approved bookings of the item overlapping {@code [from, to)}, by start.
+     */
+    @Query("select new ru.practicum.shareit.booking.model.BookingShort(b.id, b.item.id, b.booker.id, b.start, b.end) " +
+            "from Booking b " +
+            "where b.item.id = ?1 and b.status = 'APPROVED' and b.end > ?2 and b.start < ?3 " +
+            "order by b.start")
+    List<BookingShort> findApprovedOverlapping(long itemId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Counts the bookings of every item of the owner in one pass, items without bookings included.
+     */
+    @Query("select new ru.practicum.shareit.booking.model.ItemBookingCounts(i.id, i.name, count(b.id), " +
+            "sum(case when b.start <= ?2 and b.end >= ?2 then 1 else 0 end), " +
+            "sum(case when b.end < ?2 then 1 else 0 end), " +
+            "sum(case when b.start > ?2 and b.end > ?2 then 1 else 0 end), " +
+            "sum(case when b.status = 'WAITING' then 1 else 0 end), " +
+            "sum(case when b.status = 'REJECTED' then 1 else 0 end), " +
+            "min(case when b.start > ?2 and b.status <> 'REJECTED' then b.start end)) " +
+            "from Item i left join Booking b on b.item = i " +
+            "where i.owner.id = ?1 " +
+            "group by i.id, i.name " +
+            "order by i.id")
+    List<ItemBookingCounts> countByItemOwnerId(long ownerId, LocalDateTime now);
+
+    /**
+     * Locks the oldest waiting bookings that should have started before {@code startedBefore}.
+     */
+    @Query(value = "SELECT id FROM booking WHERE status = 'WAITING' AND start_booking < ?1" +
+            " ORDER BY start_booking LIMIT ?2 FOR UPDATE", nativeQuery = true)
+    List<Long> lockWaitingStartedBefore(LocalDateTime startedBefore, int limit);
+
+    @Query("select b.id from Booking b where b.id in ?1 and b.status = ?2")
+    List<Long> findIdsByIdInAndStatus(List<Long> ids, BookingStatus status);
+
+    /**
+     * Moves the bookings still in status {@code from} to {@code to}; the rows are locked until the transaction
+     * ends, so a booking is decided once.
+     *
+     * @return the number of bookings moved
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = ?3 where b.id in ?1 and b.status = ?2")
+    int updateStatus(List<Long> ids, BookingStatus from, BookingStatus to);
+
+    boolean existsByItemIdAndBookerIdAndStatusAndEndBefore(long itemId, long bookerId, BookingStatus status,
+                                                           LocalDateTime dateTime);
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+public class ItemBookingSummaryDto {
+    private ItemShortDto item;
+    private Map<BookingState, Long> counts;
+    private LocalDateTime nextStart;
+}
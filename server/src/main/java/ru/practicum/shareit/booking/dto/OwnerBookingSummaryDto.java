@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.enums.BookingState;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class OwnerBookingSummaryDto {
+    private Map<BookingState, Long> counts;
+    private List<ItemBookingSummaryDto> items;
+    /**
+     * The items with a next booking, the soonest first.
+     */
+    private List<ItemBookingSummaryDto> upcoming;
+}
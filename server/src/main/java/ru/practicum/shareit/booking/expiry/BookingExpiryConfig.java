@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingListCache;
+import ru.practicum.shareit.outbox.Outbox;
+
+import java.time.Clock;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(BookingExpiryProperties.class)
+@ConditionalOnProperty(prefix = "shareit.booking.expiry", name = "enabled", matchIfMissing = true)
+public class BookingExpiryConfig {
+
+    @Bean
+    public BookingExpiryJob bookingExpiryJob(BookingRepository bookingRepository,
+                                             PlatformTransactionManager transactionManager,
+                                             TaskScheduler taskScheduler,
+                                             Outbox outbox,
+                                             BookingListCache bookingListCache,
+                                             MeterRegistry meterRegistry,
+                                             BookingExpiryProperties properties,
+                                             Clock clock) {
+        return new BookingExpiryJob(bookingRepository, new TransactionTemplate(transactionManager), taskScheduler,
+                outbox, bookingListCache, meterRegistry, properties, clock);
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingListCache;
+import ru.practicum.shareit.outbox.Outbox;
+import ru.practicum.shareit.outbox.OutboxEventType;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Rejects the bookings the owner left waiting past their start. Each batch locks at most
+ * {@code batchSize} waiting bookings, rejects them with one {@code UPDATE} and commits, so owners approving
+ * other bookings never wait for the whole run.
+ */
+@Slf4j
+public class BookingExpiryJob {
+
+    static final String EXPIRED = "shareit.booking.expired";
+    static final String RUNS = "shareit.booking.expiry";
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final Outbox outbox;
+    private final BookingListCache bookingListCache;
+    private final BookingExpiryProperties properties;
+    private final Clock clock;
+    private final Counter expired;
+    private final Timer runs;
+
+    public BookingExpiryJob(BookingRepository bookingRepository, TransactionTemplate transactionTemplate,
+                            TaskScheduler taskScheduler, Outbox outbox, BookingListCache bookingListCache,
+                            MeterRegistry meterRegistry, BookingExpiryProperties properties, Clock clock) {
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.outbox = outbox;
+        this.bookingListCache = bookingListCache;
+        this.properties = properties;
+        this.clock = clock;
+        this.expired = meterRegistry.counter(EXPIRED);
+        this.runs = meterRegistry.timer(RUNS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.scheduleWithFixedDelay(this::run, properties.getInterval());
+    }
+
+    public void run() {
+        try {
+            var rejected = runs.record(this::expire);
+            if (rejected > 0) log.info("Rejected {} bookings left waiting past their start", rejected);
+        } catch (DataAccessException e) {
+            log.error("Booking expiry failed", e);
+        }
+    }
+
+    /**
+     * Rejects all the bookings waiting since before the grace period, batch by batch.
+     *
+     * @return the number of bookings rejected
+     */
+    public int expire() {
+        var startedBefore = LocalDateTime.now(clock).minus(properties.getGracePeriod());
+        var total = 0;
+        Batch batch;
+        do {
+            batch = transactionTemplate.execute(status -> expireBatch(startedBefore));
+            total += batch.rejected;
+        } while (batch.locked == properties.getBatchSize());
+        return total;
+    }
+
+    private Batch expireBatch(LocalDateTime startedBefore) {
+        var locked = bookingRepository.lockWaitingStartedBefore(startedBefore, properties.getBatchSize());
+        if (locked.isEmpty()) return new Batch(0, 0);
+        // a lock that waited for an owner deciding the booking may still return it
+        var ids = bookingRepository.findIdsByIdInAndStatus(locked, BookingStatus.WAITING);
+        var rejected = ids.isEmpty() ? 0 : bookingRepository.updateStatus(ids, BookingStatus.WAITING,
+                BookingStatus.REJECTED);
+        for (var id : ids) {
+            outbox.publish(OutboxEventType.BOOKING_EXPIRED, id, Map.of("id", id));
+        }
+        // the bookers and owners are not read, their lists go together
+        if (rejected > 0) bookingListCache.clear();
+        expired.increment(rejected);
+        return new Batch(locked.size(), rejected);
+    }
+
+    @RequiredArgsConstructor
+    private static class Batch {
+        private final int locked;
+        private final int rejected;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.expiry;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "shareit.booking.expiry")
+public class BookingExpiryProperties {
+
+    /**
+     * Rejects the bookings still waiting for the owner {@code gracePeriod} after they should have started.
+     */
+    private boolean enabled = true;
+    private Duration gracePeriod = Duration.ofHours(1);
+    /**
+     * Bookings rejected per transaction, which locks them until it commits.
+     */
+    @Min(1)
+    private int batchSize = 500;
+    private Duration interval = Duration.ofMinutes(5);
+}
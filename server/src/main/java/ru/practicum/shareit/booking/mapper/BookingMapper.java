@@ -4,10 +4,15 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemBookingSummaryDto;
+import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.ItemBookingCounts;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.EnumMap;
 import java.util.List;
 
 @Mapper(componentModel = "spring")
@@ -21,4 +26,19 @@ public interface BookingMapper {
     BookingDto toDto(Booking booking);
 
     List<BookingDto> toDto(List<Booking> bookings);
+
+    default ItemBookingSummaryDto toSummaryDto(ItemBookingCounts itemCounts) {
+        var counts = new EnumMap<BookingState, Long>(BookingState.class);
+        counts.put(BookingState.ALL, itemCounts.getAll());
+        counts.put(BookingState.CURRENT, itemCounts.getCurrent());
+        counts.put(BookingState.PAST, itemCounts.getPast());
+        counts.put(BookingState.FUTURE, itemCounts.getFuture());
+        counts.put(BookingState.WAITING, itemCounts.getWaiting());
+        counts.put(BookingState.REJECTED, itemCounts.getRejected());
+        return ItemBookingSummaryDto.builder()
+                .item(new ItemShortDto(itemCounts.getItemId(), itemCounts.getItemName()))
+                .counts(counts)
+                .nextStart(itemCounts.getNextStart())
+                .build();
+    }
 }
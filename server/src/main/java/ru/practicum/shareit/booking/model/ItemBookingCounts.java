@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * The bookings of an item counted by {@link ru.practicum.shareit.booking.enums.BookingState}, and the start of
+ * its next booking not rejected.
+ */
+@Data
+@AllArgsConstructor
+public class ItemBookingCounts {
+    private Long itemId;
+    private String itemName;
+    private Long all;
+    private Long current;
+    private Long past;
+    private Long future;
+    private Long waiting;
+    private Long rejected;
+    private LocalDateTime nextStart;
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.partition;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(BookingPartitionProperties.class)
+@ConditionalOnProperty(prefix = "shareit.booking.partitions", name = "enabled", matchIfMissing = false)
+public class BookingPartitionConfig {
+
+    @Bean
+    public BookingPartitionManager bookingPartitionManager(JdbcTemplate jdbcTemplate,
+                                                           PlatformTransactionManager transactionManager,
+                                                           TaskScheduler taskScheduler,
+                                                           BookingPartitionProperties properties,
+                                                           Clock clock) {
+        return new BookingPartitionManager(jdbcTemplate, new TransactionTemplate(transactionManager), taskScheduler,
+                properties, clock);
+    }
+}
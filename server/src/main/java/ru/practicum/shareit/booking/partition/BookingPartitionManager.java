@@ -0,0 +1,173 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.booking.partition.BookingPartitions.DEFAULT_PARTITION;
+import static ru.practicum.shareit.booking.partition.BookingPartitions.TABLE;
+
+/**
+ * Keeps {@code booking} range partitioned by month of {@code end_booking} on PostgreSQL: converts the plain table
+ * created by {@code schema.sql}, creates the partitions of the coming months and moves the partitions of old
+ * bookings to the archive schema, where the application no longer reads them.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BookingPartitionManager {
+
+    private static final String CREATE_PARTITIONED_TABLE = "CREATE TABLE booking (" +
+            " id bigint NOT NULL DEFAULT nextval('booking_seq')," +
+            " booker_id bigint NOT NULL REFERENCES users(id) ON DELETE CASCADE," +
+            " item_id bigint NOT NULL REFERENCES items(id) ON DELETE CASCADE," +
+            " status varchar(50) NOT NULL," +
+            " start_booking timestamp NOT NULL," +
+            " end_booking timestamp NOT NULL," +
+            " CONSTRAINT booking_partitioned_pkey PRIMARY KEY (id, end_booking)" +
+            ") PARTITION BY RANGE (end_booking)";
+    private static final String PARTITIONS = "SELECT c.relname FROM pg_inherits i" +
+            " JOIN pg_class c ON c.oid = i.inhrelid" +
+            " JOIN pg_class p ON p.oid = i.inhparent" +
+            " JOIN pg_namespace n ON n.oid = p.relnamespace" +
+            " WHERE p.relname = ? AND n.nspname = current_schema()";
+    private static final String RELKIND = "SELECT c.relkind FROM pg_class c" +
+            " JOIN pg_namespace n ON n.oid = c.relnamespace" +
+            " WHERE c.relname = ? AND n.nspname = current_schema()";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final BookingPartitionProperties properties;
+    private final Clock clock;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        var database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            log.info("Booking partitioning needs PostgreSQL, {} keeps the plain table", database);
+            return;
+        }
+        taskScheduler.scheduleWithFixedDelay(this::maintain, properties.getMaintenanceInterval());
+    }
+
+    public void maintain() {
+        var current = YearMonth.now(clock);
+        try {
+            partition(current);
+            createPartitions(current);
+            archive(current);
+        } catch (DataAccessException e) {
+            log.error("Booking partition maintenance failed", e);
+        }
+    }
+
+    private void partition(YearMonth current) {
+        var relkind = jdbcTemplate.queryForObject(RELKIND, String.class, TABLE);
+        if (!"r".equals(relkind)) return;
+        transactionTemplate.executeWithoutResult(status -> {
+            log.info("Partitioning {} by end_booking", TABLE);
+            jdbcTemplate.execute("ALTER TABLE booking RENAME TO booking_unpartitioned");
+            jdbcTemplate.execute("ALTER INDEX IF EXISTS booking_item_booker_idx" +
+                    " RENAME TO booking_unpartitioned_item_booker_idx");
+            jdbcTemplate.execute("ALTER INDEX IF EXISTS booking_status_start_idx" +
+                    " RENAME TO booking_unpartitioned_status_start_idx");
+            jdbcTemplate.execute("ALTER INDEX IF EXISTS booking_item_status_end_idx" +
+                    " RENAME TO booking_unpartitioned_item_status_end_idx");
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS booking_seq");
+            jdbcTemplate.execute(CREATE_PARTITIONED_TABLE);
+            jdbcTemplate.execute("ALTER SEQUENCE booking_seq OWNED BY booking.id");
+            jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF booking DEFAULT");
+            jdbcTemplate.execute("CREATE INDEX booking_booker_end_idx ON booking (booker_id, end_booking)");
+            jdbcTemplate.execute("CREATE INDEX booking_item_end_idx ON booking (item_id, end_booking)");
+            jdbcTemplate.execute("CREATE INDEX booking_item_booker_idx ON booking" +
+                    " (item_id, booker_id, status, end_booking)");
+            jdbcTemplate.execute("CREATE INDEX booking_status_start_idx ON booking (status, start_booking)");
+            jdbcTemplate.execute("CREATE INDEX booking_item_status_end_idx ON booking" +
+                    " (item_id, status, end_booking, start_booking)");
+
+            var firstEnd = jdbcTemplate.queryForObject("SELECT min(end_booking) FROM booking_unpartitioned",
+                    LocalDateTime.class);
+            var first = firstEnd == null ? current : min(YearMonth.from(firstEnd), current);
+            for (var month : BookingPartitions.months(first, current.plusMonths(properties.getPremadeMonths()))) {
+                jdbcTemplate.execute("CREATE TABLE " + BookingPartitions.name(month) + " PARTITION OF booking" +
+                        " FOR VALUES " + BookingPartitions.bounds(month));
+            }
+            var rows = jdbcTemplate.update("INSERT INTO booking" +
+                    " SELECT id, booker_id, item_id, status, start_booking, end_booking FROM booking_unpartitioned");
+            jdbcTemplate.queryForObject("SELECT setval('booking_seq', (SELECT coalesce(max(id), 0) + 1 FROM booking)," +
+                    " false)", Long.class);
+            jdbcTemplate.execute("DROP TABLE booking_unpartitioned");
+            log.info("Partitioned {}: {} rows moved", TABLE, rows);
+        });
+    }
+
+    private void createPartitions(YearMonth current) {
+        var existing = partitions();
+        for (var month : BookingPartitions.months(current, current.plusMonths(properties.getPremadeMonths()))) {
+            var name = BookingPartitions.name(month);
+            if (existing.contains(name)) continue;
+            var from = month.atDay(1).atStartOfDay();
+            var to = month.plusMonths(1).atDay(1).atStartOfDay();
+            transactionTemplate.executeWithoutResult(status -> {
+                // bookings of the month may already sit in the default partition, which must not overlap
+                jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE booking INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+                // one statement, so a booking committed meanwhile is either moved or left in place, never dropped
+                var moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION +
+                        " WHERE end_booking >= ? AND end_booking < ? RETURNING *)" +
+                        " INSERT INTO " + name + " SELECT * FROM moved", from, to);
+                jdbcTemplate.execute("ALTER TABLE booking ATTACH PARTITION " + name + " FOR VALUES " +
+                        BookingPartitions.bounds(month));
+                log.info("Created partition {}, {} rows moved from {}", name, moved, DEFAULT_PARTITION);
+            });
+        }
+    }
+
+    private void archive(YearMonth current) {
+        var archivable = partitions().stream()
+                .map(BookingPartitions::month)
+                .flatMap(Optional::stream)
+                .filter(month -> BookingPartitions.isArchivable(month, current, properties.getArchiveAfterMonths()))
+                .sorted()
+                .collect(Collectors.toList());
+        if (archivable.isEmpty()) return;
+        var schema = properties.getArchiveSchema();
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+        for (var month : archivable) {
+            var name = BookingPartitions.name(month);
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("ALTER TABLE booking DETACH PARTITION " + name);
+                jdbcTemplate.execute("ALTER TABLE " + name + " SET SCHEMA " + schema);
+                if (properties.getArchiveTablespace() != null) {
+                    jdbcTemplate.execute("ALTER TABLE " + schema + "." + name + " SET TABLESPACE " +
+                            properties.getArchiveTablespace());
+                }
+            });
+            log.info("Archived partition {} to schema {}", name, schema);
+        }
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(PARTITIONS, String.class, TABLE).stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static YearMonth min(YearMonth first, YearMonth second) {
+        return first.isBefore(second) ? first : second;
+    }
+}
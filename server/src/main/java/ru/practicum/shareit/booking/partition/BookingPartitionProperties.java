@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking.partition;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Pattern;
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "shareit.booking.partitions")
+public class BookingPartitionProperties {
+
+    /**
+     * Partitions {@code booking} by month of {@code end_booking} on PostgreSQL and maintains the partitions.
+     * Other databases keep the plain table. Off unless set, since the conversion rewrites the table and its
+     * primary key.
+     */
+    private boolean enabled;
+    /**
+     * Months after the current one to create partitions for. Later bookings go to the default partition until
+     * their month gets its own.
+     */
+    @Min(1)
+    private int premadeMonths = 3;
+    /**
+     * Partitions of bookings that ended this many months before the current one are detached and moved to
+     * {@code archiveSchema}; 0 keeps all of them.
+     */
+    @Min(0)
+    private int archiveAfterMonths = 12;
+    @Pattern(regexp = "[a-z_][a-z0-9_]*")
+    private String archiveSchema = "booking_archive";
+    /**
+     * Tablespace on cold storage for the archived partitions, if any.
+     */
+    @Pattern(regexp = "[a-z_][a-z0-9_]*")
+    private String archiveTablespace;
+    private Duration maintenanceInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.booking.partition;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Naming and bounds of the monthly {@code booking} partitions: {@code booking_p2024_01} holds the bookings
+ * ending in January 2024.
+ */
+final class BookingPartitions {
+
+    static final String TABLE = "booking";
+    static final String DEFAULT_PARTITION = "booking_default";
+
+    private static final Pattern NAME = Pattern.compile("booking_p(\\d{4})_(\\d{2})");
+
+    private BookingPartitions() {
+    }
+
+    static String name(YearMonth month) {
+        return String.format("booking_p%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    static Optional<YearMonth> month(String partition) {
+        var matcher = NAME.matcher(partition);
+        if (!matcher.matches()) return Optional.empty();
+        return Optional.of(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+
+    static List<YearMonth> months(YearMonth from, YearMonth to) {
+        List<YearMonth> months = new ArrayList<>();
+        for (var month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+
+    /**
+     * Whether all bookings of the partition ended at least {@code archiveAfterMonths} months before
+     * the current month started.
+     */
+    static boolean isArchivable(YearMonth partition, YearMonth current, int archiveAfterMonths) {
+        return archiveAfterMonths > 0 && partition.isBefore(current.minusMonths(archiveAfterMonths));
+    }
+
+    static String bounds(YearMonth month) {
+        return String.format("FROM ('%s') TO ('%s')", month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+}
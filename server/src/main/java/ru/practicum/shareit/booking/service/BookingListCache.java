@@ -0,0 +1,151 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.OwnerBookingSummaryDto;
+import ru.practicum.shareit.booking.enums.BookingState;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Booking list pages and owner summaries per server instance, for the users who booked or own the listed items.
+ * Pages are computed for the start of the current time bucket, so a cached page is the one a query at that moment
+ * returns; it may show a booking as current, future or past up to a bucket late. A booking or an item written for
+ * a user evicts the user's pages once the transaction completes, and pages loaded while an eviction happened are
+ * not kept. When full, an arbitrary user makes room; a size of 0 disables the cache and pages are computed for
+ * the current moment.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingListCache {
+
+    enum Role {
+        BOOKER, OWNER
+    }
+
+    private final Map<Long, UserPages> cache = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+    private final Clock clock;
+    @Value("${shareit.bookings.list-cache.size:0}")
+    private final int maxSize;
+    @Value("${shareit.bookings.list-cache.time-bucket:1m}")
+    private final Duration timeBucket;
+
+    public Slice<BookingDto> get(Role role, long userId, BookingState state, Pageable pageable,
+                                 Function<LocalDateTime, Slice<BookingDto>> loader) {
+        var key = new PageKey(role, state, pageable);
+        return get(userId, pages -> pages.page(key), loader);
+    }
+
+    public OwnerBookingSummaryDto getOwnerSummary(long ownerId,
+                                                  Function<LocalDateTime, OwnerBookingSummaryDto> loader) {
+        return get(ownerId, UserPages::getOwnerSummary, loader);
+    }
+
+    /**
+     * The entry of the user held by the reference that {@code entry} selects among the user's pages.
+     */
+    private <T> T get(long userId, Function<UserPages, AtomicReference<T>> entry, Function<LocalDateTime, T> loader) {
+        if (maxSize <= 0 || timeBucket.isZero()) return loader.apply(LocalDateTime.now(clock));
+        var bucketMillis = timeBucket.toMillis();
+        var bucket = Math.floorDiv(clock.millis(), bucketMillis) * bucketMillis;
+        var pages = cache.get(userId);
+        if (pages != null && pages.bucket == bucket) {
+            var page = entry.apply(pages).get();
+            if (page != null) return page;
+        }
+        var generation = evictions.get();
+        var page = loader.apply(LocalDateTime.ofInstant(Instant.ofEpochMilli(bucket), clock.getZone()));
+        if (evictions.get() == generation) {
+            if (pages == null || pages.bucket != bucket) {
+                makeRoom();
+                pages = cache.merge(userId, new UserPages(bucket),
+                        (old, created) -> old.bucket == bucket ? old : created);
+            }
+            var cached = entry.apply(pages);
+            cached.set(page);
+            // an eviction counted before this check may have run its removal before the set
+            if (evictions.get() != generation) {
+                cached.compareAndSet(page, null);
+            }
+        }
+        return page;
+    }
+
+    public void evict(long... userIds) {
+        remove(userIds);
+        afterCompletion(() -> remove(userIds));
+    }
+
+    public void clear() {
+        removeAll();
+        afterCompletion(this::removeAll);
+    }
+
+    private void remove(long... userIds) {
+        evictions.incrementAndGet();
+        for (var userId : userIds) {
+            cache.remove(userId);
+        }
+    }
+
+    private void removeAll() {
+        evictions.incrementAndGet();
+        cache.clear();
+    }
+
+    private void makeRoom() {
+        if (cache.size() < maxSize) return;
+        var iterator = cache.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static void afterCompletion(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                eviction.run();
+            }
+        });
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class PageKey {
+        private final Role role;
+        private final BookingState state;
+        private final Pageable pageable;
+    }
+
+    @RequiredArgsConstructor
+    private static class UserPages {
+        private final long bucket;
+        private final Map<PageKey, AtomicReference<Slice<BookingDto>>> pages = new ConcurrentHashMap<>();
+        @Getter
+        private final AtomicReference<OwnerBookingSummaryDto> ownerSummary = new AtomicReference<>();
+
+        AtomicReference<Slice<BookingDto>> page(PageKey key) {
+            return pages.computeIfAbsent(key, k -> new AtomicReference<>());
+        }
+    }
+}
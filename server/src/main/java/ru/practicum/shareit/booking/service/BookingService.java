@@ -1,11 +1,13 @@
 package ru.practicum.shareit.booking.service;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.OwnerBookingSummaryDto;
 import ru.practicum.shareit.booking.enums.BookingState;
 
-import java.util.List;
+import java.util.OptionalLong;
 
 public interface BookingService {
 
@@ -15,7 +17,20 @@ public interface BookingService {
 
     BookingDto updateStatus(long id, Long ownerId, boolean approved);
 
-    List<BookingDto> findAllForUser(Long bookerId, BookingState state, Pageable pageable);
+    Slice<BookingDto> findAllForUser(Long bookerId, BookingState state, Pageable pageable);
 
-    List<BookingDto> findAllForOwner(Long ownerId, BookingState state, Pageable pageable);
+    Slice<BookingDto> findAllForOwner(Long ownerId, BookingState state, Pageable pageable);
+
+    /**
+     * Number of bookings {@link #findAllForUser} would page through as estimated by the database planner,
+     * without counting them; empty when estimates are disabled or the database gives none.
+     */
+    OptionalLong estimateTotalForUser(long bookerId, BookingState state);
+
+    OptionalLong estimateTotalForOwner(long ownerId, BookingState state);
+
+    /**
+     * The bookings of the owner's items counted by state, overall and per item, and the next booking of each item.
+     */
+    OwnerBookingSummaryDto summarizeForOwner(long ownerId);
 }
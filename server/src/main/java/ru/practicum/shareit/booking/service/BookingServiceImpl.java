@@ -1,12 +1,17 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemBookingSummaryDto;
+import ru.practicum.shareit.booking.dto.OwnerBookingSummaryDto;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
@@ -15,11 +20,20 @@ import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ErrorMessages;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.outbox.Outbox;
+import ru.practicum.shareit.outbox.OutboxEventType;
 import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.util.PlannerRowEstimator;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +43,14 @@ public class BookingServiceImpl implements BookingService {
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
+    private final Outbox outbox;
+    private final PlannerRowEstimator plannerRowEstimator;
+    private final BookingListCache bookingListCache;
+    private final Clock clock;
+    @Value("${shareit.bookings.total-estimates:false}")
+    private final boolean totalEstimates;
+    @Value("${shareit.bookings.summary.upcoming:10}")
+    private final int summaryUpcoming;
 
     @Override
     @Transactional
@@ -45,7 +67,10 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException(ErrorMessages.BOOKER_CANNOT_BE_OWNER.getMessage());
         }
         var booking = bookingMapper.toModel(bookingCreateDto, user, item);
-        return bookingMapper.toDto(bookingRepository.save(booking));
+        var bookingDto = bookingMapper.toDto(bookingRepository.save(booking));
+        outbox.publish(OutboxEventType.BOOKING_CREATED, bookingDto.getId(), bookingDto);
+        bookingListCache.evict(userId, item.getOwner().getId());
+        return bookingDto;
     }
 
     @Override
@@ -64,70 +89,159 @@ public class BookingServiceImpl implements BookingService {
         if (BookingStatus.APPROVED.equals(booking.getStatus())) {
             throw new AccessDeniedException(ErrorMessages.STATUS_APPROVED.getMessage());
         }
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        bookingRepository.save(booking);
-        return bookingMapper.toDto(booking);
+        var status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        // a booking rejected by the owner or by the expiry job, even one committing meanwhile, stays rejected
+        if (bookingRepository.updateStatus(List.of(id), BookingStatus.WAITING, status) == 0) {
+            throw new AccessDeniedException(ErrorMessages.STATUS_DECIDED.getMessage());
+        }
+        booking.setStatus(status);
+        var bookingDto = bookingMapper.toDto(booking);
+        if (approved) {
+            itemRepository.addApprovedBooking(booking.getItem().getId(), booking.getStart());
+        }
+        outbox.publish(OutboxEventType.BOOKING_STATUS_CHANGED, id, bookingDto);
+        bookingListCache.evict(booking.getBooker().getId(), ownerId);
+        return bookingDto;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingDto> findAllForUser(Long bookerId, BookingState state, Pageable pageable) {
+    public Slice<BookingDto> findAllForUser(Long bookerId, BookingState state, Pageable pageable) {
         userRepository.findById(bookerId)
                 .orElseThrow(() -> new NotFoundException(ErrorMessages.USER_NOT_FOUND.getFormatMessage(bookerId)));
-        List<Booking> result = Collections.emptyList();
-            switch (state) {
-                case ALL:
-                    result = bookingRepository.findAllByBookerId(bookerId, pageable);
-                    break;
-                case CURRENT:
-                    result = bookingRepository.findAllByBookerCurrent(bookerId, LocalDateTime.now(), pageable);
-                    break;
-                case REJECTED:
-                    result = bookingRepository.findAllByBookerIdAndStatus(bookerId, BookingStatus.REJECTED, pageable);
-                    break;
-                case WAITING:
-                    result = bookingRepository.findAllByBookerIdAndStatus(bookerId, BookingStatus.WAITING, pageable);
-                    break;
-                case FUTURE:
-                    result = bookingRepository.findAllByBookerIdAndStartAfter(bookerId, LocalDateTime.now(), pageable);
-                    break;
-                case PAST:
-                    result = bookingRepository.findAllByBookerIdAndEndBefore(bookerId, LocalDateTime.now(), pageable);
-                    break;
-            }
-            return bookingMapper.toDto(result);
+        return bookingListCache.get(BookingListCache.Role.BOOKER, bookerId, state, pageable,
+                now -> findBookerBookings(bookerId, state, now, pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingDto> findAllForOwner(Long ownerId, BookingState state, Pageable pageable) {
+    public Slice<BookingDto> findAllForOwner(Long ownerId, BookingState state, Pageable pageable) {
         userRepository.findById(ownerId)
                 .orElseThrow(() -> new NotFoundException(ErrorMessages.USER_NOT_FOUND.getFormatMessage(ownerId)));
+        return bookingListCache.get(BookingListCache.Role.OWNER, ownerId, state, pageable,
+                now -> findOwnerBookings(ownerId, state, now, pageable));
+    }
+
+    @Override
+    public OptionalLong estimateTotalForUser(long bookerId, BookingState state) {
+        return estimateTotal("SELECT 1 FROM booking b WHERE b.booker_id = ?", bookerId, state);
+    }
+
+    @Override
+    public OptionalLong estimateTotalForOwner(long ownerId, BookingState state) {
+        return estimateTotal("SELECT 1 FROM booking b JOIN items i ON i.id = b.item_id WHERE i.user_id = ?",
+                ownerId, state);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OwnerBookingSummaryDto summarizeForOwner(long ownerId) {
+        userRepository.findById(ownerId)
+                .orElseThrow(() -> new NotFoundException(ErrorMessages.USER_NOT_FOUND.getFormatMessage(ownerId)));
+        return bookingListCache.getOwnerSummary(ownerId, now -> summarize(ownerId, now));
+    }
+
+    private OwnerBookingSummaryDto summarize(long ownerId, LocalDateTime now) {
+        var items = bookingRepository.countByItemOwnerId(ownerId, now).stream()
+                .map(bookingMapper::toSummaryDto)
+                .collect(Collectors.toList());
+        var counts = new EnumMap<BookingState, Long>(BookingState.class);
+        for (var state : BookingState.values()) {
+            counts.put(state, 0L);
+        }
+        for (var item : items) {
+            item.getCounts().forEach((state, count) -> counts.merge(state, count, Long::sum));
+        }
+        var upcoming = items.stream()
+                .filter(item -> item.getNextStart() != null)
+                .sorted(Comparator.comparing(ItemBookingSummaryDto::getNextStart))
+                .limit(summaryUpcoming)
+                .collect(Collectors.toList());
+        return OwnerBookingSummaryDto.builder()
+                .counts(counts)
+                .items(items)
+                .upcoming(upcoming)
+                .build();
+    }
+
+    private OptionalLong estimateTotal(String sql, long userId, BookingState state) {
+        if (!totalEstimates) return OptionalLong.empty();
+        List<Object> args = new ArrayList<>(List.of(userId));
+        var now = LocalDateTime.now(clock);
+        switch (state) {
+            case CURRENT:
+                sql += " AND ? BETWEEN b.start_booking AND b.end_booking";
+                args.add(now);
+                break;
+            case REJECTED:
+            case WAITING:
+                sql += " AND b.status = ?";
+                args.add(state.name());
+                break;
+            case FUTURE:
+                sql += " AND b.start_booking > ? AND b.end_booking > ?";
+                args.add(now);
+                args.add(now);
+                break;
+            case PAST:
+                sql += " AND b.end_booking < ?";
+                args.add(now);
+                break;
+            default:
+                break;
+        }
+        return plannerRowEstimator.estimate(sql, args.toArray());
+    }
+
+    private Slice<BookingDto> findBookerBookings(long bookerId, BookingState state, LocalDateTime now,
+                                                 Pageable pageable) {
+        Slice<Booking> result = new SliceImpl<>(Collections.emptyList());
+        switch (state) {
+            case ALL:
+                result = bookingRepository.findAllByBookerId(bookerId, pageable);
+                break;
+            case CURRENT:
+                result = bookingRepository.findAllByBookerCurrent(bookerId, now, pageable);
+                break;
+            case REJECTED:
+                result = bookingRepository.findAllByBookerIdAndStatus(bookerId, BookingStatus.REJECTED, pageable);
+                break;
+            case WAITING:
+                result = bookingRepository.findAllByBookerIdAndStatus(bookerId, BookingStatus.WAITING, pageable);
+                break;
+            case FUTURE:
+                result = bookingRepository.findAllByBookerIdAndStartAfter(bookerId, now, pageable);
+                break;
+            case PAST:
+                result = bookingRepository.findAllByBookerIdAndEndBefore(bookerId, now, pageable);
+                break;
+        }
+        return result.map(bookingMapper::toDto);
+    }
 
-        List<Booking> result = Collections.emptyList();
+    private Slice<BookingDto> findOwnerBookings(long ownerId, BookingState state, LocalDateTime now,
+                                                Pageable pageable) {
+        Slice<Booking> result = new SliceImpl<>(Collections.emptyList());
         switch (state) {
             case ALL:
                 result = bookingRepository.findAllByItemOwnerId(ownerId, pageable);
                 break;
             case CURRENT:
-                result = bookingRepository.findAllByItemOwnerCurrent(ownerId, LocalDateTime.now(), pageable);
+                result = bookingRepository.findAllByItemOwnerCurrent(ownerId, now, pageable);
                 break;
             case REJECTED:
-                result = bookingRepository.findAllByItemOwnerIdAndStatus(ownerId, BookingStatus.REJECTED,
-                        pageable);
+                result = bookingRepository.findAllByItemOwnerIdAndStatus(ownerId, BookingStatus.REJECTED, pageable);
                 break;
             case WAITING:
                 result = bookingRepository.findAllByItemOwnerIdAndStatus(ownerId, BookingStatus.WAITING, pageable);
                 break;
             case FUTURE:
-                result = bookingRepository.findAllByItemOwnerIdAndStartAfter(ownerId, LocalDateTime.now(),
-                        pageable);
+                result = bookingRepository.findAllByItemOwnerIdAndStartAfter(ownerId, now, pageable);
                 break;
             case PAST:
-                result = bookingRepository.findAllByItemOwnerIdAndEndBefore(ownerId, LocalDateTime.now(),
-                        pageable);
+                result = bookingRepository.findAllByItemOwnerIdAndEndBefore(ownerId, now, pageable);
                 break;
         }
-        return bookingMapper.toDto(result);
+        return result.map(bookingMapper::toDto);
     }
 }
\ No newline at end of file
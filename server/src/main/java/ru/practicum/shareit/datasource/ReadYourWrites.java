@@ -0,0 +1,49 @@
+package ru.practicum.shareit.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the users who committed a write within the last {@code window}, so that their next reads see it
+ * even if the replicas haven't replayed it yet.
+ */
+public class ReadYourWrites {
+
+    private final ThreadLocal<Long> currentUser = new ThreadLocal<>();
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWrites(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public Long getCurrentUser() {
+        return currentUser.get();
+    }
+
+    public void setCurrentUser(Long userId) {
+        if (userId == null) {
+            currentUser.remove();
+        } else {
+            currentUser.set(userId);
+        }
+    }
+
+    public void written(long userId) {
+        lastWrites.put(userId, System.nanoTime());
+    }
+
+    public boolean isRecent(long userId) {
+        var lastWrite = lastWrites.get(userId);
+        if (lastWrite == null) return false;
+        if (System.nanoTime() - lastWrite < windowNanos) return true;
+        lastWrites.remove(userId, lastWrite);
+        return false;
+    }
+
+    void purge() {
+        var now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+}
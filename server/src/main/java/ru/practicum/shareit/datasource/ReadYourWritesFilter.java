@@ -0,0 +1,42 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Binds the {@code X-Sharer-User-Id} of the request to the thread for {@link ReadYourWrites}.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+
+    private final ReadYourWrites readYourWrites;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        readYourWrites.setCurrentUser(userId(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            readYourWrites.setCurrentUser(null);
+        }
+    }
+
+    private Long userId(HttpServletRequest request) {
+        var header = request.getHeader(HEADER_USER_ID);
+        if (header == null) return null;
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
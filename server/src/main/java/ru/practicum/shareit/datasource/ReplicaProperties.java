@@ -0,0 +1,46 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.datasource")
+public class ReplicaProperties {
+
+    /**
+     * Read replicas of {@code spring.datasource}. Read-only transactions are spread over them; without replicas
+     * everything goes to the primary.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+    /**
+     * Replicas lagging further behind the primary are skipped until they catch up.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+    /**
+     * Query run on a replica returning its lag in seconds. The default suits PostgreSQL streaming replication.
+     */
+    private String lagQuery = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0" +
+            " else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+    /**
+     * How long the reads of a user, identified by {@code X-Sharer-User-Id}, stay on the primary after they
+     * committed a write.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        /**
+         * Defaults to the size of the primary pool.
+         */
+        private Integer maximumPoolSize;
+    }
+}
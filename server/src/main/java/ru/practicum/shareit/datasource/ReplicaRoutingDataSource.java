@@ -0,0 +1,171 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Sends read-only transactions to the replicas in turn and everything else to the primary. A replica is skipped
+ * while its lag exceeds {@code maxLag} or the lag can't be checked, and users who just wrote read from
+ * the primary for the {@link ReadYourWrites} window. Until their first check, replicas are not used.
+ * <p>
+ * The connection must be looked up once the transaction has started, so this data source is used behind
+ * a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWrites readYourWrites;
+    private final long maxLagMillis;
+    private final String lagQuery;
+    private final long lagCheckIntervalMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "replica-lag-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    ReadYourWrites readYourWrites, ReplicaProperties properties) {
+        this.primary = primary;
+        this.replicas = replicas.stream()
+                .map(Replica::new)
+                .collect(Collectors.toList());
+        this.readYourWrites = readYourWrites;
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+        this.lagQuery = properties.getLagQuery();
+        this.lagCheckIntervalMillis = properties.getLagCheckInterval().toMillis();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        this.replicas.forEach(replica -> targets.put(replica.getName(), replica.dataSource));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        scheduler.scheduleWithFixedDelay(this::checkLag, 0, lagCheckIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) return PRIMARY;
+        var userId = readYourWrites.getCurrentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWrites.written(userId);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (userId != null && readYourWrites.isRecent(userId)) return PRIMARY;
+        var replica = nextAvailable();
+        return replica == null ? PRIMARY : replica.getName();
+    }
+
+    public List<HikariDataSource> getPools() {
+        List<HikariDataSource> pools = new ArrayList<>();
+        pools.add(primary);
+        replicas.forEach(replica -> pools.add(replica.dataSource));
+        return pools;
+    }
+
+    List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    void checkLag() {
+        for (var replica : replicas) {
+            replica.check();
+        }
+        readYourWrites.purge();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+
+    private Replica nextAvailable() {
+        var size = replicas.size();
+        var start = Math.floorMod(next.getAndIncrement(), size);
+        for (var i = 0; i < size; i++) {
+            var replica = replicas.get((start + i) % size);
+            if (replica.available) return replica;
+        }
+        return null;
+    }
+
+    class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean available;
+        private volatile Duration lag;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        String getName() {
+            return dataSource.getPoolName();
+        }
+
+        boolean isAvailable() {
+            return available;
+        }
+
+        Duration getLag() {
+            return lag;
+        }
+
+        private void check() {
+            var wasAvailable = available;
+            try (var connection = dataSource.getConnection();
+                 var statement = connection.createStatement();
+                 var resultSet = statement.executeQuery(lagQuery)) {
+                var seconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+                lag = Duration.ofMillis(Math.round(seconds * 1000));
+                available = lag.toMillis() <= maxLagMillis;
+                if (wasAvailable && !available) {
+                    log.warn("Replica {} is {} behind the primary, reading from the primary", getName(), lag);
+                }
+            } catch (Exception e) {
+                lag = null;
+                available = false;
+                if (wasAvailable) {
+                    log.warn("Replica {} is unavailable, reading from the primary", getName(), e);
+                }
+            }
+            if (!wasAvailable && available) {
+                log.info("Replica {} is available, lag {}", getName(), lag);
+            }
+        }
+    }
+}
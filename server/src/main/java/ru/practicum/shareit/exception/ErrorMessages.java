@@ -11,9 +11,18 @@ public enum ErrorMessages {
     BOOKING_NOT_FOUND("booking with id=%d not found"),
     BOOKER_CANNOT_BE_OWNER("booker cannot be a owner"),
     STATUS_APPROVED("status already approved"),
+    STATUS_DECIDED("booking is no longer waiting"),
     OWNER_UPDATE("only owner can update item"),
     OWNER_DELETE("only owner can delete item"),
-    REVIEW_WITHOUT_BOOKING("you cannot create a review without booking");
+    AUTHOR_SUGGESTIONS("only author can see suggestions for request"),
+    REVIEW_WITHOUT_BOOKING("you cannot create a review without booking"),
+    INVALID_CURSOR("invalid cursor: %s"),
+    INVALID_PAGE_SIZE("page size must be positive"),
+    INVALID_PAGE_FROM("page start must not be negative"),
+    INVALID_RANGE("range start must be before its end"),
+    INVALID_RADIUS("radius must be positive"),
+    INCOMPLETE_RANGE("range needs both a start and an end"),
+    INCOMPLETE_LOCATION("location needs both a latitude and a longitude");
 
     private final String message;
 
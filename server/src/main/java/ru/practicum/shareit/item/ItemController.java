@@ -2,17 +2,23 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.BusyIntervalDto;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.dto.NearbyItemDto;
+import ru.practicum.shareit.item.enums.ItemSort;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.logging.Logging;
 import ru.practicum.shareit.util.PageRequestWithOffset;
+import ru.practicum.shareit.util.SliceResponses;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -40,11 +46,12 @@ public class ItemController {
 
     @Logging
     @GetMapping
-    public List<ItemWithBookingsDto> getAll(@RequestHeader(HEADER_USER_ID) long userId,
-                                            @RequestParam int from,
-                                            @RequestParam int size) {
-        Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("id"));
-        return itemService.getAll(userId, pageable);
+    public ResponseEntity<List<ItemWithBookingsDto>> getAll(@RequestHeader(HEADER_USER_ID) long userId,
+                                                            @RequestParam int from,
+                                                            @RequestParam int size,
+                                                            @RequestParam(defaultValue = "ID") ItemSort sort) {
+        Pageable pageable = PageRequestWithOffset.of(from, size, sort.getSort());
+        return SliceResponses.of(itemService.getAll(userId, pageable));
     }
 
     @Logging
@@ -66,11 +73,30 @@ public class ItemController {
 
     @Logging
     @GetMapping("/search")
-    public List<ItemDto> search(@RequestParam String text,
-                                @RequestParam int from,
-                                @RequestParam int size) {
+    public ResponseEntity<List<ItemDto>> search(@RequestParam String text,
+                                                @RequestParam(required = false)
+                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                LocalDateTime availableFrom,
+                                                @RequestParam(required = false)
+                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                LocalDateTime availableTo,
+                                                @RequestParam int from,
+                                                @RequestParam int size,
+                                                @RequestParam(defaultValue = "ID") ItemSort sort) {
+        Pageable pageable = PageRequestWithOffset.of(from, size, sort.getSort());
+        return SliceResponses.of(itemService.search(text, availableFrom, availableTo, pageable));
+    }
+
+    @Logging
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyItemDto>> searchNearby(@RequestParam double latitude,
+                                                            @RequestParam double longitude,
+                                                            @RequestParam(required = false) Double radius,
+                                                            @RequestParam(required = false) String text,
+                                                            @RequestParam int from,
+                                                            @RequestParam int size) {
         Pageable pageable = PageRequestWithOffset.of(from, size);
-        return itemService.search(text, pageable);
+        return SliceResponses.of(itemService.searchNearby(latitude, longitude, radius, text, pageable));
     }
 
     @Logging
@@ -80,4 +106,22 @@ public class ItemController {
                                     @RequestBody CommentCreateDto commentCreateDto) {
         return itemService.createComment(userId, itemId, commentCreateDto);
     }
+
+    @Logging
+    @GetMapping("/{itemId}/comment")
+    public List<CommentDto> getComments(@PathVariable long itemId,
+                                        @RequestParam(required = false) Long beforeId,
+                                        @RequestParam(defaultValue = "10") int size) {
+        return itemService.findComments(itemId, beforeId, size);
+    }
+
+    @Logging
+    @GetMapping("/{id}/availability")
+    public List<BusyIntervalDto> getAvailability(@PathVariable long id,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime to) {
+        return itemService.findBusyIntervals(id, from, to);
+    }
 }
@@ -1,23 +1,35 @@
 package ru.practicum.shareit.item.dao;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.CommentShort;
+import ru.practicum.shareit.item.model.LatestCommentRow;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    @Query("select new ru.practicum.shareit.item.model.CommentShort(" +
-            "c.id, c.item.id, c.author.name, c.text, c.created) " +
-            "from Comment c " +
-            "where c.item.id in ?1")
-    List<CommentShort> findAllByItemIdIn(List<Long> items);
+    /**
+     * The latest {@code size} comments of each item, newest first. Comments are ranked on the {@code (item_id, id)}
+     * index alone, only the returned ones are read.
+     */
+    @Query(value = "SELECT c.id AS \"id\", c.item_id AS \"itemId\", u.name AS \"authorName\", c.text AS \"text\", " +
+            "c.created AS \"created\" " +
+            "FROM (SELECT id, row_number() OVER (PARTITION BY item_id ORDER BY id DESC) AS place " +
+            "FROM comments WHERE item_id IN (?1)) r " +
+            "JOIN comments c ON c.id = r.id " +
+            "JOIN users u ON u.id = c.author_id " +
+            "WHERE r.place <= ?2 " +
+            "ORDER BY c.item_id, c.id DESC", nativeQuery = true)
+    List<LatestCommentRow> findLatestByItemIdIn(Collection<Long> itemIds, int size);
 
     @Query("select new ru.practicum.shareit.item.model.CommentShort(" +
             "c.id, c.item.id, c.author.name, c.text, c.created) " +
             "from Comment c " +
-            "where c.item.id = ?1")
-    List<CommentShort> findAllByItemId(long itemId);
+            "where c.item.id = ?1 and c.id < ?2 " +
+            "order by c.id desc")
+    List<CommentShort> findAllByItemIdAndIdLessThan(long itemId, long beforeId, Pageable pageable);
 }
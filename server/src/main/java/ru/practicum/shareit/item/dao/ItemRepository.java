@@ -1,26 +1,148 @@
 package ru.practicum.shareit.item.dao;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    int GEOHASH_LENGTH = 12;
+
+    /**
+     * The haversine term of the distance between the item and {@code (:latitude, :longitude)}, growing with it.
+     */
+    String HAVERSINE = "(power(sin(radians(it.latitude - :latitude) / 2), 2)" +
+            " + :cosLatitude * cos(radians(it.latitude)) * power(sin(radians(it.longitude - :longitude) / 2), 2))";
+
     @Query("select it from Item as it" +
             " where it.available = true" +
             " and (lower(it.name) like lower(concat('%', ?1,'%'))" +
             " or lower(it.description) like lower(concat('%', ?1,'%')))")
-    List<Item> search(String text, Pageable pageable);
+    Slice<Item> search(String text, Pageable pageable);
+
+    /**
+     * Like {@link #search} but skips the items with an approved booking overlapping {@code [from, to)}.
+     */
+    @Query("select it from Item as it" +
+            " where it.available = true" +
+            " and (lower(it.name) like lower(concat('%', ?1,'%'))" +
+            " or lower(it.description) like lower(concat('%', ?1,'%')))" +
+            " and not exists (select b.id from Booking as b" +
+            " where b.item = it and b.status = 'APPROVED' and b.end > ?2 and b.start < ?3)")
+    Slice<Item> searchAvailable(String text, LocalDateTime from, LocalDateTime to, Pageable pageable);
 
-    List<Item> findAllByOwnerId(Long userId, Pageable pageable);
+    Slice<Item> findAllByOwnerId(Long userId, Pageable pageable);
+
+    /**
+     * Available items matching the text, or all of them for an empty text, located in one of the cells given as
+     * ranges {@code [lowN, highN]} of the {@code geohash} index and within {@code maxHaversine} of the location,
+     * nearest first. The distance is the haversine term, {@code cosLatitude} the cosine of the latitude.
+     */
+    @Query("select it from Item as it" +
+            " where it.available = true" +
+            " and (:text = '' or lower(it.name) like lower(concat('%', :text, '%'))" +
+            " or lower(it.description) like lower(concat('%', :text, '%')))" +
+            " and (it.geohash between :low0 and :high0" +
+            " or it.geohash between :low1 and :high1" +
+            " or it.geohash between :low2 and :high2" +
+            " or it.geohash between :low3 and :high3" +
+            " or it.geohash between :low4 and :high4" +
+            " or it.geohash between :low5 and :high5" +
+            " or it.geohash between :low6 and :high6" +
+            " or it.geohash between :low7 and :high7" +
+            " or it.geohash between :low8 and :high8)" +
+            " and " + HAVERSINE + " <= :maxHaversine" +
+            " order by " + HAVERSINE + ", it.id")
+    Slice<Item> findNearbyInRanges(@Param("text") String text,
+                                   @Param("low0") String low0, @Param("high0") String high0,
+                                   @Param("low1") String low1, @Param("high1") String high1,
+                                   @Param("low2") String low2, @Param("high2") String high2,
+                                   @Param("low3") String low3, @Param("high3") String high3,
+                                   @Param("low4") String low4, @Param("high4") String high4,
+                                   @Param("low5") String low5, @Param("high5") String high5,
+                                   @Param("low6") String low6, @Param("high6") String high6,
+                                   @Param("low7") String low7, @Param("high7") String high7,
+                                   @Param("low8") String low8, @Param("high8") String high8,
+                                   @Param("latitude") double latitude, @Param("longitude") double longitude,
+                                   @Param("cosLatitude") double cosLatitude, @Param("maxHaversine") double maxHaversine,
+                                   Pageable pageable);
+
+    /**
+     * Available items matching the text, or all of them for an empty text, located in one of at most 9 geohash
+     * cells and within {@code maxHaversine} of the location, nearest first.
+     */
+    default Slice<Item> findNearby(String text, List<String> cells, double latitude, double longitude,
+                                   double maxHaversine, Pageable pageable) {
+        var ranges = new String[18];
+        for (var i = 0; i < 9; i++) {
+            var cell = cells.get(Math.min(i, cells.size() - 1));
+            ranges[2 * i] = cell;
+            ranges[2 * i + 1] = cell + "z".repeat(GEOHASH_LENGTH - cell.length());
+        }
+        return findNearbyInRanges(text, ranges[0], ranges[1], ranges[2], ranges[3], ranges[4], ranges[5], ranges[6],
+                ranges[7], ranges[8], ranges[9], ranges[10], ranges[11], ranges[12], ranges[13], ranges[14], ranges[15],
+                ranges[16], ranges[17], latitude, longitude, Math.cos(Math.toRadians(latitude)), maxHaversine,
+                pageable);
+    }
 
     @EntityGraph("item-graph")
     List<Item> findAllByRequestId(long requestId);
 
     @EntityGraph("item-graph")
     List<Item> findAllByRequestIdIn(List<Long> requests);
+
+    /**
+     * Leaves the loaded item with its old count, the persistence context is kept for the new comment.
+     */
+    /**
+     * Reads the item and locks its row until the transaction ends, so its writers publish their changes in order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(long id);
+
+    @Modifying
+    @Query("update Item it set it.commentsCount = it.commentsCount + 1 where it.id = ?1")
+    void incrementCommentsCount(long itemId);
+
+    /**
+     * Takes the comments of the author off the counts of the commented items, before the author is deleted along
+     * with them.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE items i SET comments_count = comments_count - " +
+            "(SELECT count(*) FROM comments c WHERE c.item_id = i.id AND c.author_id = ?1) " +
+            "WHERE i.id IN (SELECT item_id FROM comments WHERE author_id = ?1)", nativeQuery = true)
+    void decrementCommentsCountByAuthor(long authorId);
+
+    /**
+     * Takes the approved bookings of the booker off the counts and latest starts of the booked items, before the
+     * booker is deleted along with them.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE items i SET bookings_count = bookings_count - " +
+            "(SELECT count(*) FROM booking b WHERE b.item_id = i.id AND b.booker_id = ?1 AND b.status = 'APPROVED'), " +
+            "last_booked_at = (SELECT max(b.start_booking) FROM booking b WHERE b.item_id = i.id " +
+            "AND b.booker_id <> ?1 AND b.status = 'APPROVED') " +
+            "WHERE i.id IN (SELECT item_id FROM booking WHERE booker_id = ?1 AND status = 'APPROVED')",
+            nativeQuery = true)
+    void removeApprovedBookingsByBooker(long bookerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Item it set it.bookingsCount = it.bookingsCount + 1," +
+            " it.lastBookedAt = case when it.lastBookedAt is null or it.lastBookedAt < ?2 then ?2" +
+            " else it.lastBookedAt end" +
+            " where it.id = ?1")
+    void addApprovedBooking(long itemId, LocalDateTime start);
 }
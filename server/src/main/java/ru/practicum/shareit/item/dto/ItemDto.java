@@ -15,4 +15,6 @@ public class ItemDto {
     private String description;
     private Boolean available;
     private Long requestId;
+    private Double latitude;
+    private Double longitude;
 }
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -17,7 +18,12 @@ public class ItemWithBookingsDto {
     private String name;
     private String description;
     private Boolean available;
+    private Double latitude;
+    private Double longitude;
     private BookingShortDto lastBooking;
     private BookingShortDto nextBooking;
     private List<CommentDto> comments;
+    private Long commentsCount;
+    private Long bookingsCount;
+    private LocalDateTime lastBookedAt;
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyItemDto {
+    private ItemDto item;
+    /**
+     * Great-circle distance from the searched location, in kilometres.
+     */
+    private double distance;
+}
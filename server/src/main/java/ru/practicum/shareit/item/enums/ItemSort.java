@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Orders of item lists, all on the aggregate columns of {@code items}: most commented, most booked or most
+ * recently booked first, never booked items last, then by {@code id}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ItemSort {
+    ID(Sort.by("id")),
+    COMMENTS(Sort.by(Sort.Direction.DESC, "commentsCount").and(Sort.by("id"))),
+    BOOKINGS(Sort.by(Sort.Direction.DESC, "bookingsCount").and(Sort.by("id"))),
+    LAST_BOOKED(Sort.by("neverBooked").and(Sort.by(Sort.Direction.DESC, "lastBookedAt")).and(Sort.by("id")));
+
+    private final Sort sort;
+}
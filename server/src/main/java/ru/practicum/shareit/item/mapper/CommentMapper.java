@@ -7,9 +7,11 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.CommentShort;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.LatestCommentRow;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface CommentMapper {
@@ -21,4 +23,8 @@ public interface CommentMapper {
     CommentDto toDto(Comment comment);
 
     CommentDto toDto(CommentShort comment);
+
+    List<CommentDto> toDto(List<CommentShort> comments);
+
+    CommentShort toShort(LatestCommentRow comment);
 }
@@ -2,10 +2,12 @@ package ru.practicum.shareit.item.model;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Formula;
 import ru.practicum.shareit.request.Request;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
+import java.time.LocalDateTime;
 
 @Entity
 @Getter
@@ -30,4 +32,25 @@ public class Item {
     private String description;
     @Column(nullable = false)
     private Boolean available;
+    private Double latitude;
+    private Double longitude;
+    /**
+     * Geohash of the location, set by the service whenever the location changes.
+     */
+    private String geohash;
+    /**
+     * Aggregates kept by {@code ItemRepository} updates in the transactions changing them, never written from
+     * the entity.
+     */
+    @Column(insertable = false, updatable = false)
+    private Long commentsCount;
+    @Column(insertable = false, updatable = false)
+    private Long bookingsCount;
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime lastBookedAt;
+    /**
+     * Sorts never booked items after the booked ones whatever the database null ordering.
+     */
+    @Formula("case when last_booked_at is null then 1 else 0 end")
+    private Integer neverBooked;
 }
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment among the latest ones of its item.
+ */
+public interface LatestCommentRow {
+
+    Long getId();
+
+    Long getItemId();
+
+    String getAuthorName();
+
+    String getText();
+
+    LocalDateTime getCreated();
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * The latest comments of an item, newest first.
+ */
+@Value
+public class LatestComments {
+
+    public static final LatestComments EMPTY = new LatestComments(List.of());
+
+    List<CommentShort> comments;
+}
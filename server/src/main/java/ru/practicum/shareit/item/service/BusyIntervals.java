@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.booking.model.BookingShort;
+import ru.practicum.shareit.item.dto.BusyIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BusyIntervals {
+
+    private BusyIntervals() {
+    }
+
+    /**
+     * Merges the overlapping and adjoining bookings, sorted by start, into the intervals they keep the item busy,
+     * clipped to {@code [from, to)}.
+     */
+    static List<BusyIntervalDto> merge(List<BookingShort> bookings, LocalDateTime from, LocalDateTime to) {
+        List<BusyIntervalDto> intervals = new ArrayList<>();
+        BusyIntervalDto last = null;
+        for (var booking : bookings) {
+            var start = booking.getStart().isBefore(from) ? from : booking.getStart();
+            var end = booking.getEnd().isAfter(to) ? to : booking.getEnd();
+            if (last != null && !start.isAfter(last.getEnd())) {
+                if (end.isAfter(last.getEnd())) last.setEnd(end);
+            } else {
+                last = new BusyIntervalDto(start, end);
+                intervals.add(last);
+            }
+        }
+        return intervals;
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Users known to be allowed to comment on an item, per server instance. An ended approved booking only stops
+ * counting when it is archived or deleted with its booker, so only positive answers are kept, each for
+ * {@code ttl}, which bounds how long such a change goes unnoticed. When full, an arbitrary entry makes room.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommentEligibilityCache {
+
+    private final Map<Key, Instant> eligible = new ConcurrentHashMap<>();
+    private final Clock clock;
+    @Value("${shareit.comments.eligibility-cache-size:100000}")
+    private final int maxSize;
+    @Value("${shareit.comments.eligibility-ttl:1h}")
+    private final Duration ttl;
+
+    public boolean isEligible(long userId, long itemId, BooleanSupplier check) {
+        var key = new Key(userId, itemId);
+        var now = clock.instant();
+        var expiresAt = eligible.get(key);
+        if (expiresAt != null) {
+            if (now.isBefore(expiresAt)) return true;
+            eligible.remove(key, expiresAt);
+        }
+        if (!check.getAsBoolean()) return false;
+        if (eligible.size() >= maxSize) {
+            var iterator = eligible.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        eligible.put(key, now.plus(ttl));
+        return true;
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final long userId;
+        private final long itemId;
+    }
+}
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dao.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohashes of item locations: a cell of {@code precision} characters shares its prefix with all the cells inside,
+ * so the items of a cell are a range of the {@code items.geohash} index.
+ */
+final class GeoHash {
+
+    static final int PRECISION = ItemRepository.GEOHASH_LENGTH;
+    static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double KM_PER_DEGREE = Math.toRadians(EARTH_RADIUS_KM);
+
+    private GeoHash() {
+    }
+
+    static String encode(double latitude, double longitude) {
+        return encode(latitude, longitude, PRECISION);
+    }
+
+    static String encode(double latitude, double longitude, int precision) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException(String.format("invalid location: %s, %s", latitude, longitude));
+        }
+        double minLatitude = -90;
+        double maxLatitude = 90;
+        double minLongitude = -180;
+        double maxLongitude = 180;
+        var hash = new StringBuilder(precision);
+        var even = true;
+        var bits = 0;
+        var value = 0;
+        while (hash.length() < precision) {
+            if (even) {
+                var middle = (minLongitude + maxLongitude) / 2;
+                value <<= 1;
+                if (longitude >= middle) {
+                    value |= 1;
+                    minLongitude = middle;
+                } else {
+                    maxLongitude = middle;
+                }
+            } else {
+                var middle = (minLatitude + maxLatitude) / 2;
+                value <<= 1;
+                if (latitude >= middle) {
+                    value |= 1;
+                    minLatitude = middle;
+                } else {
+                    maxLatitude = middle;
+                }
+            }
+            even = !even;
+            if (++bits == 5) {
+                hash.append(BASE32.charAt(value));
+                bits = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * The cell of the location and the cells around it, which together hold every location within
+     * {@link #coveredRadiusKm} of it.
+     */
+    static List<String> neighbourhood(double latitude, double longitude, int precision) {
+        var height = cellHeight(precision);
+        var width = cellWidth(precision);
+        Set<String> cells = new LinkedHashSet<>();
+        for (var dLatitude = -1; dLatitude <= 1; dLatitude++) {
+            var cellLatitude = latitude + dLatitude * height;
+            if (cellLatitude < -90 || cellLatitude > 90) continue;
+            for (var dLongitude = -1; dLongitude <= 1; dLongitude++) {
+                cells.add(encode(cellLatitude, wrapLongitude(longitude + dLongitude * width), precision));
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+
+    /**
+     * The distance from the location to the edge of its {@link #neighbourhood}, at least a cell wide or high
+     * wherever the location lies in its cell; 0 when the neighbourhood reaches a pole.
+     */
+    static double coveredRadiusKm(double latitude, int precision) {
+        var height = cellHeight(precision);
+        var farthestLatitude = Math.abs(latitude) + 2 * height;
+        if (farthestLatitude >= 90) return 0;
+        var widthKm = cellWidth(precision) * KM_PER_DEGREE * Math.cos(Math.toRadians(farthestLatitude));
+        return Math.min(height * KM_PER_DEGREE, widthKm);
+    }
+
+    /**
+     * The finest precision whose neighbourhood covers the radius around the location, or 0 if none does.
+     */
+    static int precisionFor(double latitude, double radiusKm) {
+        for (var precision = PRECISION; precision > 0; precision--) {
+            if (coveredRadiusKm(latitude, precision) >= radiusKm) return precision;
+        }
+        return 0;
+    }
+
+    /**
+     * The haversine term of the distance between two locations, growing with the distance, which
+     * {@link #distanceKm(double)} turns into kilometres.
+     */
+    static double haversine(double latitude, double longitude, double otherLatitude, double otherLongitude) {
+        var dLatitude = Math.toRadians(otherLatitude - latitude);
+        var dLongitude = Math.toRadians(otherLongitude - longitude);
+        return Math.pow(Math.sin(dLatitude / 2), 2) + Math.cos(Math.toRadians(latitude)) *
+                Math.cos(Math.toRadians(otherLatitude)) * Math.pow(Math.sin(dLongitude / 2), 2);
+    }
+
+    static double distanceKm(double haversine) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(Math.min(1, haversine)));
+    }
+
+    static double haversineOf(double distanceKm) {
+        return Math.pow(Math.sin(Math.min(Math.PI / 2, distanceKm / (2 * EARTH_RADIUS_KM))), 2);
+    }
+
+    private static double cellHeight(int precision) {
+        return 180 / Math.pow(2, Math.floor(5 * precision / 2.0));
+    }
+
+    private static double cellWidth(int precision) {
+        return 360 / Math.pow(2, Math.ceil(5 * precision / 2.0));
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude < -180) return longitude + 360;
+        if (longitude >= 180) return longitude - 360;
+        return longitude;
+    }
+}
@@ -1,11 +1,15 @@
 package ru.practicum.shareit.item.service;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.dto.BusyIntervalDto;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.dto.NearbyItemDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -14,13 +18,35 @@ public interface ItemService {
 
     ItemWithBookingsDto findById(long userId, long id);
 
-    List<ItemWithBookingsDto> getAll(long userId, Pageable pageable);
+    Slice<ItemWithBookingsDto> getAll(long userId, Pageable pageable);
 
     ItemDto update(long userId, ItemDto item);
 
     void delete(long userId, long id);
 
-    List<ItemDto> search(String text, Pageable pageable);
+    /**
+     * Available items matching the text; with {@code availableFrom} and {@code availableTo} given, only those
+     * without an approved booking overlapping {@code [availableFrom, availableTo)}.
+     */
+    Slice<ItemDto> search(String text, LocalDateTime availableFrom, LocalDateTime availableTo, Pageable pageable);
+
+    /**
+     * Available located items matching the text, or all of them for a blank or {@code null} text, nearest to
+     * the location first: those within {@code radius} kilometres, or the nearest ones for a {@code null} radius.
+     */
+    Slice<NearbyItemDto> searchNearby(double latitude, double longitude, Double radius, String text,
+                                      Pageable pageable);
 
     CommentDto createComment(long userId, long itemId, CommentCreateDto commentCreateDto);
+
+    /**
+     * Comments of the item with {@code id} less than {@code beforeId}, or the latest ones if it's {@code null},
+     * newest first.
+     */
+    List<CommentDto> findComments(long itemId, Long beforeId, int size);
+
+    /**
+     * The intervals within {@code [from, to)} the approved bookings of the item keep it busy, merged and ordered.
+     */
+    List<BusyIntervalDto> findBusyIntervals(long itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -1,38 +1,53 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dao.BookingRepository;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.model.BookingShort;
+import ru.practicum.shareit.booking.service.BookingListCache;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ErrorMessages;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dao.CommentRepository;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.BusyIntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.dto.NearbyItemDto;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.CommentShort;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.LatestComments;
+import ru.practicum.shareit.outbox.Outbox;
+import ru.practicum.shareit.outbox.OutboxEventType;
 import ru.practicum.shareit.request.Request;
 import ru.practicum.shareit.request.dao.RequestRepository;
+import ru.practicum.shareit.request.match.RequestMatcher;
 import ru.practicum.shareit.user.dao.UserRepository;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
+    private static final double NEAREST_START_RADIUS_KM = 1;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
@@ -40,6 +55,16 @@ public class ItemServiceImpl implements ItemService {
     private final RequestRepository requestRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final CommentEligibilityCache commentEligibilityCache;
+    private final LatestCommentsCache latestCommentsCache;
+    private final RequestMatcher requestMatcher;
+    private final Outbox outbox;
+    private final BookingListCache bookingListCache;
+    private final Clock clock;
+    @Value("${shareit.comments.page-size:10}")
+    private final int commentsPageSize;
+    @Value("${shareit.comments.max-page-size:100}")
+    private final int commentsMaxPageSize;
 
     @Override
     @Transactional
@@ -53,7 +78,16 @@ public class ItemServiceImpl implements ItemService {
                             itemDto.getRequestId())));
         }
         var item = itemMapper.toModel(itemDto, owner, request);
-        return itemMapper.toDto(itemRepository.save(item));
+        locate(item);
+        item = itemRepository.save(item);
+        if (request != null) {
+            requestMatcher.close(request.getId());
+        }
+        requestMatcher.indexItem(item);
+        var created = itemMapper.toDto(item);
+        outbox.publish(OutboxEventType.ITEM_CREATED, created.getId(), created);
+        bookingListCache.evict(userId);
+        return created;
     }
 
     @Override
@@ -62,15 +96,13 @@ public class ItemServiceImpl implements ItemService {
         var item = itemRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(ErrorMessages.ITEM_NOT_FOUND.getFormatMessage(
                         id)));
-        var comments = commentRepository.findAllByItemId(id)
-                .stream()
-                .map(commentMapper::toDto)
-                .collect(Collectors.toList());
+        var latest = latestCommentsCache.get(id, this::loadLatestComments);
+        var comments = commentMapper.toDto(latest.getComments());
         if (!item.getOwner().getId().equals(userId)) {
             return itemMapper.toItemWithBookingsDto(item, comments);
         }
         var bookings = bookingRepository.findBookingsShortByItem(item.getId());
-        var dateTime = LocalDateTime.now();
+        var dateTime = LocalDateTime.now(clock);
         var last = bookings.stream()
                 .filter(b -> dateTime.isAfter(b.getStart()))
                 .max(Comparator.comparing(BookingShort::getStart))
@@ -84,10 +116,9 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemWithBookingsDto> getAll(long userId, Pageable pageable) {
-        List<Item> items;
-        items = itemRepository.findAllByOwnerId(userId, pageable);
-        var dateTime = LocalDateTime.now();
+    public Slice<ItemWithBookingsDto> getAll(long userId, Pageable pageable) {
+        var items = itemRepository.findAllByOwnerId(userId, pageable);
+        var dateTime = LocalDateTime.now(clock);
         var itemsId = items.stream().map(Item::getId).collect(Collectors.toList());
         var bookings = bookingRepository.findAllBookingsShortByItemIdIn(itemsId, Sort.by("start").descending());
         Map<Long, BookingShort> lastBookings = new HashMap<>();
@@ -100,15 +131,11 @@ public class ItemServiceImpl implements ItemService {
             }
         }
 
-        var comments = commentRepository.findAllByItemIdIn(itemsId)
-                .stream()
-                .collect(Collectors.groupingBy(CommentShort::getItemId,
-                        Collectors.mapping(commentMapper::toDto, Collectors.toList())));
+        var comments = latestCommentsCache.getAll(itemsId, this::loadLatestComments);
 
-        return items.stream()
-                .map(item -> itemMapper.toItemWithBookingsDto(item, lastBookings.get(item.getId()),
-                        nextBookings.get(item.getId()), comments.getOrDefault(item.getId(), Collections.emptyList())))
-                .collect(Collectors.toList());
+        return items.map(item -> itemMapper.toItemWithBookingsDto(item, lastBookings.get(item.getId()),
+                nextBookings.get(item.getId()), commentMapper.toDto(comments.getOrDefault(item.getId(),
+                        LatestComments.EMPTY).getComments())));
     }
 
     @Override
@@ -116,15 +143,20 @@ public class ItemServiceImpl implements ItemService {
     public ItemDto update(long userId, ItemDto itemDto) {
         var owner = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException(ErrorMessages.USER_NOT_FOUND.getFormatMessage(userId)));
-        var oldItem = itemRepository.findById(itemDto.getId())
+        var oldItem = itemRepository.findByIdForUpdate(itemDto.getId())
                 .orElseThrow(() -> new NotFoundException(ErrorMessages.ITEM_NOT_FOUND.getFormatMessage(
                         itemDto.getId())));
         if (!oldItem.getOwner().equals(owner)) {
             throw new AccessDeniedException(ErrorMessages.OWNER_UPDATE.getMessage());
         }
         itemMapper.toModel(oldItem, itemDto);
+        locate(oldItem);
         var item = itemRepository.save(oldItem);
-        return itemMapper.toDto(item);
+        requestMatcher.indexItem(item);
+        var updated = itemMapper.toDto(item);
+        outbox.publish(OutboxEventType.ITEM_UPDATED, updated.getId(), updated);
+        bookingListCache.evict(userId);
+        return updated;
     }
 
     @Override
@@ -132,20 +164,34 @@ public class ItemServiceImpl implements ItemService {
     public void delete(long userId, long id) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException(ErrorMessages.USER_NOT_FOUND.getFormatMessage(userId)));
-        var item = itemRepository.findById(id)
+        var item = itemRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new NotFoundException(ErrorMessages.ITEM_NOT_FOUND.getFormatMessage(
                         id)));
         if (!item.getOwner().getId().equals(userId)) {
             throw new AccessDeniedException(ErrorMessages.OWNER_DELETE.getMessage());
         }
         itemRepository.deleteById(id);
+        outbox.publish(OutboxEventType.ITEM_DELETED, id, Map.of("id", id));
+        latestCommentsCache.evict(id);
+        // the bookings of the item go with it, whoever booked it
+        bookingListCache.clear();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemDto> search(String text, Pageable pageable) {
-        if (text.isBlank()) return List.of();
-        return itemMapper.toDto(itemRepository.search(text, pageable));
+    public Slice<ItemDto> search(String text, LocalDateTime availableFrom, LocalDateTime availableTo,
+                                 Pageable pageable) {
+        if ((availableFrom == null) != (availableTo == null)) {
+            throw new IllegalArgumentException(ErrorMessages.INCOMPLETE_RANGE.getMessage());
+        }
+        if (availableFrom != null && !availableFrom.isBefore(availableTo)) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_RANGE.getMessage());
+        }
+        if (text.isBlank()) return new SliceImpl<>(List.of(), pageable, false);
+        var items = availableFrom == null
+                ? itemRepository.search(text, pageable)
+                : itemRepository.searchAvailable(text, availableFrom, availableTo, pageable);
+        return items.map(itemMapper::toDto);
     }
 
     @Override
@@ -155,13 +201,96 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new NotFoundException(ErrorMessages.USER_NOT_FOUND.getFormatMessage(userId)));
         var item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException(ErrorMessages.ITEM_NOT_FOUND.getFormatMessage(itemId)));
-        var dateTime = LocalDateTime.now();
-        if (bookingRepository.findByItemIdAndBookerIdAndStatusAndEndBefore(itemId, userId,
-                BookingStatus.APPROVED, dateTime).isEmpty()) {
+        var dateTime = LocalDateTime.now(clock);
+        if (!commentEligibilityCache.isEligible(userId, itemId, () -> bookingRepository
+                .existsByItemIdAndBookerIdAndStatusAndEndBefore(itemId, userId, BookingStatus.APPROVED, dateTime))) {
             throw new AccessDeniedException(ErrorMessages.REVIEW_WITHOUT_BOOKING.getMessage());
         }
-        var comment = commentRepository.save(commentMapper.toModel(commentCreateDto, author, item, dateTime));
-        return commentMapper.toDto(comment);
+        var comment = commentMapper.toDto(commentRepository.save(commentMapper.toModel(commentCreateDto, author, item,
+                dateTime)));
+        itemRepository.incrementCommentsCount(itemId);
+        outbox.publish(OutboxEventType.COMMENT_CREATED, itemId, comment);
+        latestCommentsCache.evict(itemId);
+        return comment;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CommentDto> findComments(long itemId, Long beforeId, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_PAGE_SIZE.getMessage());
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException(ErrorMessages.ITEM_NOT_FOUND.getFormatMessage(itemId));
+        }
+        var pageSize = Math.min(size, commentsMaxPageSize);
+        if (beforeId == null && pageSize <= commentsPageSize) {
+            var latest = latestCommentsCache.get(itemId, this::loadLatestComments).getComments();
+            return commentMapper.toDto(latest.subList(0, Math.min(pageSize, latest.size())));
+        }
+        var comments = commentRepository.findAllByItemIdAndIdLessThan(itemId,
+                beforeId == null ? Long.MAX_VALUE : beforeId, PageRequest.ofSize(pageSize));
+        return commentMapper.toDto(comments);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<NearbyItemDto> searchNearby(double latitude, double longitude, Double radius, String text,
+                                             Pageable pageable) {
+        var query = text == null ? "" : text.trim();
+        if (radius != null) {
+            if (!(radius > 0)) {
+                throw new IllegalArgumentException(ErrorMessages.INVALID_RADIUS.getMessage());
+            }
+            return findNearby(query, latitude, longitude, radius, GeoHash.precisionFor(latitude, radius), pageable);
+        }
+        // the items within the covered radius are all found, so once there are more of them than the page reaches,
+        // no item outside can belong to it
+        for (var precision = GeoHash.precisionFor(latitude, NEAREST_START_RADIUS_KM); precision > 0; precision--) {
+            var covered = GeoHash.coveredRadiusKm(latitude, precision);
+            if (covered <= 0) break;
+            var items = findNearby(query, latitude, longitude, covered, precision, pageable);
+            if (items.hasNext()) return items;
+        }
+        return findNearby(query, latitude, longitude, Double.POSITIVE_INFINITY, 0, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BusyIntervalDto> findBusyIntervals(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_RANGE.getMessage());
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException(ErrorMessages.ITEM_NOT_FOUND.getFormatMessage(itemId));
+        }
+        return BusyIntervals.merge(bookingRepository.findApprovedOverlapping(itemId, from, to), from, to);
+    }
+
+    private Slice<NearbyItemDto> findNearby(String text, double latitude, double longitude, double radius,
+                                            int precision, Pageable pageable) {
+        var cells = precision > 0 ? GeoHash.neighbourhood(latitude, longitude, precision) : List.of("");
+        return itemRepository.findNearby(text, cells, latitude, longitude, GeoHash.haversineOf(radius), pageable)
+                .map(item -> new NearbyItemDto(itemMapper.toDto(item), GeoHash.distanceKm(
+                        GeoHash.haversine(latitude, longitude, item.getLatitude(), item.getLongitude()))));
+    }
+
+    private static void locate(Item item) {
+        if ((item.getLatitude() == null) != (item.getLongitude() == null)) {
+            throw new IllegalArgumentException(ErrorMessages.INCOMPLETE_LOCATION.getMessage());
+        }
+        item.setGeohash(item.getLatitude() == null ? null : GeoHash.encode(item.getLatitude(), item.getLongitude()));
+    }
+
+    private Map<Long, LatestComments> loadLatestComments(Collection<Long> itemIds) {
+        Map<Long, List<CommentShort>> comments = new HashMap<>();
+        for (var comment : commentRepository.findLatestByItemIdIn(itemIds, commentsPageSize)) {
+            comments.computeIfAbsent(comment.getItemId(), itemId -> new ArrayList<>()).add(commentMapper.toShort(comment));
+        }
+        return itemIds.stream()
+                .collect(Collectors.toMap(Function.identity(), itemId -> comments.containsKey(itemId)
+                        ? new LatestComments(comments.get(itemId))
+                        : LatestComments.EMPTY));
     }
 
     private BookingShort getNextBooking(BookingShort next, BookingShort current) {
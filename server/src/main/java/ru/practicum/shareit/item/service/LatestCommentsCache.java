@@ -0,0 +1,108 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.LatestComments;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * The latest comments of items, per server instance. An evicted item is evicted again once the transaction
+ * evicting it completes, and pages loaded while an eviction happened are not kept, so a page read before
+ * a new comment was committed never outlives it. When full, an arbitrary entry makes room; a size of 0 disables
+ * the cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class LatestCommentsCache {
+
+    private final Map<Long, LatestComments> cache = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+    @Value("${shareit.comments.cache-size:10000}")
+    private final int maxSize;
+
+    public LatestComments get(long itemId, Function<Collection<Long>, Map<Long, LatestComments>> loader) {
+        return getAll(List.of(itemId), loader).getOrDefault(itemId, LatestComments.EMPTY);
+    }
+
+    /**
+     * The cached pages of the items, loading the missing ones together.
+     */
+    public Map<Long, LatestComments> getAll(Collection<Long> itemIds,
+                                            Function<Collection<Long>, Map<Long, LatestComments>> loader) {
+        Map<Long, LatestComments> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (var itemId : itemIds) {
+            var comments = cache.get(itemId);
+            if (comments == null) {
+                missing.add(itemId);
+            } else {
+                result.put(itemId, comments);
+            }
+        }
+        if (missing.isEmpty()) return result;
+        var generation = evictions.get();
+        var loaded = loader.apply(missing);
+        result.putAll(loaded);
+        for (var entry : loaded.entrySet()) {
+            if (maxSize <= 0 || evictions.get() != generation) break;
+            makeRoom();
+            cache.put(entry.getKey(), entry.getValue());
+            // an eviction counted before this check may have run its removal before the put
+            if (evictions.get() != generation) {
+                cache.remove(entry.getKey(), entry.getValue());
+                break;
+            }
+        }
+        return result;
+    }
+
+    public void evict(long itemId) {
+        remove(itemId);
+        afterCompletion(() -> remove(itemId));
+    }
+
+    public void clear() {
+        removeAll();
+        afterCompletion(this::removeAll);
+    }
+
+    private void remove(long itemId) {
+        evictions.incrementAndGet();
+        cache.remove(itemId);
+    }
+
+    private void removeAll() {
+        evictions.incrementAndGet();
+        cache.clear();
+    }
+
+    private void makeRoom() {
+        if (cache.size() < maxSize) return;
+        var iterator = cache.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static void afterCompletion(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                eviction.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.monitoring;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+/**
+ * Counts the entities loaded from the database by the transaction of the calling thread.
+ */
+public class EntityLoadInterceptor extends EmptyInterceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+        var statistics = TransactionStatistics.current();
+        if (statistics != null) {
+            statistics.entityLoaded();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+@Configuration
+public class MonitoringConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer monitoringHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    TransactionStatisticsListener.class.getName());
+            properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadInterceptor());
+        };
+    }
+
+    @Bean
+    public SqlStatementFilter sqlStatementFilter(MeterRegistry meterRegistry,
+                                                 @Value("${shareit.sql.statements-header:false}") boolean header) {
+        return new SqlStatementFilter(meterRegistry, header);
+    }
+
+    @Bean
+    public TransactionMetricsAspect transactionMetricsAspect(MeterRegistry meterRegistry) {
+        return new TransactionMetricsAspect(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public PersistenceEndpoint persistenceEndpoint(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+                                                   MeterRegistry meterRegistry) {
+        return new PersistenceEndpoint(entityManagerFactory, dataSource, meterRegistry);
+    }
+}
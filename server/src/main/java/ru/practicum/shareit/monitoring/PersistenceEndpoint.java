@@ -0,0 +1,213 @@
+package ru.practicum.shareit.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Value;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.lang.Nullable;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@code /actuator/persistence}: Hibernate statistics, the slowest queries, the state of each connection pool and
+ * the persistence work of each {@code @Transactional} service method.
+ */
+@Endpoint(id = "persistence")
+public class PersistenceEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final Statistics statistics;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    public PersistenceEndpoint(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+                               MeterRegistry meterRegistry) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public PersistenceDescriptor persistence(@Nullable Integer limit) {
+        return new PersistenceDescriptor(hibernate(), slowestQueries(limit == null ? DEFAULT_LIMIT : limit), pools(),
+                transactions());
+    }
+
+    private HibernateDescriptor hibernate() {
+        return new HibernateDescriptor(statistics.isStatisticsEnabled(), statistics.getSessionOpenCount(),
+                statistics.getTransactionCount(), statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount(), statistics.getEntityFetchCount(), statistics.getEntityInsertCount(),
+                statistics.getEntityUpdateCount(), statistics.getEntityDeleteCount(),
+                statistics.getCollectionLoadCount(), statistics.getQueryExecutionCount(),
+                statistics.getQueryExecutionMaxTime(), statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount());
+    }
+
+    private List<QueryDescriptor> slowestQueries(int limit) {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> {
+                    var queryStatistics = statistics.getQueryStatistics(query);
+                    return new QueryDescriptor(query, queryStatistics.getExecutionCount(),
+                            queryStatistics.getExecutionRowCount(), queryStatistics.getExecutionAvgTime(),
+                            queryStatistics.getExecutionMaxTime());
+                })
+                .sorted(Comparator.comparingLong(QueryDescriptor::getMaxTimeMs).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private List<PoolDescriptor> pools() {
+        return targets(dataSource).stream()
+                .map(PersistenceEndpoint::pool)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(PoolDescriptor::getName))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The data sources actually opening connections, behind proxies and routing data sources such as
+     * the primary and replicas of replica routing.
+     */
+    private static List<DataSource> targets(@Nullable DataSource dataSource) {
+        if (dataSource instanceof DelegatingDataSource) {
+            return targets(((DelegatingDataSource) dataSource).getTargetDataSource());
+        }
+        if (dataSource instanceof AbstractRoutingDataSource) {
+            return ((AbstractRoutingDataSource) dataSource).getResolvedDataSources().values().stream()
+                    .flatMap(target -> targets(target).stream())
+                    .collect(Collectors.toList());
+        }
+        return dataSource == null ? List.of() : List.of(dataSource);
+    }
+
+    @Nullable
+    private static PoolDescriptor pool(DataSource dataSource) {
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) return null;
+            var hikari = dataSource.unwrap(HikariDataSource.class);
+            var pool = hikari.getHikariPoolMXBean();
+            if (pool == null) return null;
+            return new PoolDescriptor(hikari.getPoolName(), pool.getActiveConnections(), pool.getIdleConnections(),
+                    pool.getThreadsAwaitingConnection(), pool.getTotalConnections(), hikari.getMaximumPoolSize());
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private Map<String, TransactionDescriptor> transactions() {
+        Map<String, TransactionDescriptor> transactions = new TreeMap<>();
+        meterRegistry.find(TransactionMetricsAspect.TRANSACTIONS).timers().stream()
+                .collect(Collectors.groupingBy(timer -> timer.getId().getTag("method")))
+                .forEach((method, timers) -> {
+                    var count = timers.stream().mapToLong(Timer::count).sum();
+                    var totalMs = timers.stream().mapToDouble(timer -> timer.totalTime(TimeUnit.MILLISECONDS)).sum();
+                    var maxMs = timers.stream().mapToDouble(timer -> timer.max(TimeUnit.MILLISECONDS)).max()
+                            .orElse(0);
+                    var failures = timers.stream()
+                            .filter(timer -> !"none".equals(timer.getId().getTag("exception")))
+                            .mapToLong(Timer::count)
+                            .sum();
+                    transactions.put(method, new TransactionDescriptor(count, failures, totalMs / count, maxMs,
+                            mean(TransactionMetricsAspect.STATEMENTS, method),
+                            meanMs(TransactionMetricsAspect.EXECUTION, method),
+                            meanMs(TransactionMetricsAspect.CONNECTION_ACQUISITION, method),
+                            mean(TransactionMetricsAspect.ENTITY_LOADS, method),
+                            cacheGets(method, "hit"), cacheGets(method, "miss")));
+                });
+        return transactions;
+    }
+
+    private double mean(String name, String method) {
+        var summary = meterRegistry.find(name).tag("method", method).summary();
+        return summary == null ? 0 : summary.mean();
+    }
+
+    private double meanMs(String name, String method) {
+        var timer = meterRegistry.find(name).tag("method", method).timer();
+        return timer == null ? 0 : timer.mean(TimeUnit.MILLISECONDS);
+    }
+
+    private long cacheGets(String method, String result) {
+        var counter = meterRegistry.find(TransactionMetricsAspect.CACHE_GETS)
+                .tags("method", method, "result", result)
+                .counter();
+        return counter == null ? 0 : (long) counter.count();
+    }
+
+    @Value
+    public static class PersistenceDescriptor {
+        HibernateDescriptor hibernate;
+        List<QueryDescriptor> slowestQueries;
+        List<PoolDescriptor> pools;
+        Map<String, TransactionDescriptor> transactions;
+    }
+
+    @Value
+    public static class HibernateDescriptor {
+        boolean statisticsEnabled;
+        long sessionsOpened;
+        long transactions;
+        long statementsPrepared;
+        long entityLoads;
+        long entityFetches;
+        long entityInserts;
+        long entityUpdates;
+        long entityDeletes;
+        long collectionLoads;
+        long queryExecutions;
+        long queryExecutionMaxTimeMs;
+        long secondLevelCacheHits;
+        long secondLevelCacheMisses;
+        long secondLevelCachePuts;
+    }
+
+    @Value
+    public static class QueryDescriptor {
+        String query;
+        long executions;
+        long rows;
+        long avgTimeMs;
+        long maxTimeMs;
+    }
+
+    @Value
+    public static class PoolDescriptor {
+        String name;
+        int active;
+        int idle;
+        int pending;
+        int total;
+        int max;
+    }
+
+    @Value
+    public static class TransactionDescriptor {
+        long count;
+        long failures;
+        double meanMs;
+        double maxMs;
+        double statementsMean;
+        double executionMeanMs;
+        double connectionAcquisitionMeanMs;
+        double entityLoadsMean;
+        long cacheHits;
+        long cacheMisses;
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a {@link Recording} is open.
+ * Recordings nest: a statement is counted by every recording open on the thread.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    public static Recording start() {
+        return start(false);
+    }
+
+    /**
+     * @param keepStatements whether to keep the SQL text, e.g. to explain a failed assertion
+     */
+    public static Recording start(boolean keepStatements) {
+        var recording = new Recording(CURRENT.get(), keepStatements);
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        for (var recording = CURRENT.get(); recording != null; recording = recording.parent) {
+            recording.add(sql);
+        }
+        return sql;
+    }
+
+    public static class Recording implements AutoCloseable {
+
+        private final Recording parent;
+        private final List<String> statements;
+        private int count;
+        private boolean closed;
+
+        private Recording(Recording parent, boolean keepStatements) {
+            this.parent = parent;
+            this.statements = keepStatements ? new ArrayList<>() : null;
+        }
+
+        private void add(String sql) {
+            if (closed) return;
+            count++;
+            if (statements != null) {
+                statements.add(sql);
+            }
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public List<String> getStatements() {
+            return statements == null ? List.of() : Collections.unmodifiableList(statements);
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+    }
+}
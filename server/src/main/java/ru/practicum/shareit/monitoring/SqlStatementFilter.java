@@ -0,0 +1,109 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Records the number of SQL statements run for each request as the {@code shareit.sql.statements} summary and,
+ * when {@code shareit.sql.statements-header} is set (the {@code dev} profile), returns it in a response header.
+ */
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Sql-Statements";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean header;
+
+    public SqlStatementFilter(MeterRegistry meterRegistry, boolean header) {
+        this.meterRegistry = meterRegistry;
+        this.header = header;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var recording = SqlStatementCounter.start();
+        var wrapper = header ? new HeaderResponse(response, recording) : response;
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            recording.close();
+            if (wrapper instanceof HeaderResponse) {
+                ((HeaderResponse) wrapper).writeHeader();
+            }
+            summary(request).record(recording.getCount());
+        }
+    }
+
+    private DistributionSummary summary(HttpServletRequest request) {
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return DistributionSummary.builder("shareit.sql.statements")
+                .description("SQL statements run per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sets the header just before the body is written, as the response is usually committed by the time
+     * the filter chain returns. Services map entities to DTOs inside their transactions, so no statements
+     * run after that point.
+     */
+    private static class HeaderResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementCounter.Recording recording;
+
+        HeaderResponse(HttpServletResponse response, SqlStatementCounter.Recording recording) {
+            super(response);
+            this.recording = recording;
+        }
+
+        void writeHeader() {
+            if (!isCommitted() && !containsHeader(HEADER)) {
+                setHeader(HEADER, String.valueOf(recording.getCount()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the persistence work of every outermost {@code @Transactional} service method, tagged with
+ * {@code method}. Runs outside the transaction interceptor so that the connection acquired when the transaction
+ * begins is included.
+ */
+@Aspect
+@RequiredArgsConstructor
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class TransactionMetricsAspect {
+
+    public static final String TRANSACTIONS = "shareit.transaction";
+    public static final String STATEMENTS = "shareit.transaction.statements";
+    public static final String EXECUTION = "shareit.transaction.execution";
+    public static final String CONNECTION_ACQUISITION = "shareit.transaction.connection.acquisition";
+    public static final String ENTITY_LOADS = "shareit.transaction.entity.loads";
+    public static final String CACHE_GETS = "shareit.transaction.cache.gets";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(ru.practicum.shareit..*) && (@within(org.springframework.transaction.annotation.Transactional)" +
+            " || @annotation(org.springframework.transaction.annotation.Transactional))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionStatistics.current() != null) {
+            return joinPoint.proceed();
+        }
+        var statistics = TransactionStatistics.start();
+        var start = System.nanoTime();
+        Throwable exception = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e;
+            throw e;
+        } finally {
+            var duration = System.nanoTime() - start;
+            statistics.stop();
+            var signature = joinPoint.getSignature();
+            publish(signature.getDeclaringType().getSimpleName() + "." + signature.getName(), statistics, duration,
+                    exception);
+        }
+    }
+
+    private void publish(String method, TransactionStatistics statistics, long duration, Throwable exception) {
+        var tags = Tags.of("method", method);
+        Timer.builder(TRANSACTIONS)
+                .description("Duration of @Transactional service methods")
+                .tags(tags)
+                .tag("exception", exception == null ? "none" : exception.getClass().getSimpleName())
+                .register(meterRegistry)
+                .record(duration, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(STATEMENTS)
+                .description("JDBC statements executed per transaction")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        Timer.builder(EXECUTION)
+                .description("Time spent executing JDBC statements per transaction")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getExecutionNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder(CONNECTION_ACQUISITION)
+                .description("Time spent acquiring pooled connections per transaction")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getConnectionAcquisitionNanos(), TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(ENTITY_LOADS)
+                .description("Entities loaded per transaction")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getEntityLoads());
+        Counter.builder(CACHE_GETS)
+                .description("Second-level cache lookups")
+                .tags(tags)
+                .tag("result", "hit")
+                .register(meterRegistry)
+                .increment(statistics.getCacheHits());
+        Counter.builder(CACHE_GETS)
+                .description("Second-level cache lookups")
+                .tags(tags)
+                .tag("result", "miss")
+                .register(meterRegistry)
+                .increment(statistics.getCacheMisses());
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.monitoring;
+
+import lombok.Getter;
+
+/**
+ * Persistence work done on the current thread by the outermost {@code @Transactional} service method,
+ * fed by {@link TransactionStatisticsListener} and {@link EntityLoadInterceptor}.
+ */
+@Getter
+public class TransactionStatistics {
+
+    private static final ThreadLocal<TransactionStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long executionNanos;
+    private long connectionAcquisitionNanos;
+    private int entityLoads;
+    private int cacheHits;
+    private int cacheMisses;
+
+    static TransactionStatistics current() {
+        return CURRENT.get();
+    }
+
+    static TransactionStatistics start() {
+        var statistics = new TransactionStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    void stop() {
+        CURRENT.remove();
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        executionNanos += nanos;
+    }
+
+    void connectionAcquired(long nanos) {
+        connectionAcquisitionNanos += nanos;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void cacheGet(boolean hit) {
+        if (hit) {
+            cacheHits++;
+        } else {
+            cacheMisses++;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.monitoring;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Created by Hibernate for every session, see {@code hibernate.session.events.auto}. Sessions are used by a single
+ * thread, so the timings are attributed to the transaction statistics of the calling thread.
+ */
+public class TransactionStatisticsListener extends BaseSessionEventListener {
+
+    private long connectionAcquisitionStart;
+    private long executionStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionAcquisitionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        var statistics = TransactionStatistics.current();
+        if (statistics != null) {
+            statistics.connectionAcquired(System.nanoTime() - connectionAcquisitionStart);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        var statistics = TransactionStatistics.current();
+        if (statistics != null) {
+            statistics.cacheGet(hit);
+        }
+    }
+
+    private void executed() {
+        var statistics = TransactionStatistics.current();
+        if (statistics != null) {
+            statistics.statementExecuted(System.nanoTime() - executionStart);
+        }
+    }
+}
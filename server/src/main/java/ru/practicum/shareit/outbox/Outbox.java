@@ -0,0 +1,41 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Writes changes to {@code outbox_events} in the transaction making them, so an event exists exactly when its change
+ * was committed. Event ids are taken on insert, not on commit, so the caller must already hold the row of the
+ * aggregate, having written it with a statement or read it for update: a later writer of the aggregate then waits
+ * for the commit and its event is both newer and committed later.
+ */
+@Component
+@RequiredArgsConstructor
+public class Outbox {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType type, long aggregateId, Object payload) {
+        var event = new OutboxEvent();
+        event.setAggregate(type.getAggregate());
+        event.setAggregateId(aggregateId);
+        event.setType(type);
+        event.setCreated(LocalDateTime.now(clock));
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + type + " payload", e);
+        }
+        outboxRepository.save(event);
+    }
+}
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.outbox;
+
+public enum OutboxAggregate {
+    BOOKING, ITEM, USER, REQUEST
+}
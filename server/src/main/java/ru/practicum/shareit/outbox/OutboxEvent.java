@@ -0,0 +1,39 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A change written in the transaction making it and waiting to be delivered by {@link OutboxRelay}.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", nullable = false)
+    private OutboxAggregate aggregate;
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxEventType type;
+    @Column(nullable = false)
+    private String payload;
+    @Column(nullable = false)
+    private LocalDateTime created;
+    @Column(nullable = false)
+    private int attempts;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status = OutboxStatus.PENDING;
+}
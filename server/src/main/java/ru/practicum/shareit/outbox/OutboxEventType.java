@@ -0,0 +1,26 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Changes published through the outbox. Comments belong to the item aggregate, so they are delivered in order
+ * with the changes of their item.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OutboxEventType {
+    BOOKING_CREATED(OutboxAggregate.BOOKING),
+    BOOKING_STATUS_CHANGED(OutboxAggregate.BOOKING),
+    BOOKING_EXPIRED(OutboxAggregate.BOOKING),
+    ITEM_CREATED(OutboxAggregate.ITEM),
+    ITEM_UPDATED(OutboxAggregate.ITEM),
+    ITEM_DELETED(OutboxAggregate.ITEM),
+    COMMENT_CREATED(OutboxAggregate.ITEM),
+    USER_CREATED(OutboxAggregate.USER),
+    USER_UPDATED(OutboxAggregate.USER),
+    USER_DELETED(OutboxAggregate.USER),
+    REQUEST_CREATED(OutboxAggregate.REQUEST);
+
+    private final OutboxAggregate aggregate;
+}
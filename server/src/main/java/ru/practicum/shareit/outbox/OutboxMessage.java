@@ -0,0 +1,19 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox event as delivered to the {@code @EventListener}s of the application. A message may be delivered again
+ * if the relay stops before noting it delivered, so listeners must tolerate repeats, for instance by its
+ * {@code id}. {@code payload} is the JSON of the DTO the change returned.
+ */
+@Value
+public class OutboxMessage {
+    long id;
+    OutboxEventType type;
+    long aggregateId;
+    String payload;
+    LocalDateTime created;
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "shareit.outbox")
+public class OutboxProperties {
+
+    /**
+     * Runs the relay on this instance. Instances running it take turns batch by batch.
+     */
+    private boolean relayEnabled = true;
+    @Min(1)
+    private int batchSize = 100;
+    /**
+     * Failed deliveries after which an event is parked.
+     */
+    @Min(1)
+    private int maxAttempts = 10;
+    /**
+     * Pause between draining the outbox and looking for new events.
+     */
+    private Duration relayInterval = Duration.ofSeconds(1);
+}
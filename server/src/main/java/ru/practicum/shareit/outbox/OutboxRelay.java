@@ -0,0 +1,129 @@
+package ru.practicum.shareit.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Delivers the outbox events to the {@code @EventListener}s of {@link OutboxMessage} in batches, oldest first,
+ * and deletes them once delivered. An event whose delivery fails stays in line and holds back the later events of
+ * its aggregate until it is delivered, while the events of other aggregates go on; each aggregate thus sees its
+ * changes once at least and in order. After {@code maxAttempts} failures the event is parked and its aggregate
+ * goes on without it. Each batch holds the relay lock, so instances relaying together take turns.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate deliveryTemplate;
+    private final TaskScheduler taskScheduler;
+    private final OutboxProperties properties;
+    private final Counter delivered;
+    private final Counter failed;
+    private final Counter parked;
+
+    public OutboxRelay(OutboxRepository outboxRepository, ApplicationEventPublisher eventPublisher,
+                       TransactionTemplate transactionTemplate, TaskScheduler taskScheduler,
+                       OutboxProperties properties, MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        // a listener failing in its own transaction must not roll back the batch
+        this.deliveryTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.deliveryTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+        this.delivered = meterRegistry.counter("shareit.outbox.delivered");
+        this.failed = meterRegistry.counter("shareit.outbox.failed");
+        this.parked = meterRegistry.counter("shareit.outbox.parked");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isRelayEnabled()) return;
+        taskScheduler.scheduleWithFixedDelay(this::drain, properties.getRelayInterval());
+    }
+
+    /**
+     * Relays batch after batch, each starting after the last event read by the previous one, so events failing
+     * or held back never keep the later ones from being read.
+     */
+    public void drain() {
+        try {
+            Set<String> heldBack = new HashSet<>();
+            var afterId = 0L;
+            while (true) {
+                var from = afterId;
+                var batch = transactionTemplate.execute(status -> relayAfter(from, heldBack));
+                if (batch.read < properties.getBatchSize()) break;
+                log.debug("Outbox batch full, relaying the next one");
+                afterId = batch.lastId;
+            }
+        } catch (DataAccessException e) {
+            log.error("Outbox relay failed", e);
+        }
+    }
+
+    private Batch relayAfter(long afterId, Set<String> heldBack) {
+        outboxRepository.lockRelay();
+        var events = outboxRepository.findAllByIdGreaterThanAndStatusOrderById(afterId, OutboxStatus.PENDING,
+                PageRequest.ofSize(properties.getBatchSize()));
+        List<Long> deliveredIds = new ArrayList<>();
+        List<Long> failedIds = new ArrayList<>();
+        List<Long> parkedIds = new ArrayList<>();
+        for (var event : events) {
+            var aggregate = event.getAggregate() + ":" + event.getAggregateId();
+            if (heldBack.contains(aggregate)) continue;
+            try {
+                deliveryTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(new OutboxMessage(
+                        event.getId(), event.getType(), event.getAggregateId(), event.getPayload(),
+                        event.getCreated())));
+                deliveredIds.add(event.getId());
+            } catch (RuntimeException e) {
+                var attempt = event.getAttempts() + 1;
+                if (attempt >= properties.getMaxAttempts()) {
+                    log.error("Delivery of outbox event {} ({} of {}) failed {} times, parking it", event.getId(),
+                            event.getType(), aggregate, attempt, e);
+                    parkedIds.add(event.getId());
+                } else {
+                    log.warn("Delivery of outbox event {} ({} of {}) failed, attempt {}", event.getId(),
+                            event.getType(), aggregate, attempt, e);
+                    heldBack.add(aggregate);
+                    failedIds.add(event.getId());
+                }
+            }
+        }
+        if (!deliveredIds.isEmpty()) outboxRepository.deleteAllByIdInBatch(deliveredIds);
+        if (!failedIds.isEmpty()) outboxRepository.incrementAttempts(failedIds);
+        if (!parkedIds.isEmpty()) outboxRepository.incrementAttempts(parkedIds, OutboxStatus.PARKED);
+        delivered.increment(deliveredIds.size());
+        failed.increment(failedIds.size() + parkedIds.size());
+        parked.increment(parkedIds.size());
+        var lastId = events.isEmpty() ? afterId : events.get(events.size() - 1).getId();
+        return new Batch(events.size(), lastId);
+    }
+
+    @RequiredArgsConstructor
+    private static class Batch {
+        private final int read;
+        private final long lastId;
+    }
+}
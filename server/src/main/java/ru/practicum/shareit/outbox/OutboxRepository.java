@@ -0,0 +1,27 @@
+package ru.practicum.shareit.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findAllByIdGreaterThanAndStatusOrderById(long afterId, OutboxStatus status, Pageable pageable);
+
+    /**
+     * Locks the single relay row until the transaction ends, so instances relay one batch at a time.
+     */
+    @Query(value = "SELECT id FROM outbox_relay_lock FOR UPDATE", nativeQuery = true)
+    List<Integer> lockRelay();
+
+    @Modifying(clearAutomatically = true)
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1 where e.id in ?1")
+    void incrementAttempts(List<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1, e.status = ?2 where e.id in ?1")
+    void incrementAttempts(List<Long> ids, OutboxStatus status);
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.outbox;
+
+public enum OutboxStatus {
+    /**
+     * Waiting to be delivered.
+     */
+    PENDING,
+    /**
+     * Failed {@code shareit.outbox.max-attempts} times and no longer delivered nor holding back its aggregate.
+     */
+    PARKED
+}
@@ -4,13 +4,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.logging.Logging;
 import ru.practicum.shareit.request.dto.RequestCreateDto;
 import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.dto.RequestFeedDto;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
 import ru.practicum.shareit.request.dto.RequestWithItemsDto;
 import ru.practicum.shareit.request.service.RequestService;
 import ru.practicum.shareit.util.PageRequestWithOffset;
+import ru.practicum.shareit.util.SliceResponses;
 
 import java.util.List;
 
@@ -46,10 +51,33 @@ public class RequestController {
 
     @Logging
     @GetMapping("/all")
-    public List<RequestWithItemsDto> getAll(@RequestHeader(HEADER_USER_ID) long userId,
-                                            @RequestParam int from,
-                                            @RequestParam int size) {
+    public ResponseEntity<List<RequestWithItemsDto>> getAll(@RequestHeader(HEADER_USER_ID) long userId,
+                                                            @RequestParam int from,
+                                                            @RequestParam int size) {
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("created").descending());
-        return requestService.findAll(userId, pageable);
+        return SliceResponses.of(requestService.findAll(userId, pageable));
+    }
+
+    @Logging
+    @GetMapping("/feed")
+    public RequestFeedDto getFeed(@RequestHeader(HEADER_USER_ID) long userId,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(defaultValue = "20") int size) {
+        return requestService.findFeed(userId, RequestFeedCursor.decode(cursor), size);
+    }
+
+    @Logging
+    @GetMapping("/{requestId}/suggestions")
+    public List<ItemDto> getSuggestions(@RequestHeader(HEADER_USER_ID) long userId,
+                                        @PathVariable long requestId) {
+        return requestService.findSuggestions(userId, requestId);
+    }
+
+    @Logging
+    @GetMapping("/matches")
+    public List<RequestMatchDto> getMatches(@RequestHeader(HEADER_USER_ID) long userId,
+                                            @RequestParam(defaultValue = "0") long afterId,
+                                            @RequestParam(defaultValue = "20") int size) {
+        return requestService.findMatches(userId, afterId, size);
     }
 }
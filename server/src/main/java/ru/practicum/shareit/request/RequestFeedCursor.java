@@ -0,0 +1,43 @@
+package ru.practicum.shareit.request;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.ErrorMessages;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the feed of requests, newest first: the feed continues with the requests created before
+ * {@code created}, or at the same time with a smaller id. Clients get it as an opaque string.
+ */
+@Value
+public class RequestFeedCursor {
+
+    /**
+     * Before every request.
+     */
+    public static final RequestFeedCursor FIRST = new RequestFeedCursor(LocalDateTime.of(9999, 12, 31, 0, 0),
+            Long.MAX_VALUE);
+
+    LocalDateTime created;
+    long id;
+
+    public static RequestFeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return FIRST;
+        try {
+            var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separator = value.lastIndexOf('_');
+            return new RequestFeedCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_CURSOR.getFormatMessage(cursor));
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((created + "_" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.request;
+
+import java.time.LocalDateTime;
+
+/**
+ * A request of the feed with one of its items, or with no item columns if nobody answered it.
+ */
+public interface RequestFeedRow {
+
+    Long getId();
+
+    String getDescription();
+
+    LocalDateTime getCreated();
+
+    Long getItemId();
+
+    String getItemName();
+
+    String getItemDescription();
+
+    Boolean getItemAvailable();
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.request.dao;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.match.ItemTerm;
+
+import java.util.List;
+
+public interface ItemTermRepository extends JpaRepository<ItemTerm, ItemTerm.Key> {
+
+    @Modifying
+    @Query("delete from ItemTerm t where t.itemId = ?1")
+    void deleteAllByItemId(long itemId);
+
+    @Query("select it from Item it" +
+            " where it.id > ?1" +
+            " and not exists (select t from ItemTerm t where t.itemId = it.id)" +
+            " order by it.id")
+    List<Item> findUnindexedItems(long afterId, Pageable pageable);
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.request.dao;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.match.RequestMatch;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface RequestMatchRepository extends JpaRepository<RequestMatch, Long> {
+
+    @EntityGraph(attributePaths = {"request", "item"})
+    List<RequestMatch> findAllByOwnerIdAndIdGreaterThanOrderById(long ownerId, long afterId, Pageable pageable);
+
+    @Query("select it from RequestMatch m join m.item it" +
+            " where m.request.id = ?1 and it.available = true" +
+            " order by m.id")
+    List<Item> findAvailableItemsByRequestId(long requestId);
+
+    /**
+     * Notes the available items of other owners sharing most terms with the new request.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO request_matches (request_id, item_id, owner_id, created)" +
+            " SELECT ?1, i.id, i.user_id, ?4" +
+            " FROM (SELECT t.item_id, count(*) AS hits FROM item_terms t WHERE t.term IN (?3)" +
+            " GROUP BY t.item_id) m" +
+            " JOIN items i ON i.id = m.item_id" +
+            " WHERE i.available AND i.user_id <> ?2" +
+            " ORDER BY m.hits DESC, i.id" +
+            " LIMIT ?5", nativeQuery = true)
+    int insertForRequest(long requestId, long userId, Collection<String> terms, LocalDateTime created, int limit);
+
+    /**
+     * Notes the open requests of other users sharing most terms with the item, skipping the ones it matched before,
+     * also when a concurrent run notes them first.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO request_matches (request_id, item_id, owner_id, created)" +
+            " SELECT m.request_id, ?1, ?2, ?4" +
+            " FROM (SELECT t.request_id, count(*) AS hits FROM request_terms t WHERE t.term IN (?3)" +
+            " GROUP BY t.request_id) m" +
+            " JOIN requests r ON r.id = m.request_id" +
+            " WHERE r.user_id <> ?2" +
+            " AND NOT EXISTS (SELECT 1 FROM request_matches x WHERE x.request_id = m.request_id" +
+            " AND x.item_id = ?1)" +
+            " ORDER BY m.hits DESC, m.request_id DESC" +
+            " LIMIT ?5" +
+            " ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertForItem(long itemId, long ownerId, Collection<String> terms, LocalDateTime created, int limit);
+}
@@ -1,17 +1,31 @@
 package ru.practicum.shareit.request.dao;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.Request;
+import ru.practicum.shareit.request.RequestFeedRow;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
 
     List<Request> findAllByUserId(long userId, Sort sort);
 
-    List<Request> findAllByUserIdNot(long userId, Sort sort);
-
-    List<Request> findAllByUserIdNot(long userId, Pageable pageable);
+    /**
+     * The requests of other users created before the position, newest first, each with its items in id order.
+     * The requests are read backwards on {@code requests (created, id)} and their items on
+     * {@code items (request_id)}; {@code offset} only serves the offset paged list.
+     */
+    @Query(value = "SELECT r.id AS \"id\", r.description AS \"description\", r.created AS \"created\"," +
+            " i.id AS \"itemId\", i.name AS \"itemName\", i.description AS \"itemDescription\"," +
+            " i.available AS \"itemAvailable\"" +
+            " FROM (SELECT id, description, created FROM requests" +
+            " WHERE user_id <> ?1 AND (created, id) < (?2, ?3)" +
+            " ORDER BY created DESC, id DESC" +
+            " LIMIT ?4 OFFSET ?5) r" +
+            " LEFT JOIN items i ON i.request_id = r.id" +
+            " ORDER BY r.created DESC, r.id DESC, i.id", nativeQuery = true)
+    List<RequestFeedRow> findFeed(long userId, LocalDateTime beforeCreated, long beforeId, int limit, long offset);
 }
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.request.dao;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.request.Request;
+import ru.practicum.shareit.request.match.RequestTerm;
+
+import java.util.List;
+
+public interface RequestTermRepository extends JpaRepository<RequestTerm, RequestTerm.Key> {
+
+    @Modifying
+    @Query("delete from RequestTerm t where t.requestId = ?1")
+    void deleteAllByRequestId(long requestId);
+
+    /**
+     * Requests without terms that no item answers yet.
+     */
+    @Query("select r from Request r" +
+            " where r.id > ?1" +
+            " and not exists (select t from RequestTerm t where t.requestId = r.id)" +
+            " and not exists (select it from Item it where it.request = r)" +
+            " order by r.id")
+    List<Request> findUnindexedOpenRequests(long afterId, Pageable pageable);
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class RequestFeedDto {
+    private List<RequestWithItemsDto> requests;
+    /**
+     * Position after the last request, {@code null} on the last page.
+     */
+    private String nextCursor;
+}
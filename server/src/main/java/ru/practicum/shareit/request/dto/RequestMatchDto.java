@@ -0,0 +1,16 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class RequestMatchDto {
+    private Long id;
+    private LocalDateTime created;
+    private RequestDto request;
+    private ItemDto item;
+}
@@ -3,16 +3,20 @@ package ru.practicum.shareit.request.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.item.dto.ItemWithRequestDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.request.Request;
+import ru.practicum.shareit.request.RequestFeedRow;
 import ru.practicum.shareit.request.dto.RequestCreateDto;
 import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
 import ru.practicum.shareit.request.dto.RequestWithItemsDto;
+import ru.practicum.shareit.request.match.RequestMatch;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = ItemMapper.class)
 public interface RequestMapper {
 
     @Mapping(target = "id", ignore = true)
@@ -21,4 +25,17 @@ public interface RequestMapper {
     RequestDto toDto(Request request);
 
     RequestWithItemsDto toRequestWithItemsDto(Request request, List<ItemWithRequestDto> items);
+
+    RequestWithItemsDto toRequestWithItemsDto(RequestFeedRow row, List<ItemWithRequestDto> items);
+
+    @Mapping(target = "id", source = "itemId")
+    @Mapping(target = "requestId", source = "id")
+    @Mapping(target = "name", source = "itemName")
+    @Mapping(target = "description", source = "itemDescription")
+    @Mapping(target = "available", source = "itemAvailable")
+    ItemWithRequestDto toItemWithRequestDto(RequestFeedRow row);
+
+    RequestMatchDto toMatchDto(RequestMatch match);
+
+    List<RequestMatchDto> toMatchDto(List<RequestMatch> matches);
 }
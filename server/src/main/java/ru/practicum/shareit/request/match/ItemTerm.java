@@ -0,0 +1,53 @@
+package ru.practicum.shareit.request.match;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import java.io.Serializable;
+
+/**
+ * A term of an item name or description.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "item_terms")
+@IdClass(ItemTerm.Key.class)
+public class ItemTerm implements Persistable<ItemTerm.Key> {
+
+    @Id
+    private String term;
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Override
+    public Key getId() {
+        return new Key(term, itemId);
+    }
+
+    /**
+     * Terms are only inserted, after the old ones of the item are deleted.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String term;
+        private Long itemId;
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.request.match;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Words of item and request texts that requests and items are matched on: lower case runs of letters and digits
+ * of at least {@value #MIN_LENGTH} characters, the first {@value #MAX_TERMS} of them.
+ */
+public final class MatchTerms {
+
+    static final int MIN_LENGTH = 3;
+    static final int MAX_LENGTH = 50;
+    static final int MAX_TERMS = 20;
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private MatchTerms() {
+    }
+
+    public static Set<String> of(String... texts) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (var text : texts) {
+            if (text == null) continue;
+            for (var word : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+                if (terms.size() == MAX_TERMS) return terms;
+                if (word.length() < MIN_LENGTH) continue;
+                terms.add(word.length() > MAX_LENGTH ? word.substring(0, MAX_LENGTH) : word);
+            }
+        }
+        return terms;
+    }
+}
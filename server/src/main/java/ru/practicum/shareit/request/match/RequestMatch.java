@@ -0,0 +1,36 @@
+package ru.practicum.shareit.request.match;
+
+import lombok.Getter;
+import lombok.Setter;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.Request;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * An available item whose terms match the terms of a request, noted for the item owner.
+ */
+@Entity
+@Getter
+@Setter
+@Table(name = "request_matches")
+public class RequestMatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JoinColumn(name = "request_id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Request request;
+    @JoinColumn(name = "item_id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Item item;
+    @JoinColumn(name = "owner_id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    private User owner;
+    @Column(nullable = false)
+    private LocalDateTime created;
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.request.match;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.Request;
+import ru.practicum.shareit.request.dao.ItemTermRepository;
+import ru.practicum.shareit.request.dao.RequestMatchRepository;
+import ru.practicum.shareit.request.dao.RequestTermRepository;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Matches requests and items on the terms of their texts, kept in {@code item_terms} and {@code request_terms}
+ * as items and requests are written. A new request is matched to the available items sharing its terms, an item
+ * created, updated or made available to the open requests sharing its terms; each match is noted once for the item
+ * owner. Only the written row and the term index are read, the tables are never rescanned.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestMatcher {
+
+    private final ItemTermRepository itemTermRepository;
+    private final RequestTermRepository requestTermRepository;
+    private final RequestMatchRepository requestMatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    @Value("${shareit.requests.max-matches:100}")
+    private final int maxMatches;
+    @Value("${shareit.requests.index-batch-size:500}")
+    private final int indexBatchSize;
+
+    public void indexRequest(Request request) {
+        var terms = saveTerms(request);
+        if (terms.isEmpty()) return;
+        var matches = requestMatchRepository.insertForRequest(request.getId(), request.getUser().getId(), terms,
+                request.getCreated(), maxMatches);
+        log.debug("Request {} matched {} items", request.getId(), matches);
+    }
+
+    public void indexItem(Item item) {
+        itemTermRepository.deleteAllByItemId(item.getId());
+        var terms = saveTerms(item);
+        if (terms.isEmpty() || !Boolean.TRUE.equals(item.getAvailable())) return;
+        var matches = requestMatchRepository.insertForItem(item.getId(), item.getOwner().getId(), terms,
+                LocalDateTime.now(clock), maxMatches);
+        log.debug("Item {} matched {} requests", item.getId(), matches);
+    }
+
+    /**
+     * Stops matching items to an answered request.
+     */
+    public void close(long requestId) {
+        requestTermRepository.deleteAllByRequestId(requestId);
+    }
+
+    /**
+     * Indexes the terms of the items and open requests written before the index existed, without matching them,
+     * so that old rows do not notify anybody.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexExisting() {
+        var items = indexExisting(itemTermRepository::findUnindexedItems, this::saveTerms, Item::getId);
+        var requests = indexExisting(requestTermRepository::findUnindexedOpenRequests, this::saveTerms,
+                Request::getId);
+        if (items > 0 || requests > 0) {
+            log.info("Indexed the terms of {} items and {} open requests", items, requests);
+        }
+    }
+
+    private <T> int indexExisting(BiFunction<Long, Pageable, List<T>> finder, Consumer<T> index,
+                                  ToLongFunction<T> id) {
+        var count = 0;
+        var afterId = 0L;
+        List<T> batch;
+        do {
+            var from = afterId;
+            batch = transactionTemplate.execute(status -> {
+                var rows = finder.apply(from, PageRequest.ofSize(indexBatchSize));
+                rows.forEach(index);
+                return rows;
+            });
+            count += batch.size();
+            if (!batch.isEmpty()) afterId = id.applyAsLong(batch.get(batch.size() - 1));
+        } while (batch.size() == indexBatchSize);
+        return count;
+    }
+
+    private Set<String> saveTerms(Item item) {
+        var terms = MatchTerms.of(item.getName(), item.getDescription());
+        itemTermRepository.saveAll(terms.stream()
+                .map(term -> new ItemTerm(term, item.getId()))
+                .collect(Collectors.toList()));
+        return terms;
+    }
+
+    private Set<String> saveTerms(Request request) {
+        var terms = MatchTerms.of(request.getDescription());
+        requestTermRepository.saveAll(terms.stream()
+                .map(term -> new RequestTerm(term, request.getId()))
+                .collect(Collectors.toList()));
+        return terms;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.request.match;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import java.io.Serializable;
+
+/**
+ * A term of the description of an open request.
+ */
+@Entity
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "request_terms")
+@IdClass(RequestTerm.Key.class)
+public class RequestTerm implements Persistable<RequestTerm.Key> {
+
+    @Id
+    private String term;
+    @Id
+    @Column(name = "request_id")
+    private Long requestId;
+
+    @Override
+    public Key getId() {
+        return new Key(term, requestId);
+    }
+
+    /**
+     * Terms are only inserted, and deleted once the request is answered.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String term;
+        private Long requestId;
+    }
+}
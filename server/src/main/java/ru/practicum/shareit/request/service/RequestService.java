@@ -1,8 +1,13 @@
 package ru.practicum.shareit.request.service;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.RequestFeedCursor;
 import ru.practicum.shareit.request.dto.RequestCreateDto;
 import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.dto.RequestFeedDto;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
 import ru.practicum.shareit.request.dto.RequestWithItemsDto;
 
 import java.util.List;
@@ -15,5 +20,11 @@ public interface RequestService {
 
     List<RequestWithItemsDto> findByUserId(long userId);
 
-    List<RequestWithItemsDto> findAll(long userId, Pageable pageable);
+    Slice<RequestWithItemsDto> findAll(long userId, Pageable pageable);
+
+    RequestFeedDto findFeed(long userId, RequestFeedCursor cursor, int size);
+
+    List<ItemDto> findSuggestions(long userId, long requestId);
+
+    List<RequestMatchDto> findMatches(long userId, long afterId, int size);
 }
@@ -1,26 +1,43 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ErrorMessages;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithRequestDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.outbox.Outbox;
+import ru.practicum.shareit.outbox.OutboxEventType;
 import ru.practicum.shareit.request.Request;
+import ru.practicum.shareit.request.RequestFeedCursor;
+import ru.practicum.shareit.request.RequestFeedRow;
+import ru.practicum.shareit.request.dao.RequestMatchRepository;
 import ru.practicum.shareit.request.dao.RequestRepository;
 import ru.practicum.shareit.request.dto.RequestCreateDto;
 import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.dto.RequestFeedDto;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
 import ru.practicum.shareit.request.dto.RequestWithItemsDto;
 import ru.practicum.shareit.request.mapper.RequestMapper;
+import ru.practicum.shareit.request.match.RequestMatcher;
 import ru.practicum.shareit.user.dao.UserRepository;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,15 +49,24 @@ public class RequestServiceImpl implements RequestService {
     private final ItemRepository itemRepository;
     private final RequestMapper requestMapper;
     private final ItemMapper itemMapper;
+    private final RequestMatchRepository requestMatchRepository;
+    private final RequestMatcher requestMatcher;
+    private final Outbox outbox;
+    private final Clock clock;
+    @Value("${shareit.requests.max-page-size:100}")
+    private final int maxPageSize;
 
     @Override
     @Transactional
     public RequestDto create(long userId, RequestCreateDto requestCreateDto) {
         var user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException(ErrorMessages.USER_NOT_FOUND.getFormatMessage(userId)));
-        var rq = requestMapper.toModel(requestCreateDto, user, LocalDateTime.now());
+        var rq = requestMapper.toModel(requestCreateDto, user, LocalDateTime.now(clock));
         var request = requestRepository.save(rq);
-        return requestMapper.toDto(request);
+        requestMatcher.indexRequest(request);
+        var created = requestMapper.toDto(request);
+        outbox.publish(OutboxEventType.REQUEST_CREATED, created.getId(), created);
+        return created;
     }
 
     @Override
@@ -67,11 +93,74 @@ public class RequestServiceImpl implements RequestService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<RequestWithItemsDto> findAll(long userId, Pageable pageable) {
+    public Slice<RequestWithItemsDto> findAll(long userId, Pageable pageable) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException(ErrorMessages.USER_NOT_FOUND.getFormatMessage(userId)));
-        List<Request> requests = requestRepository.findAllByUserIdNot(userId, pageable);
-        return getItems(requests);
+        var first = RequestFeedCursor.FIRST;
+        var requests = toRequestsWithItems(requestRepository.findFeed(userId, first.getCreated(), first.getId(),
+                pageable.getPageSize() + 1, pageable.getOffset()));
+        var hasNext = requests.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? requests.subList(0, pageable.getPageSize()) : requests, pageable, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RequestFeedDto findFeed(long userId, RequestFeedCursor cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_PAGE_SIZE.getMessage());
+        }
+        userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException(ErrorMessages.USER_NOT_FOUND.getFormatMessage(userId)));
+        var pageSize = Math.min(size, maxPageSize);
+        var requests = toRequestsWithItems(requestRepository.findFeed(userId, cursor.getCreated(), cursor.getId(),
+                pageSize + 1, 0));
+        String nextCursor = null;
+        if (requests.size() > pageSize) {
+            requests = requests.subList(0, pageSize);
+            var last = requests.get(pageSize - 1);
+            nextCursor = new RequestFeedCursor(last.getCreated(), last.getId()).encode();
+        }
+        return RequestFeedDto.builder()
+                .requests(requests)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDto> findSuggestions(long userId, long requestId) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException(ErrorMessages.USER_NOT_FOUND.getFormatMessage(userId)));
+        var request = requestRepository.findById(requestId)
+                .orElseThrow(() -> new NotFoundException(ErrorMessages.REQUEST_NOT_FOUND.getFormatMessage(requestId)));
+        if (request.getUser().getId() != userId) {
+            throw new AccessDeniedException(ErrorMessages.AUTHOR_SUGGESTIONS.getMessage());
+        }
+        return itemMapper.toDto(requestMatchRepository.findAvailableItemsByRequestId(requestId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RequestMatchDto> findMatches(long userId, long afterId, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_PAGE_SIZE.getMessage());
+        }
+        userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException(ErrorMessages.USER_NOT_FOUND.getFormatMessage(userId)));
+        var pageable = PageRequest.ofSize(Math.min(size, maxPageSize));
+        return requestMapper.toMatchDto(requestMatchRepository.findAllByOwnerIdAndIdGreaterThanOrderById(userId,
+                afterId, pageable));
+    }
+
+    private List<RequestWithItemsDto> toRequestsWithItems(List<RequestFeedRow> rows) {
+        Map<Long, List<RequestFeedRow>> requests = rows.stream()
+                .collect(Collectors.groupingBy(RequestFeedRow::getId, LinkedHashMap::new, Collectors.toList()));
+        return requests.values().stream()
+                .map(requestRows -> requestMapper.toRequestWithItemsDto(requestRows.get(0), requestRows.stream()
+                        .filter(row -> row.getItemId() != null)
+                        .map(requestMapper::toItemWithRequestDto)
+                        .collect(Collectors.toList())))
+                .collect(Collectors.toList());
     }
 
     private List<RequestWithItemsDto> getItems(List<Request> requests) {
@@ -1,8 +1,12 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.logging.Logging;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
@@ -14,7 +18,10 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final int STREAM_CHUNK_SIZE = 500;
+
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @Logging
     @PostMapping
@@ -31,8 +38,30 @@ public class UserController {
 
     @Logging
     @GetMapping
-    public List<UserDto> getAll() {
-        return userService.getAll();
+    public List<UserDto> getAll(@RequestParam(defaultValue = "0") long afterId,
+                                @RequestParam(defaultValue = "100") int size) {
+        return userService.getAll(afterId, size);
+    }
+
+    @Logging
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(defaultValue = "0") long afterId) {
+        StreamingResponseBody body = outputStream -> {
+            var cursor = afterId;
+            List<UserDto> chunk;
+            do {
+                chunk = userService.getAll(cursor, STREAM_CHUNK_SIZE);
+                for (var user : chunk) {
+                    outputStream.write(objectMapper.writeValueAsBytes(user));
+                    outputStream.write('\n');
+                    cursor = user.getId();
+                }
+                outputStream.flush();
+            } while (chunk.size() == STREAM_CHUNK_SIZE);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @Logging
@@ -1,8 +1,23 @@
 package ru.practicum.shareit.user.dao;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    List<User> findAllByIdGreaterThanOrderById(long afterId, Pageable pageable);
+
+    /**
+     * Reads the user and locks its row until the transaction ends, so its writers publish their changes in order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u from User u where u.id = ?1")
+    Optional<User> findByIdForUpdate(long id);
 }
@@ -10,7 +10,7 @@ public interface UserService {
 
     UserDto findById(Long id);
 
-    List<UserDto> getAll();
+    List<UserDto> getAll(long afterId, int size);
 
     UserDto update(long id, UserDto user);
 
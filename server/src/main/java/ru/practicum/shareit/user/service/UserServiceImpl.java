@@ -1,27 +1,43 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.service.BookingListCache;
 import ru.practicum.shareit.exception.ErrorMessages;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.service.LatestCommentsCache;
+import ru.practicum.shareit.outbox.Outbox;
+import ru.practicum.shareit.outbox.OutboxEventType;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
     private final UserMapper userMapper;
+    private final LatestCommentsCache latestCommentsCache;
+    private final BookingListCache bookingListCache;
+    private final Outbox outbox;
+    @Value("${shareit.users.max-page-size:1000}")
+    private final int maxPageSize;
 
     @Override
     @Transactional
     public UserDto create(UserDto user) {
-        return userMapper.userToDto(userRepository.save(userMapper.dtoToUser(user)));
+        var created = userMapper.userToDto(userRepository.save(userMapper.dtoToUser(user)));
+        outbox.publish(OutboxEventType.USER_CREATED, created.getId(), created);
+        return created;
     }
 
     @Override
@@ -34,24 +50,37 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<UserDto> getAll() {
-        return userMapper.usersToDto(userRepository.findAll());
+    public List<UserDto> getAll(long afterId, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_PAGE_SIZE.getMessage());
+        }
+        var pageable = PageRequest.ofSize(Math.min(size, maxPageSize));
+        return userMapper.usersToDto(userRepository.findAllByIdGreaterThanOrderById(afterId, pageable));
     }
 
     @Override
     @Transactional
     public UserDto update(long id, UserDto userDto) {
-        var oldUser = userRepository.findById(id)
+        var oldUser = userRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new NotFoundException(ErrorMessages.USER_NOT_FOUND.getFormatMessage(id)));
         userDto.setId(id);
         userMapper.dtoToUser(oldUser, userDto);
-        var user = userRepository.save(oldUser);
-        return userMapper.userToDto(user);
+        var user = userMapper.userToDto(userRepository.save(oldUser));
+        outbox.publish(OutboxEventType.USER_UPDATED, id, user);
+        return user;
     }
 
     @Override
     @Transactional
     public void delete(Long id) {
+        // held until commit, so writers of the user publish before or after the deletion
+        userRepository.findByIdForUpdate(id);
+        // their comments and bookings on any item go with them
+        itemRepository.decrementCommentsCountByAuthor(id);
+        itemRepository.removeApprovedBookingsByBooker(id);
         userRepository.deleteById(id);
+        outbox.publish(OutboxEventType.USER_DELETED, id, Map.of("id", id));
+        latestCommentsCache.clear();
+        bookingListCache.clear();
     }
 }
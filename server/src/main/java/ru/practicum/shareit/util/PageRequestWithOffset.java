@@ -2,6 +2,7 @@ package ru.practicum.shareit.util;
 
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exception.ErrorMessages;
 
 public class PageRequestWithOffset extends PageRequest {
     /**
@@ -16,10 +17,16 @@ public class PageRequestWithOffset extends PageRequest {
     }
 
     public static PageRequestWithOffset of(int from, int size, Sort sort) {
+        if (size < 1) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_PAGE_SIZE.getMessage());
+        }
+        if (from < 0) {
+            throw new IllegalArgumentException(ErrorMessages.INVALID_PAGE_FROM.getMessage());
+        }
         return new PageRequestWithOffset(from, size, sort);
     }
 
     public static PageRequestWithOffset of(int from, int size) {
-        return new PageRequestWithOffset(from, size, Sort.unsorted());
+        return of(from, size, Sort.unsorted());
     }
 }
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+
+/**
+ * Number of rows a query would return as estimated by the PostgreSQL planner from the table statistics,
+ * without running it. Other databases give no estimate.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlannerRowEstimator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private volatile Boolean postgres;
+
+    public OptionalLong estimate(String sql, Object... args) {
+        if (!isPostgres()) return OptionalLong.empty();
+        try {
+            var plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+            return planRows(objectMapper, plan);
+        } catch (DataAccessException e) {
+            log.warn("Row estimate failed: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    static OptionalLong planRows(ObjectMapper objectMapper, String plan) {
+        try {
+            var rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? OptionalLong.of(rows.asLong()) : OptionalLong.empty();
+        } catch (JsonProcessingException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = "PostgreSQL".equals(jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+}
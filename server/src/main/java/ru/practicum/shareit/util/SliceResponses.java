@@ -0,0 +1,30 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * List responses carrying the page metadata in headers, so the body stays the plain list clients already read.
+ */
+public final class SliceResponses {
+
+    public static final String HAS_NEXT = "X-Has-Next";
+    public static final String TOTAL_COUNT_ESTIMATE = "X-Total-Count-Estimate";
+
+    private SliceResponses() {
+    }
+
+    public static <T> ResponseEntity<List<T>> of(Slice<T> slice) {
+        return of(slice, OptionalLong.empty());
+    }
+
+    public static <T> ResponseEntity<List<T>> of(Slice<T> slice, OptionalLong totalCountEstimate) {
+        var response = ResponseEntity.ok()
+                .header(HAS_NEXT, String.valueOf(slice.hasNext()));
+        totalCountEstimate.ifPresent(total -> response.header(TOTAL_COUNT_ESTIMATE, String.valueOf(total)));
+        return response.body(slice.getContent());
+    }
+}
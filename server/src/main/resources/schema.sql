@@ -18,9 +18,26 @@ CREATE TABLE IF NOT EXISTS items (
   request_id bigint REFERENCES requests(id) ON DELETE SET NULL,
   name varchar(100) NOT NULL,
   description varchar(1000) NOT NULL,
-  available bool NOT NULL
+  available bool NOT NULL,
+  comments_count bigint NOT NULL DEFAULT 0,
+  bookings_count bigint NOT NULL DEFAULT 0,
+  last_booked_at timestamp,
+  latitude double precision,
+  longitude double precision,
+  geohash varchar(12)
 );
 
+ALTER TABLE items ADD COLUMN IF NOT EXISTS comments_count bigint NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS bookings_count bigint NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS last_booked_at timestamp;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS latitude double precision;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS longitude double precision;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS geohash varchar(12);
+
+CREATE INDEX IF NOT EXISTS requests_created_idx ON requests (created, id);
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (request_id);
+CREATE INDEX IF NOT EXISTS items_geohash_idx ON items (geohash);
+
 CREATE TABLE IF NOT EXISTS booking (
   id bigint generated by default as identity PRIMARY KEY,
   booker_id bigint NOT NULL REFERENCES users(id) ON DELETE CASCADE,
@@ -30,6 +47,10 @@ CREATE TABLE IF NOT EXISTS booking (
   end_booking timestamp NOT NULL
 );
 
+CREATE INDEX IF NOT EXISTS booking_item_booker_idx ON booking (item_id, booker_id, status, end_booking);
+CREATE INDEX IF NOT EXISTS booking_status_start_idx ON booking (status, start_booking);
+CREATE INDEX IF NOT EXISTS booking_item_status_end_idx ON booking (item_id, status, end_booking, start_booking);
+
 CREATE TABLE IF NOT EXISTS comments (
   id bigint generated by default as identity PRIMARY KEY,
   author_id bigint NOT NULL REFERENCES users(id) ON DELETE CASCADE,
@@ -37,3 +58,51 @@ CREATE TABLE IF NOT EXISTS comments (
   text varchar(1000) NOT NULL,
   created timestamp NOT NULL
 );
+
+CREATE INDEX IF NOT EXISTS comments_item_idx ON comments (item_id, id);
+
+CREATE TABLE IF NOT EXISTS item_terms (
+  term varchar(50) NOT NULL,
+  item_id bigint NOT NULL REFERENCES items(id) ON DELETE CASCADE,
+  PRIMARY KEY (term, item_id)
+);
+
+CREATE INDEX IF NOT EXISTS item_terms_item_idx ON item_terms (item_id);
+
+CREATE TABLE IF NOT EXISTS request_terms (
+  term varchar(50) NOT NULL,
+  request_id bigint NOT NULL REFERENCES requests(id) ON DELETE CASCADE,
+  PRIMARY KEY (term, request_id)
+);
+
+CREATE INDEX IF NOT EXISTS request_terms_request_idx ON request_terms (request_id);
+
+CREATE TABLE IF NOT EXISTS request_matches (
+  id bigint generated by default as identity PRIMARY KEY,
+  request_id bigint NOT NULL REFERENCES requests(id) ON DELETE CASCADE,
+  item_id bigint NOT NULL REFERENCES items(id) ON DELETE CASCADE,
+  owner_id bigint NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+  created timestamp NOT NULL,
+  CONSTRAINT request_matches_request_item UNIQUE (request_id, item_id)
+);
+
+CREATE INDEX IF NOT EXISTS request_matches_owner_idx ON request_matches (owner_id, id);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+  id bigint generated by default as identity PRIMARY KEY,
+  aggregate_type varchar(50) NOT NULL,
+  aggregate_id bigint NOT NULL,
+  type varchar(50) NOT NULL,
+  payload varchar(8000) NOT NULL,
+  created timestamp NOT NULL,
+  attempts int NOT NULL DEFAULT 0,
+  status varchar(20) NOT NULL DEFAULT 'PENDING'
+);
+
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS status varchar(20) NOT NULL DEFAULT 'PENDING';
+
+CREATE TABLE IF NOT EXISTS outbox_relay_lock (
+  id int PRIMARY KEY
+);
+
+INSERT INTO outbox_relay_lock (id) SELECT 1 WHERE NOT EXISTS (SELECT 1 FROM outbox_relay_lock);
@@ -1,13 +1,16 @@
 package ru.practicum.shareit.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -16,25 +19,36 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import ru.practicum.shareit.booking.dto.BookerDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemBookingSummaryDto;
+import ru.practicum.shareit.booking.dto.OwnerBookingSummaryDto;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.config.SmileConfig;
 import ru.practicum.shareit.exception.ErrorMessages;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.util.PageRequestWithOffset;
+import ru.practicum.shareit.util.SliceResponses;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
+@Import(SmileConfig.class)
 class BookingControllerTest {
 
     @Autowired
@@ -214,6 +228,37 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status", is(response.getStatus().name())));
     }
 
+    @Test
+    void getSmileOk() throws Exception {
+        var start = LocalDateTime.of(2024, 1, 1, 12, 0);
+        var userId = 1L;
+        var response = BookingDto.builder()
+                .id(1L)
+                .booker(new BookerDto(2L))
+                .item(new ItemShortDto(1L, "My drill"))
+                .start(start)
+                .end(start.plusDays(1))
+                .status(BookingStatus.APPROVED)
+                .build();
+        var smile = new MediaType("application", "x-jackson-smile");
+        var mockRequest = MockMvcRequestBuilders.get("/bookings/1")
+                .accept(smile)
+                .header(CUSTOM_HEADER, userId);
+        when(bookingService.findById(response.getId(), userId))
+                .thenReturn(response);
+        var body = mockMvc.perform(mockRequest)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        var booking = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertThat(booking.get("item").get("name").asText(), equalTo("My drill"));
+        assertThat(booking.get("start").asText(), equalTo("2024-01-01T12:00:00"));
+        assertThat(booking.get("status").asText(), equalTo("APPROVED"));
+    }
+
     @Test
     void getWithoutUserFail() throws Exception {
         var mockRequest = MockMvcRequestBuilders.get("/bookings/1")
@@ -254,7 +299,7 @@ class BookingControllerTest {
 
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
         when(bookingService.findAllForUser(bookerId, BookingState.ALL, pageable))
-                .thenReturn(response);
+                .thenReturn(new SliceImpl<>(response));
         mockMvc.perform(mockRequest)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(response.size())));
@@ -267,13 +312,82 @@ class BookingControllerTest {
                     .param("size", String.valueOf(size));
 
             when(bookingService.findAllForUser(bookerId, state, pageable))
-                    .thenReturn(response);
+                    .thenReturn(new SliceImpl<>(response));
             mockMvc.perform(mockRequest)
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$", hasSize(response.size())));
         }
     }
 
+    @Test
+    void getAllForOwnerHeadersOk() throws Exception {
+        var ownerId = 1L;
+        var from = 0;
+        var size = 1;
+        var response = List.of(BookingDto.builder()
+                .id(1L)
+                .booker(new BookerDto(2L))
+                .item(new ItemShortDto(1L, "My drill"))
+                .status(BookingStatus.WAITING)
+                .build());
+        Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
+        when(bookingService.findAllForOwner(ownerId, BookingState.WAITING, pageable))
+                .thenReturn(new SliceImpl<>(response, pageable, true));
+        when(bookingService.estimateTotalForOwner(ownerId, BookingState.WAITING))
+                .thenReturn(OptionalLong.of(42));
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner")
+                        .header(CUSTOM_HEADER, ownerId)
+                        .param("state", BookingState.WAITING.name())
+                        .param("from", String.valueOf(from))
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string(SliceResponses.HAS_NEXT, "true"))
+                .andExpect(header().string(SliceResponses.TOTAL_COUNT_ESTIMATE, "42"));
+
+        when(bookingService.findAllForOwner(ownerId, BookingState.WAITING, pageable))
+                .thenReturn(new SliceImpl<>(response, pageable, false));
+        when(bookingService.estimateTotalForOwner(ownerId, BookingState.WAITING))
+                .thenReturn(OptionalLong.empty());
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner")
+                        .header(CUSTOM_HEADER, ownerId)
+                        .param("state", BookingState.WAITING.name())
+                        .param("from", String.valueOf(from))
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SliceResponses.HAS_NEXT, "false"))
+                .andExpect(header().doesNotExist(SliceResponses.TOTAL_COUNT_ESTIMATE));
+    }
+
+    @Test
+    void getOwnerSummaryOk() throws Exception {
+        var ownerId = 1L;
+        var start = LocalDateTime.of(2030, 1, 2, 10, 30, 15);
+        var item = ItemBookingSummaryDto.builder()
+                .item(new ItemShortDto(1L, "My drill"))
+                .counts(Map.of(BookingState.ALL, 2L, BookingState.FUTURE, 1L))
+                .nextStart(start)
+                .build();
+        when(bookingService.summarizeForOwner(ownerId)).thenReturn(OwnerBookingSummaryDto.builder()
+                .counts(Map.of(BookingState.ALL, 2L, BookingState.FUTURE, 1L))
+                .items(List.of(item))
+                .upcoming(List.of(item))
+                .build());
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner/summary")
+                        .header(CUSTOM_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.ALL", is(2)))
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].item.name", is("My drill")))
+                .andExpect(jsonPath("$.upcoming[0].nextStart", is("2030-01-02T10:30:15")));
+
+        when(bookingService.summarizeForOwner(ownerId))
+                .thenThrow(new NotFoundException(ErrorMessages.USER_NOT_FOUND.getFormatMessage(ownerId)));
+        mockMvc.perform(MockMvcRequestBuilders.get("/bookings/owner/summary")
+                        .header(CUSTOM_HEADER, ownerId))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getAllForOwnerOk() throws Exception {
         var start = LocalDateTime.now().plusHours(1);
@@ -306,7 +420,7 @@ class BookingControllerTest {
                 .param("size", String.valueOf(size));
 
         when(bookingService.findAllForOwner(ownerId, BookingState.ALL, pageable))
-                .thenReturn(response);
+                .thenReturn(new SliceImpl<>(response));
         mockMvc.perform(mockRequest)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(response.size())));
@@ -319,7 +433,7 @@ class BookingControllerTest {
                     .param("size", String.valueOf(size));
 
             when(bookingService.findAllForOwner(ownerId, state, pageable))
-                    .thenReturn(response);
+                    .thenReturn(new SliceImpl<>(response));
             mockMvc.perform(mockRequest)
                     .andExpect(status().isOk())
                     .andExpect(jsonPath("$", hasSize(response.size())));
@@ -76,7 +76,7 @@ class BookingRepositoryTest {
                 .filter(b -> b.getStart().isBefore(currentTime) && b.getEnd().isAfter(currentTime))
                 .sorted(Comparator.comparing(Booking::getStart).reversed())
                 .collect(Collectors.toList());
-        var result = bookingRepository.findAllByBookerCurrent(bookerId, LocalDateTime.now(), pageable);
+        var result = bookingRepository.findAllByBookerCurrent(bookerId, LocalDateTime.now(), pageable).getContent();
 
         assertThat(result).hasSize(booking.size());
         assertThat(result)
@@ -98,7 +98,7 @@ class BookingRepositoryTest {
                 .filter(b -> b.getStart().isBefore(currentTime) && b.getEnd().isAfter(currentTime))
                 .sorted(Comparator.comparing(Booking::getStart).reversed())
                 .collect(Collectors.toList());
-        var result = bookingRepository.findAllByItemOwnerCurrent(ownerId, LocalDateTime.now(), pageable);
+        var result = bookingRepository.findAllByItemOwnerCurrent(ownerId, LocalDateTime.now(), pageable).getContent();
 
         assertThat(result).hasSize(booking.size());
         assertThat(result)
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingListCache;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ErrorMessages;
+import ru.practicum.shareit.outbox.Outbox;
+import ru.practicum.shareit.outbox.OutboxEvent;
+import ru.practicum.shareit.outbox.OutboxEventType;
+import ru.practicum.shareit.outbox.OutboxRepository;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingExpiryJobTest {
+
+    private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final TransactionTemplate transactionTemplate;
+    private final Outbox outbox;
+    private final OutboxRepository outboxRepository;
+    private final BookingListCache bookingListCache;
+    private final Clock clock;
+    private final EntityManager em;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void expireOk() {
+        var now = LocalDateTime.now();
+        var stale = em.createQuery("select b from Booking b where b.status = :status and b.start < :before",
+                        Booking.class)
+                .setParameter("status", BookingStatus.WAITING)
+                .setParameter("before", now.minusMinutes(10))
+                .getResultList().stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        var waiting = countWaiting();
+
+        assertThat(job(Duration.ofMinutes(10), 1).expire(), equalTo(stale.size()));
+        em.clear();
+        assertThat(countWaiting(), equalTo(waiting - stale.size()));
+        for (var id : stale) {
+            assertThat(em.find(Booking.class, id).getStatus(), equalTo(BookingStatus.REJECTED));
+        }
+        assertThat(outboxRepository.findAll().stream()
+                .filter(event -> event.getType() == OutboxEventType.BOOKING_EXPIRED)
+                .map(OutboxEvent::getAggregateId)
+                .collect(Collectors.toList()), equalTo(stale));
+        assertThat(meterRegistry.counter(BookingExpiryJob.EXPIRED).count(), equalTo((double) stale.size()));
+        assertThat(job(Duration.ofMinutes(10), 1).expire(), equalTo(0));
+    }
+
+    @Test
+    void gracePeriodOk() {
+        var recent = em.createQuery("select b from Booking b where b.status = :status and b.start < :now",
+                        Booking.class)
+                .setParameter("status", BookingStatus.WAITING)
+                .setParameter("now", LocalDateTime.now())
+                .getResultList();
+
+        job(Duration.ofDays(7), 100).expire();
+        em.clear();
+        assertThat(recent.stream()
+                .map(booking -> em.find(Booking.class, booking.getId()).getStatus())
+                .collect(Collectors.toList()), everyItem(equalTo(BookingStatus.WAITING)));
+    }
+
+    @Test
+    void approveAfterExpiryFail() {
+        var stale = findStale();
+
+        job(Duration.ofMinutes(10), 100).expire();
+        var exception = assertThrows(AccessDeniedException.class,
+                () -> bookingService.updateStatus(stale.getId(), stale.getItem().getOwner().getId(), true));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.STATUS_DECIDED.getMessage()));
+        em.clear();
+        assertThat(em.find(Booking.class, stale.getId()).getStatus(), equalTo(BookingStatus.REJECTED));
+    }
+
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void approvalReadBeforeExpiryFail() {
+        var stale = transactionTemplate.execute(status -> findStale());
+        var ownerId = stale.getItem().getOwner().getId();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // the owner reads the booking as waiting and decides it once the job has committed
+            bookingRepository.findByIdAndItemOwnerId(stale.getId(), ownerId);
+            assertThat(CompletableFuture.supplyAsync(() -> job(Duration.ofMinutes(10), 100).expire()).join(),
+                    greaterThan(0));
+            var exception = assertThrows(AccessDeniedException.class,
+                    () -> bookingService.updateStatus(stale.getId(), ownerId, true));
+            assertThat(exception.getMessage(), equalTo(ErrorMessages.STATUS_DECIDED.getMessage()));
+            status.setRollbackOnly();
+        });
+        assertThat(bookingRepository.findById(stale.getId()).get().getStatus(), equalTo(BookingStatus.REJECTED));
+    }
+
+    private Booking findStale() {
+        return em.createQuery("select b from Booking b join fetch b.item i join fetch i.owner " +
+                        "where b.status = :status and b.start < :before", Booking.class)
+                .setParameter("status", BookingStatus.WAITING)
+                .setParameter("before", LocalDateTime.now().minusMinutes(10))
+                .setMaxResults(1)
+                .getSingleResult();
+    }
+
+    private long countWaiting() {
+        return em.createQuery("select count(b) from Booking b where b.status = :status", Long.class)
+                .setParameter("status", BookingStatus.WAITING)
+                .getSingleResult();
+    }
+
+    private BookingExpiryJob job(Duration gracePeriod, int batchSize) {
+        var properties = new BookingExpiryProperties();
+        properties.setGracePeriod(gracePeriod);
+        properties.setBatchSize(batchSize);
+        return new BookingExpiryJob(bookingRepository, transactionTemplate, null, outbox, bookingListCache,
+                meterRegistry, properties, clock);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class BookingPartitionsTest {
+
+    @Test
+    void nameOk() {
+        var month = YearMonth.of(2024, 1);
+        assertThat(BookingPartitions.name(month), equalTo("booking_p2024_01"));
+        assertThat(BookingPartitions.month("booking_p2024_01"), equalTo(Optional.of(month)));
+        assertThat(BookingPartitions.month(BookingPartitions.DEFAULT_PARTITION), equalTo(Optional.empty()));
+    }
+
+    @Test
+    void boundsOk() {
+        assertThat(BookingPartitions.bounds(YearMonth.of(2023, 12)),
+                equalTo("FROM ('2023-12-01') TO ('2024-01-01')"));
+    }
+
+    @Test
+    void monthsOk() {
+        assertThat(BookingPartitions.months(YearMonth.of(2023, 11), YearMonth.of(2024, 2)), equalTo(List.of(
+                YearMonth.of(2023, 11), YearMonth.of(2023, 12), YearMonth.of(2024, 1), YearMonth.of(2024, 2))));
+        assertThat(BookingPartitions.months(YearMonth.of(2024, 2), YearMonth.of(2024, 1)), equalTo(List.of()));
+    }
+
+    @Test
+    void isArchivableOk() {
+        var current = YearMonth.of(2024, 6);
+        assertThat(BookingPartitions.isArchivable(YearMonth.of(2023, 5), current, 12), is(true));
+        assertThat(BookingPartitions.isArchivable(YearMonth.of(2023, 6), current, 12), is(false));
+        assertThat(BookingPartitions.isArchivable(YearMonth.of(2020, 1), current, 0), is(false));
+    }
+}
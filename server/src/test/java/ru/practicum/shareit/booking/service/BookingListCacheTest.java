@@ -0,0 +1,141 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.OwnerBookingSummaryDto;
+import ru.practicum.shareit.booking.enums.BookingState;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+class BookingListCacheTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 12, 0, 30);
+
+    private final TestClock clock = new TestClock(START.toInstant(ZoneOffset.UTC));
+    private final List<LocalDateTime> loads = new ArrayList<>();
+
+    @Test
+    void cachedWithinBucketOk() {
+        var cache = new BookingListCache(clock, 10, Duration.ofMinutes(1));
+
+        get(cache, 1L, BookingState.ALL);
+        clock.advance(Duration.ofSeconds(20));
+        get(cache, 1L, BookingState.ALL);
+        assertThat(loads, equalTo(List.of(START.withSecond(0))));
+
+        get(cache, 1L, BookingState.PAST);
+        get(cache, 2L, BookingState.ALL);
+        assertThat(loads.size(), equalTo(3));
+
+        clock.advance(Duration.ofSeconds(20));
+        get(cache, 1L, BookingState.ALL);
+        assertThat(loads.get(3), equalTo(START.plusMinutes(1).withSecond(0)));
+    }
+
+    @Test
+    void evictOk() {
+        var cache = new BookingListCache(clock, 10, Duration.ofMinutes(1));
+
+        get(cache, 1L, BookingState.ALL);
+        get(cache, 2L, BookingState.ALL);
+        cache.evict(1L);
+        get(cache, 1L, BookingState.ALL);
+        get(cache, 2L, BookingState.ALL);
+        assertThat(loads.size(), equalTo(3));
+
+        cache.clear();
+        get(cache, 2L, BookingState.ALL);
+        assertThat(loads.size(), equalTo(4));
+    }
+
+    @Test
+    void evictedWhileLoadingNotCachedOk() {
+        var cache = new BookingListCache(clock, 10, Duration.ofMinutes(1));
+
+        cache.get(BookingListCache.Role.OWNER, 1L, BookingState.ALL, PageRequest.ofSize(10), now -> {
+            cache.evict(1L);
+            return load(now);
+        });
+        get(cache, 1L, BookingState.ALL);
+        assertThat(loads.size(), equalTo(2));
+    }
+
+    @Test
+    void ownerSummaryOk() {
+        var cache = new BookingListCache(clock, 10, Duration.ofMinutes(1));
+        Function<LocalDateTime, OwnerBookingSummaryDto> loader = now -> {
+            loads.add(now);
+            return OwnerBookingSummaryDto.builder().build();
+        };
+
+        var summary = cache.getOwnerSummary(1L, loader);
+        get(cache, 1L, BookingState.ALL);
+        assertThat(cache.getOwnerSummary(1L, loader), sameInstance(summary));
+        assertThat(loads.size(), equalTo(2));
+
+        cache.evict(1L);
+        cache.getOwnerSummary(1L, loader);
+        assertThat(loads.size(), equalTo(3));
+    }
+
+    @Test
+    void disabledOk() {
+        var cache = new BookingListCache(clock, 0, Duration.ofMinutes(1));
+
+        get(cache, 1L, BookingState.ALL);
+        get(cache, 1L, BookingState.ALL);
+        assertThat(loads, equalTo(List.of(START, START)));
+    }
+
+    private Slice<BookingDto> get(BookingListCache cache, long userId, BookingState state) {
+        return cache.get(BookingListCache.Role.OWNER, userId, state, PageRequest.ofSize(10), this::load);
+    }
+
+    private Slice<BookingDto> load(LocalDateTime now) {
+        loads.add(now);
+        return new SliceImpl<>(List.of());
+    }
+
+    private static class TestClock extends Clock {
+
+        private Instant instant;
+
+        TestClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ErrorMessages;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.util.PageRequestWithOffset;
 
 import javax.persistence.EntityManager;
@@ -24,12 +25,17 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.monitoring.SqlStatementAssertions.assertMaxStatements;
 
 @Transactional
 @SpringBootTest
@@ -167,8 +173,34 @@ class BookingServiceImplTest {
         var updatedBooking = bookingService.updateStatus(result.getId(), ownerId, false);
         assertThat(updatedBooking.getStatus(), equalTo(BookingStatus.REJECTED));
 
-        updatedBooking = bookingService.updateStatus(result.getId(), ownerId, true);
-        assertThat(updatedBooking.getStatus(), equalTo(BookingStatus.APPROVED));
+        var exception = assertThrows(AccessDeniedException.class,
+                () -> bookingService.updateStatus(result.getId(), ownerId, true));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.STATUS_DECIDED.getMessage()));
+        assertThat(em.find(Booking.class, result.getId()).getStatus(), equalTo(BookingStatus.REJECTED));
+    }
+
+    @Test
+    public void updateStatusItemAggregatesOk() {
+        var bookings = em.createQuery("select b from Booking b where b.status = :status order by b.start desc",
+                        Booking.class)
+                .setParameter("status", BookingStatus.WAITING)
+                .setMaxResults(2)
+                .getResultList();
+        var booking = bookings.get(0);
+        var rejected = bookings.get(1);
+        var itemId = booking.getItem().getId();
+        var bookingsCount = booking.getItem().getBookingsCount();
+        var rejectedItemId = rejected.getItem().getId();
+        var rejectedBookingsCount = rejected.getItem().getBookingsCount();
+
+        bookingService.updateStatus(rejected.getId(), ownerId, false);
+        var item = em.find(Item.class, rejectedItemId);
+        assertThat(item.getBookingsCount(), equalTo(rejectedBookingsCount));
+
+        bookingService.updateStatus(booking.getId(), ownerId, true);
+        item = em.find(Item.class, itemId);
+        assertThat(item.getBookingsCount(), equalTo(bookingsCount + 1));
+        assertThat(item.getLastBookedAt(), equalTo(booking.getStart()));
     }
 
     @Test
@@ -216,7 +248,7 @@ class BookingServiceImplTest {
                 .sorted(Comparator.comparing(BookingDto::getStart).reversed())
                 .collect(Collectors.toList());
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        var result = bookingService.findAllForUser(bookerId, BookingState.ALL, pageable);
+        var result = bookingService.findAllForUser(bookerId, BookingState.ALL, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -229,7 +261,7 @@ class BookingServiceImplTest {
                 .limit(size)
                 .collect(Collectors.toList());
         pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        result = bookingService.findAllForUser(bookerId, BookingState.ALL, pageable);
+        result = bookingService.findAllForUser(bookerId, BookingState.ALL, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -247,7 +279,7 @@ class BookingServiceImplTest {
                 .sorted(Comparator.comparing(BookingDto::getStart).reversed())
                 .collect(Collectors.toList());
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        var result = bookingService.findAllForUser(bookerId, BookingState.CURRENT, pageable);
+        var result = bookingService.findAllForUser(bookerId, BookingState.CURRENT, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -260,7 +292,7 @@ class BookingServiceImplTest {
                 .limit(size)
                 .collect(Collectors.toList());
         pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        result = bookingService.findAllForUser(bookerId, BookingState.CURRENT, pageable);
+        result = bookingService.findAllForUser(bookerId, BookingState.CURRENT, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -278,7 +310,7 @@ class BookingServiceImplTest {
                 .sorted(Comparator.comparing(BookingDto::getStart).reversed())
                 .collect(Collectors.toList());
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        var result = bookingService.findAllForUser(bookerId, BookingState.REJECTED, pageable);
+        var result = bookingService.findAllForUser(bookerId, BookingState.REJECTED, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -291,7 +323,7 @@ class BookingServiceImplTest {
                 .limit(size)
                 .collect(Collectors.toList());
         pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        result = bookingService.findAllForUser(bookerId, BookingState.REJECTED, pageable);
+        result = bookingService.findAllForUser(bookerId, BookingState.REJECTED, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -309,7 +341,7 @@ class BookingServiceImplTest {
                 .sorted(Comparator.comparing(BookingDto::getStart).reversed())
                 .collect(Collectors.toList());
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        var result = bookingService.findAllForUser(bookerId, BookingState.WAITING, pageable);
+        var result = bookingService.findAllForUser(bookerId, BookingState.WAITING, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -322,7 +354,7 @@ class BookingServiceImplTest {
                 .limit(size)
                 .collect(Collectors.toList());
         pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        result = bookingService.findAllForUser(bookerId, BookingState.WAITING, pageable);
+        result = bookingService.findAllForUser(bookerId, BookingState.WAITING, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -340,7 +372,7 @@ class BookingServiceImplTest {
                 .sorted(Comparator.comparing(BookingDto::getStart).reversed())
                 .collect(Collectors.toList());
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        var result = bookingService.findAllForUser(bookerId, BookingState.FUTURE, pageable);
+        var result = bookingService.findAllForUser(bookerId, BookingState.FUTURE, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -353,7 +385,7 @@ class BookingServiceImplTest {
                 .limit(size)
                 .collect(Collectors.toList());
         pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        result = bookingService.findAllForUser(bookerId, BookingState.FUTURE, pageable);
+        result = bookingService.findAllForUser(bookerId, BookingState.FUTURE, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -371,7 +403,7 @@ class BookingServiceImplTest {
                 .sorted(Comparator.comparing(BookingDto::getStart).reversed())
                 .collect(Collectors.toList());
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        var result = bookingService.findAllForUser(bookerId, BookingState.PAST, pageable);
+        var result = bookingService.findAllForUser(bookerId, BookingState.PAST, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -384,7 +416,7 @@ class BookingServiceImplTest {
                 .limit(size)
                 .collect(Collectors.toList());
         pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        result = bookingService.findAllForUser(bookerId, BookingState.PAST, pageable);
+        result = bookingService.findAllForUser(bookerId, BookingState.PAST, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -400,7 +432,7 @@ class BookingServiceImplTest {
                 .sorted(Comparator.comparing(BookingDto::getStart).reversed())
                 .collect(Collectors.toList());
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        var result = bookingService.findAllForOwner(ownerId, BookingState.ALL, pageable);
+        var result = bookingService.findAllForOwner(ownerId, BookingState.ALL, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -413,7 +445,7 @@ class BookingServiceImplTest {
                 .limit(size)
                 .collect(Collectors.toList());
         pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        result = bookingService.findAllForOwner(ownerId, BookingState.ALL, pageable);
+        result = bookingService.findAllForOwner(ownerId, BookingState.ALL, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -430,7 +462,7 @@ class BookingServiceImplTest {
                 .sorted(Comparator.comparing(BookingDto::getStart).reversed())
                 .collect(Collectors.toList());
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        var result = bookingService.findAllForOwner(ownerId, BookingState.CURRENT, pageable);
+        var result = bookingService.findAllForOwner(ownerId, BookingState.CURRENT, pageable).getContent();
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
                 .isEqualTo(bookingToCompare);
@@ -442,7 +474,7 @@ class BookingServiceImplTest {
                 .limit(size)
                 .collect(Collectors.toList());
         pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        result = bookingService.findAllForOwner(ownerId, BookingState.CURRENT, pageable);
+        result = bookingService.findAllForOwner(ownerId, BookingState.CURRENT, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -459,7 +491,7 @@ class BookingServiceImplTest {
                 .sorted(Comparator.comparing(BookingDto::getStart).reversed())
                 .collect(Collectors.toList());
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        var result = bookingService.findAllForOwner(ownerId, BookingState.REJECTED, pageable);
+        var result = bookingService.findAllForOwner(ownerId, BookingState.REJECTED, pageable).getContent();
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
                 .isEqualTo(bookingToCompare);
@@ -471,7 +503,7 @@ class BookingServiceImplTest {
                 .limit(size)
                 .collect(Collectors.toList());
         pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        result = bookingService.findAllForOwner(ownerId, BookingState.REJECTED, pageable);
+        result = bookingService.findAllForOwner(ownerId, BookingState.REJECTED, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -488,7 +520,7 @@ class BookingServiceImplTest {
                 .sorted(Comparator.comparing(BookingDto::getStart).reversed())
                 .collect(Collectors.toList());
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        var result = bookingService.findAllForOwner(ownerId, BookingState.WAITING, pageable);
+        var result = bookingService.findAllForOwner(ownerId, BookingState.WAITING, pageable).getContent();
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
                 .isEqualTo(bookingToCompare);
@@ -500,7 +532,7 @@ class BookingServiceImplTest {
                 .limit(size)
                 .collect(Collectors.toList());
         pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        result = bookingService.findAllForOwner(ownerId, BookingState.WAITING, pageable);
+        result = bookingService.findAllForOwner(ownerId, BookingState.WAITING, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -517,7 +549,7 @@ class BookingServiceImplTest {
                 .sorted(Comparator.comparing(BookingDto::getStart).reversed())
                 .collect(Collectors.toList());
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        var result = bookingService.findAllForOwner(ownerId, BookingState.FUTURE, pageable);
+        var result = bookingService.findAllForOwner(ownerId, BookingState.FUTURE, pageable).getContent();
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
                 .isEqualTo(bookingToCompare);
@@ -529,7 +561,7 @@ class BookingServiceImplTest {
                 .limit(size)
                 .collect(Collectors.toList());
         pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        result = bookingService.findAllForOwner(ownerId, BookingState.FUTURE, pageable);
+        result = bookingService.findAllForOwner(ownerId, BookingState.FUTURE, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -546,7 +578,7 @@ class BookingServiceImplTest {
                 .sorted(Comparator.comparing(BookingDto::getStart).reversed())
                 .collect(Collectors.toList());
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        var result = bookingService.findAllForOwner(ownerId, BookingState.PAST, pageable);
+        var result = bookingService.findAllForOwner(ownerId, BookingState.PAST, pageable).getContent();
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
                 .isEqualTo(bookingToCompare);
@@ -558,7 +590,7 @@ class BookingServiceImplTest {
                 .limit(size)
                 .collect(Collectors.toList());
         pageable = PageRequestWithOffset.of(from, size, Sort.by("start").descending());
-        result = bookingService.findAllForOwner(ownerId, BookingState.PAST, pageable);
+        result = bookingService.findAllForOwner(ownerId, BookingState.PAST, pageable).getContent();
         assertThat(result, hasSize(bookingToCompare.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -569,6 +601,65 @@ class BookingServiceImplTest {
         return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
     }
 
+    @Test
+    public void findAllHasNextOk() {
+        var bookings = getBookingsForUser();
+        var partial = PageRequestWithOffset.of(0, bookings.size() - 1, Sort.by("start").descending());
+        assertThat(bookingService.findAllForUser(bookerId, BookingState.ALL, partial).hasNext(), is(true));
+        var full = PageRequestWithOffset.of(0, bookings.size(), Sort.by("start").descending());
+        var result = assertMaxStatements(2, () -> bookingService.findAllForUser(bookerId, BookingState.ALL, full));
+        assertThat(result.hasNext(), is(false));
+        assertThat(result.getContent(), hasSize(bookings.size()));
+    }
+
+    @Test
+    public void estimateTotalWithoutPostgresOk() {
+        assertThat(bookingService.estimateTotalForUser(bookerId, BookingState.ALL), equalTo(OptionalLong.empty()));
+        assertThat(bookingService.estimateTotalForOwner(ownerId, BookingState.PAST), equalTo(OptionalLong.empty()));
+    }
+
+    @Test
+    public void summarizeForOwnerOk() {
+        var result = assertMaxStatements(2, () -> bookingService.summarizeForOwner(ownerId));
+        var all = PageRequestWithOffset.of(0, 100, Sort.by("start").descending());
+        for (var state : BookingState.values()) {
+            var bookings = bookingService.findAllForOwner(ownerId, state, all).getContent();
+            assertThat(state.name(), result.getCounts().get(state), equalTo((long) bookings.size()));
+            for (var item : result.getItems()) {
+                assertThat(state.name(), item.getCounts().get(state), equalTo(bookings.stream()
+                        .filter(booking -> booking.getItem().getId().equals(item.getItem().getId()))
+                        .count()));
+            }
+        }
+        assertThat(result.getItems().stream()
+                .map(item -> item.getItem().getId())
+                .collect(Collectors.toList()), equalTo(List.of(1L, 2L, 3L, 4L)));
+        assertThat(result.getItems().get(3).getNextStart(), nullValue());
+
+        var now = getCurrentTime();
+        var upcoming = getBookingsForOwner().stream()
+                .filter(booking -> booking.getStart().isAfter(now) && booking.getStatus() != BookingStatus.REJECTED)
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(),
+                        Collectors.mapping(BookingDto::getStart,
+                                Collectors.minBy(Comparator.naturalOrder()))));
+        assertThat(result.getUpcoming().stream()
+                .map(item -> item.getItem().getId())
+                .collect(Collectors.toList()), equalTo(upcoming.entrySet().stream()
+                .sorted(Comparator.comparing(entry -> entry.getValue().orElseThrow()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList())));
+        for (var item : result.getUpcoming()) {
+            assertThat(item.getNextStart(), equalTo(upcoming.get(item.getItem().getId()).orElseThrow()));
+        }
+    }
+
+    @Test
+    public void summarizeForOwnerUnknownUserFail() {
+        var exception = assertThrows(NotFoundException.class,
+                () -> bookingService.summarizeForOwner(unknownUserId));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.USER_NOT_FOUND.getFormatMessage(unknownUserId)));
+    }
+
     private List<BookingDto> getBookingsForUser() {
         var query = em.createQuery("select b from Booking b where b.booker.id = :id", Booking.class);
         return query.setParameter("id", bookerId).getResultList().stream()
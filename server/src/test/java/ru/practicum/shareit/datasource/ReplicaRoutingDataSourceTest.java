@@ -0,0 +1,114 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import ru.practicum.shareit.monitoring.PersistenceEndpoint;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;MODE=PostgreSQL",
+        "shareit.datasource.replicas[0].url=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+        "shareit.datasource.replicas[0].username=test",
+        "shareit.datasource.replicas[0].password=",
+        "shareit.datasource.max-lag=5s",
+        "shareit.datasource.lag-check-interval=1h",
+        "shareit.datasource.lag-query=select seconds from replica_lag",
+        "shareit.datasource.read-your-writes-window=1h"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ReplicaRoutingDataSourceTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    private final UserService userService;
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+    private final ReadYourWrites readYourWrites;
+    private final PersistenceEndpoint persistenceEndpoint;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "test", ""));
+
+    private final long ownerId = 1;
+    private final long bookerId = 2;
+    private final long userId = 3;
+
+    @BeforeEach
+    void setUp() {
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replica.getDataSource());
+        replica.execute("create table if not exists replica_lag (seconds double precision)");
+        replica.update("delete from replica_lag");
+        replica.update("insert into replica_lag values (0)");
+        replica.update("merge into users (id, name, email) key (id) values (?, 'replica', 'replica@mail.com')",
+                ownerId);
+        replicaRoutingDataSource.checkLag();
+    }
+
+    @AfterEach
+    void tearDown() {
+        readYourWrites.setCurrentUser(null);
+    }
+
+    @Test
+    void persistencePoolsOk() {
+        var pools = persistenceEndpoint.persistence(null).getPools().stream()
+                .map(PersistenceEndpoint.PoolDescriptor::getName)
+                .collect(Collectors.toList());
+        assertThat(pools, equalTo(List.of(ReplicaRoutingDataSource.PRIMARY, "replica-0")));
+    }
+
+    @Test
+    void readOnlyFromReplicaOk() {
+        assertThat(replicaRoutingDataSource.getReplicas().get(0).isAvailable(), is(true));
+        assertThat(userService.findById(ownerId).getName(), equalTo("replica"));
+    }
+
+    @Test
+    void laggingReplicaSkippedOk() {
+        replica.update("update replica_lag set seconds = 60");
+        replicaRoutingDataSource.checkLag();
+
+        assertThat(replicaRoutingDataSource.getReplicas().get(0).isAvailable(), is(false));
+        assertThat(userService.findById(ownerId).getName(), equalTo("owner name"));
+
+        replica.update("update replica_lag set seconds = 1");
+        replicaRoutingDataSource.checkLag();
+
+        assertThat(userService.findById(ownerId).getName(), equalTo("replica"));
+    }
+
+    @Test
+    void unavailableReplicaSkippedOk() {
+        replica.execute("drop table replica_lag");
+        replicaRoutingDataSource.checkLag();
+
+        assertThat(replicaRoutingDataSource.getReplicas().get(0).isAvailable(), is(false));
+        assertThat(userService.findById(ownerId).getName(), equalTo("owner name"));
+    }
+
+    @Test
+    void readYourWritesOk() {
+        readYourWrites.setCurrentUser(bookerId);
+        userService.update(bookerId, UserDto.builder().name("booker updated").build());
+
+        assertThat(userService.findById(bookerId).getName(), equalTo("booker updated"));
+        assertThat(userService.findById(ownerId).getName(), equalTo("owner name"));
+
+        readYourWrites.setCurrentUser(userId);
+        assertThat(userService.findById(ownerId).getName(), equalTo("replica"));
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -15,9 +16,12 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.BusyIntervalDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.dto.NearbyItemDto;
+import ru.practicum.shareit.item.enums.ItemSort;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.util.PageRequestWithOffset;
 
@@ -117,7 +121,7 @@ class ItemControllerTest {
                 .param("size", String.valueOf(size));
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("id"));
         when(itemService.getAll(userId, pageable))
-                .thenReturn(items);
+                .thenReturn(new SliceImpl<>(items));
         mockMvc.perform(mockRequest)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id", is(items.get(0).getId()), Long.class))
@@ -193,10 +197,11 @@ class ItemControllerTest {
                 .header(CUSTOM_HEADER, userId)
                 .param("text", text)
                 .param("from", String.valueOf(from))
-                .param("size", String.valueOf(size));
-        Pageable pageable = PageRequestWithOffset.of(from, size);
-        when(itemService.search(text, pageable))
-                .thenReturn(items);
+                .param("size", String.valueOf(size))
+                .param("sort", ItemSort.COMMENTS.name());
+        Pageable pageable = PageRequestWithOffset.of(from, size, ItemSort.COMMENTS.getSort());
+        when(itemService.search(text, null, null, pageable))
+                .thenReturn(new SliceImpl<>(items));
         mockMvc.perform(mockRequest)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id", is(items.get(0).getId()), Long.class))
@@ -239,6 +244,98 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.id", is(commentDto.getId()), Long.class));
     }
 
+    @Test
+    void getCommentsOk() throws Exception {
+        var itemId = 1L;
+        var beforeId = 5L;
+        var size = 2;
+        var commentDto = CommentDto.builder()
+                .id(4L)
+                .authorName("name")
+                .text("Good item")
+                .created(getCurrentTime())
+                .build();
+        var mockRequest = MockMvcRequestBuilders.get("/items/" + itemId + "/comment")
+                .contentType(MediaType.APPLICATION_JSON)
+                .param("beforeId", String.valueOf(beforeId))
+                .param("size", String.valueOf(size));
+        when(itemService.findComments(itemId, beforeId, size))
+                .thenReturn(List.of(commentDto));
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(commentDto.getId()), Long.class));
+    }
+
+    @Test
+    void searchAvailableOk() throws Exception {
+        var text = "drill";
+        var availableFrom = LocalDateTime.of(2030, 1, 5, 0, 0);
+        var availableTo = LocalDateTime.of(2030, 1, 7, 0, 0);
+        var item = ItemDto.builder()
+                .id(1L)
+                .name("drill")
+                .description("item description")
+                .available(true)
+                .build();
+        Pageable pageable = PageRequestWithOffset.of(0, 10, ItemSort.ID.getSort());
+        when(itemService.search(text, availableFrom, availableTo, pageable))
+                .thenReturn(new SliceImpl<>(List.of(item)));
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/search")
+                        .param("text", text)
+                        .param("availableFrom", "2030-01-05T00:00:00")
+                        .param("availableTo", "2030-01-07T00:00:00")
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(item.getId()), Long.class));
+    }
+
+    @Test
+    void getAvailabilityOk() throws Exception {
+        var itemId = 1L;
+        var from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        var to = LocalDateTime.of(2030, 2, 1, 0, 0);
+        var interval = new BusyIntervalDto(LocalDateTime.of(2030, 1, 5, 10, 0), LocalDateTime.of(2030, 1, 7, 12, 0));
+        when(itemService.findBusyIntervals(itemId, from, to))
+                .thenReturn(List.of(interval));
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/" + itemId + "/availability")
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-02-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].start", is("2030-01-05T10:00:00")))
+                .andExpect(jsonPath("$[0].end", is("2030-01-07T12:00:00")));
+    }
+
+    @Test
+    void searchNearbyOk() throws Exception {
+        var item = ItemDto.builder()
+                .id(1L)
+                .name("drill")
+                .description("item description")
+                .available(true)
+                .latitude(55.7738)
+                .longitude(37.6173)
+                .build();
+        Pageable pageable = PageRequestWithOffset.of(0, 10);
+        when(itemService.searchNearby(55.7558, 37.6173, 5.0, "drill", pageable))
+                .thenReturn(new SliceImpl<>(List.of(new NearbyItemDto(item, 2.0))));
+        mockMvc.perform(MockMvcRequestBuilders.get("/items/nearby")
+                        .param("latitude", "55.7558")
+                        .param("longitude", "37.6173")
+                        .param("radius", "5")
+                        .param("text", "drill")
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].item.id", is(item.getId()), Long.class))
+                .andExpect(jsonPath("$[0].item.latitude", is(item.getLatitude())))
+                .andExpect(jsonPath("$[0].distance", is(2.0)));
+    }
+
     private LocalDateTime getCurrentTime() {
         return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
     }
@@ -4,11 +4,14 @@ import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.CommentShort;
 import ru.practicum.shareit.item.model.Item;
 
 import javax.persistence.EntityManager;
+import java.util.Comparator;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -22,37 +25,52 @@ class CommentRepositoryTest {
     private final EntityManager em;
 
     @Test
-    public void findAllByItemIdOk() {
-        var itemId = em.createQuery("select c from Comment as c", Comment.class)
-                .getResultStream()
-                .findAny()
-                .get().getItem().getId();
-        var comments = em.createQuery("select c from Comment as c where c.item.id = :id", Comment.class)
-                .setParameter("id", itemId)
+    public void findLatestByItemIdInOk() {
+        var itemIds = em.createQuery("select it from Item as it", Item.class)
                 .getResultStream()
-                .map(this::convert)
+                .map(Item::getId)
                 .collect(Collectors.toList());
-        var result = commentRepository.findAllByItemId(itemId);
+        var comments = em.createQuery("select c from Comment as c where c.item.id in :id", Comment.class)
+                .setParameter("id", itemIds)
+                .getResultStream()
+                .collect(Collectors.groupingBy(c -> c.getItem().getId(), Collectors.mapping(this::convert,
+                        Collectors.toList())));
+        var size = 1;
+        var result = commentRepository.findLatestByItemIdIn(itemIds, size);
 
         assertThat(result).hasSize(comments.size());
-        assertThat(result).usingRecursiveComparison().isEqualTo(comments);
+        for (var comment : result) {
+            var itemComments = comments.get(comment.getItemId());
+            var latest = itemComments.stream()
+                    .max(Comparator.comparing(CommentShort::getId))
+                    .get();
+            assertThat(comment.getId()).isEqualTo(latest.getId());
+            assertThat(comment.getAuthorName()).isEqualTo(latest.getAuthorName());
+            assertThat(comment.getText()).isEqualTo(latest.getText());
+            assertThat(comment.getCreated()).isEqualTo(latest.getCreated());
+        }
     }
 
     @Test
-    public void findAllByItemIdInOk() {
-        var itemId = em.createQuery("select it from Item as it", Item.class)
+    public void findAllByItemIdAndIdLessThanOk() {
+        var itemId = em.createQuery("select c from Comment as c", Comment.class)
                 .getResultStream()
-                .map(Item::getId)
-                .collect(Collectors.toList());
-        var comments = em.createQuery("select c from Comment as c where c.item.id in :id", Comment.class)
+                .findAny()
+                .get().getItem().getId();
+        var comments = em.createQuery("select c from Comment as c where c.item.id = :id order by c.id desc",
+                        Comment.class)
                 .setParameter("id", itemId)
                 .getResultStream()
                 .map(this::convert)
                 .collect(Collectors.toList());
-        var result = commentRepository.findAllByItemIdIn(itemId);
+        var result = commentRepository.findAllByItemIdAndIdLessThan(itemId, Long.MAX_VALUE, Pageable.unpaged());
 
-        assertThat(result).hasSize(comments.size());
         assertThat(result).usingRecursiveComparison().isEqualTo(comments);
+
+        result = commentRepository.findAllByItemIdAndIdLessThan(itemId, comments.get(0).getId(),
+                PageRequest.ofSize(1));
+
+        assertThat(result).usingRecursiveComparison().isEqualTo(comments.subList(1, Math.min(2, comments.size())));
     }
 
     private CommentShort convert(Comment comment) {
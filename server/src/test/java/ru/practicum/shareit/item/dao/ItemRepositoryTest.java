@@ -30,7 +30,7 @@ class ItemRepositoryTest {
                 .filter(Item::getAvailable)
                 .collect(Collectors.toList());
 
-        var result = itemRepository.search(text, Pageable.unpaged());
+        var result = itemRepository.search(text, Pageable.unpaged()).getContent();
         Assertions.assertThat(result).hasSize(items.size());
         Assertions.assertThat(result).usingRecursiveComparison().isEqualTo(items);
 
@@ -40,7 +40,7 @@ class ItemRepositoryTest {
                 .skip(from / size * size)
                 .limit(size)
                 .collect(Collectors.toList());
-        result = itemRepository.search(text, PageRequestWithOffset.of(from, size));
+        result = itemRepository.search(text, PageRequestWithOffset.of(from, size)).getContent();
         Assertions.assertThat(result).hasSize(items.size());
         Assertions.assertThat(result).usingRecursiveComparison().isEqualTo(items);
     }
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.model.BookingShort;
+import ru.practicum.shareit.item.dto.BusyIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+class BusyIntervalsTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void mergeOk() {
+        var bookings = List.of(
+                booking(1, 3),
+                booking(2, 4),
+                booking(4, 5),
+                booking(7, 8),
+                booking(7, 7),
+                booking(10, 12));
+        assertThat(BusyIntervals.merge(bookings, at(0), at(24)), equalTo(List.of(
+                new BusyIntervalDto(at(1), at(5)),
+                new BusyIntervalDto(at(7), at(8)),
+                new BusyIntervalDto(at(10), at(12)))));
+    }
+
+    @Test
+    void mergeClippedOk() {
+        var bookings = List.of(booking(1, 3), booking(5, 9));
+        assertThat(BusyIntervals.merge(bookings, at(2), at(6)), equalTo(List.of(
+                new BusyIntervalDto(at(2), at(3)),
+                new BusyIntervalDto(at(5), at(6)))));
+        assertThat(BusyIntervals.merge(List.of(), at(2), at(6)), empty());
+    }
+
+    private static BookingShort booking(int startHour, int endHour) {
+        return new BookingShort(1L, 1L, 2L, at(startHour), at(endHour));
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class CommentEligibilityCacheTest {
+
+    private final TestClock clock = new TestClock(Instant.parse("2024-01-01T12:00:00Z"));
+
+    @Test
+    void positiveAnswerCachedOk() {
+        var cache = new CommentEligibilityCache(clock, 10, Duration.ofHours(1));
+        var checks = new AtomicInteger();
+
+        assertThat(cache.isEligible(1, 2, () -> checks.incrementAndGet() > 0), is(true));
+        assertThat(cache.isEligible(1, 2, () -> checks.incrementAndGet() > 0), is(true));
+        assertThat(checks.get(), equalTo(1));
+    }
+
+    @Test
+    void negativeAnswerNotCachedOk() {
+        var cache = new CommentEligibilityCache(clock, 10, Duration.ofHours(1));
+        var checks = new AtomicInteger();
+
+        assertThat(cache.isEligible(1, 2, () -> checks.incrementAndGet() > 1), is(false));
+        assertThat(cache.isEligible(1, 2, () -> checks.incrementAndGet() > 1), is(true));
+        assertThat(checks.get(), equalTo(2));
+    }
+
+    @Test
+    void sizeBoundedOk() {
+        var cache = new CommentEligibilityCache(clock, 1, Duration.ofHours(1));
+        var checks = new AtomicInteger();
+
+        cache.isEligible(1, 2, () -> checks.incrementAndGet() > 0);
+        cache.isEligible(1, 3, () -> checks.incrementAndGet() > 0);
+        cache.isEligible(1, 2, () -> checks.incrementAndGet() > 0);
+        assertThat(checks.get(), equalTo(3));
+    }
+
+    @Test
+    void positiveAnswerExpiresOk() {
+        var cache = new CommentEligibilityCache(clock, 10, Duration.ofHours(1));
+        var checks = new AtomicInteger();
+
+        assertThat(cache.isEligible(1, 2, () -> checks.incrementAndGet() == 1), is(true));
+        clock.advance(Duration.ofMinutes(59));
+        assertThat(cache.isEligible(1, 2, () -> checks.incrementAndGet() == 1), is(true));
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(cache.isEligible(1, 2, () -> checks.incrementAndGet() == 1), is(false));
+        assertThat(checks.get(), equalTo(2));
+    }
+
+    private static class TestClock extends Clock {
+
+        private Instant instant;
+
+        TestClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
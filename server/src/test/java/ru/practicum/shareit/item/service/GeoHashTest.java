@@ -0,0 +1,64 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasLength;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeoHashTest {
+
+    @Test
+    void encodeOk() {
+        assertThat(GeoHash.encode(57.64911, 10.40744, 11), equalTo("u4pruydqqvj"));
+        assertThat(GeoHash.encode(57.64911, 10.40744), hasLength(GeoHash.PRECISION));
+        assertThat(GeoHash.encode(57.64911, 10.40744), startsWith("u4pruydqqvj"));
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.encode(91, 0));
+    }
+
+    @Test
+    void neighbourhoodOk() {
+        var cells = GeoHash.neighbourhood(55.7558, 37.6173, 5);
+        assertThat(cells, hasSize(9));
+        assertThat(cells, hasItem(GeoHash.encode(55.7558, 37.6173, 5)));
+        assertThat(GeoHash.neighbourhood(89.99, 0, 2).size(), lessThan(9));
+    }
+
+    @Test
+    void coveredRadiusOk() {
+        var covered = GeoHash.coveredRadiusKm(55.7558, 5);
+        assertThat(covered, closeTo(2.7, 0.2));
+        // every point of the circle lies in one of the cells
+        for (var bearing = 0; bearing < 360; bearing += 15) {
+            var latitude = 55.7558 + 0.99 * covered / 111.195 * Math.cos(Math.toRadians(bearing));
+            var longitude = 37.6173 + 0.99 * covered / (111.195 * Math.cos(Math.toRadians(latitude))) *
+                    Math.sin(Math.toRadians(bearing));
+            assertThat(GeoHash.neighbourhood(55.7558, 37.6173, 5), hasItem(GeoHash.encode(latitude, longitude, 5)));
+        }
+        assertThat(GeoHash.coveredRadiusKm(89.9, 3), is(0.0));
+    }
+
+    @Test
+    void precisionForOk() {
+        assertThat(GeoHash.precisionFor(55.7558, 1), equalTo(5));
+        assertThat(GeoHash.coveredRadiusKm(55.7558, GeoHash.precisionFor(55.7558, 30)), greaterThanOrEqualTo(30.0));
+        assertThat(GeoHash.precisionFor(55.7558, 20000), equalTo(0));
+    }
+
+    @Test
+    void distanceOk() {
+        var haversine = GeoHash.haversine(55.7558, 37.6173, 59.9343, 30.3351);
+        assertThat(GeoHash.distanceKm(haversine), closeTo(634, 2));
+        assertThat(GeoHash.haversineOf(GeoHash.distanceKm(haversine)), closeTo(haversine, 1e-12));
+        assertThat(GeoHash.distanceKm(GeoHash.haversineOf(Double.POSITIVE_INFINITY)),
+                closeTo(Math.PI * GeoHash.EARTH_RADIUS_KM, 1e-6));
+    }
+}
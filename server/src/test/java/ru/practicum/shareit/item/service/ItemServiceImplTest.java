@@ -13,8 +13,12 @@ import ru.practicum.shareit.booking.model.BookingShort;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ErrorMessages;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.BusyIntervalDto;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemWithBookingsDto;
+import ru.practicum.shareit.item.dto.NearbyItemDto;
+import ru.practicum.shareit.item.enums.ItemSort;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.mapper.TestBookingMapper;
@@ -31,12 +35,14 @@ import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.monitoring.SqlStatementAssertions.assertMaxStatements;
 
 @Transactional
 @SpringBootTest
@@ -359,7 +365,8 @@ class ItemServiceImplTest {
                 .filter(b -> b.getStart().isAfter(getCurrentTime()))
                 .min(Comparator.comparing(b -> b.getStart().isBefore(getCurrentTime())))
                 .orElse(null);
-        var comments = em.createQuery("select c from Comment c where c.item.id = :id", Comment.class)
+        var comments = em.createQuery("select c from Comment c where c.item.id = :id order by c.id desc",
+                        Comment.class)
                 .setParameter("id", item.getId())
                 .getResultStream()
                 .map(commentMapper::toDto)
@@ -372,6 +379,7 @@ class ItemServiceImplTest {
         assertThat(result.getDescription(), equalTo(item.getDescription()));
         assertThat(result.getAvailable(), equalTo(item.getAvailable()));
         assertThat(result.getComments(), hasSize(comments.size()));
+        assertThat(result.getCommentsCount(), equalTo((long) comments.size()));
         assertThat(result.getLastBooking(), nullValue());
         assertThat(result.getNextBooking(), nullValue());
         org.assertj.core.api.Assertions.assertThat(result.getComments())
@@ -385,6 +393,7 @@ class ItemServiceImplTest {
         assertThat(result.getDescription(), equalTo(item.getDescription()));
         assertThat(result.getAvailable(), equalTo(item.getAvailable()));
         assertThat(result.getComments(), hasSize(comments.size()));
+        assertThat(result.getCommentsCount(), equalTo((long) comments.size()));
         if (bookingLast == null) {
             assertThat(result.getLastBooking(), nullValue());
         } else {
@@ -441,7 +450,8 @@ class ItemServiceImplTest {
                 nextBookings.putIfAbsent(booking.getItemId(), booking);
             }
         }
-        var comments = em.createQuery("select c from Comment c where c.item.id in :id", Comment.class)
+        var comments = em.createQuery("select c from Comment c where c.item.id in :id order by c.id desc",
+                        Comment.class)
                 .setParameter("id", itemsId)
                 .getResultStream()
                 .collect(Collectors.groupingBy(c -> c.getItem().getId(),
@@ -451,7 +461,7 @@ class ItemServiceImplTest {
                         nextBookings.get(item.getId()), comments.getOrDefault(item.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("id"));
-        var result = itemService.getAll(ownerId, pageable);
+        var result = itemService.getAll(ownerId, pageable).getContent();
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
                 .isEqualTo(comparedItems);
@@ -473,13 +483,302 @@ class ItemServiceImplTest {
                 .map(itemMapper::toDto)
                 .collect(Collectors.toList());
         Pageable pageable = PageRequestWithOffset.of(from, size);
-        var result = itemService.search(text, pageable);
+        var result = itemService.search(text, null, null, pageable).getContent();
         assertThat(result, hasSize(items.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
                 .isEqualTo(items);
     }
 
+    @Test
+    public void getAllSortedOk() {
+        var items = em.createQuery("select i from Item i where i.owner.id = :id", Item.class)
+                .setParameter("id", ownerId)
+                .getResultList();
+
+        var result = itemService.getAll(ownerId, PageRequestWithOffset.of(0, 10, ItemSort.COMMENTS.getSort()))
+                .getContent();
+        assertThat(result.stream().map(ItemWithBookingsDto::getId).collect(Collectors.toList()), equalTo(items.stream()
+                .sorted(Comparator.comparing(Item::getCommentsCount).reversed().thenComparing(Item::getId))
+                .map(Item::getId)
+                .collect(Collectors.toList())));
+        for (var item : result) {
+            var comments = em.createQuery("select count(c) from Comment c where c.item.id = :id", Long.class)
+                    .setParameter("id", item.getId())
+                    .getSingleResult();
+            assertThat(item.getCommentsCount(), equalTo(comments));
+        }
+
+        result = itemService.getAll(ownerId, PageRequestWithOffset.of(0, 10, ItemSort.LAST_BOOKED.getSort()))
+                .getContent();
+        assertThat(result.stream().map(ItemWithBookingsDto::getId).collect(Collectors.toList()), equalTo(items.stream()
+                .sorted(Comparator.comparing(Item::getLastBookedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                        .thenComparing(Item::getId))
+                .map(Item::getId)
+                .collect(Collectors.toList())));
+    }
+
+    @Test
+    public void searchSortedOk() {
+        var pageable = PageRequestWithOffset.of(0, 10, ItemSort.BOOKINGS.getSort());
+        var result = itemService.search("text", null, null, pageable).getContent();
+        var bookingsCounts = result.stream()
+                .map(item -> em.find(Item.class, item.getId()).getBookingsCount())
+                .collect(Collectors.toList());
+        assertThat(bookingsCounts, equalTo(bookingsCounts.stream()
+                .sorted(Comparator.reverseOrder())
+                .collect(Collectors.toList())));
+    }
+
+    @Test
+    public void findCommentsOk() {
+        var comments = em.createQuery("select c from Comment c where c.item.id = :id order by c.id desc",
+                        Comment.class)
+                .setParameter("id", itemIdSecond)
+                .getResultStream()
+                .map(commentMapper::toDto)
+                .collect(Collectors.toList());
+
+        var result = itemService.findComments(itemIdSecond, null, 1);
+        org.assertj.core.api.Assertions.assertThat(result)
+                .usingRecursiveComparison()
+                .isEqualTo(comments.subList(0, 1));
+
+        result = itemService.findComments(itemIdSecond, result.get(0).getId(), 10);
+        org.assertj.core.api.Assertions.assertThat(result)
+                .usingRecursiveComparison()
+                .isEqualTo(comments.subList(1, comments.size()));
+    }
+
+    @Test
+    public void findCommentsUnknownItemFail() {
+        var exception = assertThrows(NotFoundException.class,
+                () -> itemService.findComments(unknownItemId, null, 10));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.ITEM_NOT_FOUND.getFormatMessage(unknownItemId)));
+    }
+
+    @Test
+    public void findCommentsInvalidSizeFail() {
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> itemService.findComments(itemIdSecond, null, -1));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.INVALID_PAGE_SIZE.getMessage()));
+    }
+
+    @Test
+    public void findBusyIntervalsOk() {
+        var bookings = em.createQuery("select b from Booking b where b.item.id = :id and b.status = 'APPROVED' " +
+                        "order by b.start", Booking.class)
+                .setParameter("id", itemIdSecond)
+                .getResultList();
+        var from = bookings.get(0).getStart().minusHours(1);
+        var to = bookings.get(bookings.size() - 1).getEnd().plusHours(1);
+        var result = assertMaxStatements(2, () -> itemService.findBusyIntervals(itemIdSecond, from, to));
+        assertThat(result, equalTo(bookings.stream()
+                .map(booking -> new BusyIntervalDto(booking.getStart(), booking.getEnd()))
+                .collect(Collectors.toList())));
+
+        var first = bookings.get(0);
+        var middle = first.getStart().plusMinutes(10);
+        result = itemService.findBusyIntervals(itemIdSecond, middle, first.getEnd().plusMinutes(1));
+        assertThat(result, equalTo(List.of(new BusyIntervalDto(middle, first.getEnd()))));
+        assertThat(itemService.findBusyIntervals(itemWithoutBooking, from, to), empty());
+    }
+
+    @Test
+    public void findBusyIntervalsFail() {
+        var now = getCurrentTime();
+        var exception = assertThrows(NotFoundException.class,
+                () -> itemService.findBusyIntervals(unknownItemId, now, now.plusDays(1)));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.ITEM_NOT_FOUND.getFormatMessage(unknownItemId)));
+        var rangeException = assertThrows(IllegalArgumentException.class,
+                () -> itemService.findBusyIntervals(itemIdSecond, now, now));
+        assertThat(rangeException.getMessage(), equalTo(ErrorMessages.INVALID_RANGE.getMessage()));
+    }
+
+    @Test
+    public void latestCommentsEvictedByCreateCommentOk() {
+        var itemId = 3;
+        var before = itemService.findById(userId, itemId);
+
+        var comment = itemService.createComment(bookerId, itemId, CommentCreateDto.builder()
+                .text("Latest comment")
+                .build());
+        // the count is updated in the database, the item loaded before keeps the old one until the next transaction
+        em.clear();
+        var result = itemService.findById(userId, itemId);
+
+        assertThat(result.getCommentsCount(), equalTo(before.getCommentsCount() + 1));
+        assertThat(result.getComments().get(0).getId(), equalTo(comment.getId()));
+    }
+
+    @Test
+    public void findByIdCachedCommentsStatementsOk() {
+        itemService.findById(userId, itemIdSecond);
+        em.clear();
+        assertMaxStatements(1, () -> itemService.findById(userId, itemIdSecond));
+    }
+
+    @Test
+    public void findByIdStatementsOk() {
+        assertMaxStatements(3, () -> itemService.findById(ownerId, itemIdSecond));
+        em.clear();
+        assertMaxStatements(2, () -> itemService.findById(userId, itemIdSecond));
+    }
+
+    @Test
+    public void getAllStatementsOk() {
+        Pageable pageable = PageRequestWithOffset.of(0, 10, Sort.by("id"));
+        var result = assertMaxStatements(3, () -> itemService.getAll(ownerId, pageable).getContent());
+        assertThat(result, hasSize(4));
+    }
+
+    @Test
+    public void getAllHasNextOk() {
+        assertThat(itemService.getAll(ownerId, PageRequestWithOffset.of(0, 3, Sort.by("id"))).hasNext(), is(true));
+        assertThat(itemService.getAll(ownerId, PageRequestWithOffset.of(0, 4, Sort.by("id"))).hasNext(), is(false));
+        assertThat(itemService.search(" ", null, null, PageRequestWithOffset.of(0, 4)).hasNext(), is(false));
+    }
+
+    @Test
+    public void searchAvailableOk() {
+        var now = getCurrentTime();
+        Pageable pageable = PageRequestWithOffset.of(0, 10);
+        var busy = em.createQuery("select distinct b.item.id from Booking b where b.status = 'APPROVED' " +
+                        "and b.end > :from and b.start < :to", Long.class)
+                .setParameter("from", now)
+                .setParameter("to", now.plusHours(1))
+                .getResultList();
+        var all = itemService.search("text", null, null, pageable).getContent().stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+        var result = assertMaxStatements(1, () -> itemService.search("text", now, now.plusHours(1), pageable))
+                .getContent().stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+        assertThat(busy, not(empty()));
+        assertThat(result, equalTo(all.stream()
+                .filter(id -> !busy.contains(id))
+                .collect(Collectors.toList())));
+
+        result = itemService.search("text", now.plusDays(3), now.plusDays(4), pageable).getContent().stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+        assertThat(result, equalTo(all));
+    }
+
+    @Test
+    public void searchAvailableRangeFail() {
+        var now = getCurrentTime();
+        Pageable pageable = PageRequestWithOffset.of(0, 10);
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> itemService.search("text", now, null, pageable));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.INCOMPLETE_RANGE.getMessage()));
+        exception = assertThrows(IllegalArgumentException.class,
+                () -> itemService.search("text", now, now.minusDays(1), pageable));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.INVALID_RANGE.getMessage()));
+    }
+
+    @Test
+    public void searchStatementsOk() {
+        Pageable pageable = PageRequestWithOffset.of(0, 10);
+        assertMaxStatements(1, () -> itemService.search("text", null, null, pageable).getContent());
+    }
+
+    @Test
+    public void createCommentStatementsOk() {
+        var itemId = 3;
+        var commentCreateDto = CommentCreateDto.builder()
+                .text("comment")
+                .build();
+        itemService.createComment(bookerId, itemId, commentCreateDto);
+        em.flush();
+        em.clear();
+        // user, item, comment insert, the count update and the outbox event; eligibility is cached by the first comment
+        assertMaxStatements(5, () -> {
+            itemService.createComment(bookerId, itemId, commentCreateDto);
+            em.flush();
+        });
+    }
+
+    @Test
+    public void searchNearbyOk() {
+        var center = createLocated("center", 55.7558, 37.6173, true);
+        var near = createLocated("near", 55.7738, 37.6173, true);
+        var far = createLocated("far", 56.2058, 37.6173, true);
+        createLocated("unavailable", 55.7558, 37.6173, false);
+        Pageable pageable = PageRequestWithOffset.of(0, 10);
+
+        var result = assertMaxStatements(1, () -> itemService.searchNearby(55.7558, 37.6173, 5.0, null, pageable));
+        assertThat(nearbyIds(result.getContent()), equalTo(List.of(center, near)));
+        assertThat(result.getContent().get(0).getDistance(), closeTo(0, 0.01));
+        assertThat(result.getContent().get(1).getDistance(), closeTo(2, 0.05));
+        assertThat(result.hasNext(), is(false));
+
+        result = itemService.searchNearby(55.7558, 37.6173, 100.0, null, pageable);
+        assertThat(nearbyIds(result.getContent()), equalTo(List.of(center, near, far)));
+        assertThat(result.getContent().get(2).getDistance(), closeTo(50, 0.5));
+    }
+
+    @Test
+    public void searchNearbyTextOk() {
+        createLocated("center", 55.7558, 37.6173, true);
+        var near = createLocated("near drill", 55.7738, 37.6173, true);
+        Pageable pageable = PageRequestWithOffset.of(0, 10);
+
+        var result = itemService.searchNearby(55.7558, 37.6173, 5.0, " DRILL ", pageable).getContent();
+        assertThat(nearbyIds(result), equalTo(List.of(near)));
+    }
+
+    @Test
+    public void searchNearestOk() {
+        var center = createLocated("center", 55.7558, 37.6173, true);
+        var near = createLocated("near", 55.7738, 37.6173, true);
+        var far = createLocated("far", 56.2058, 37.6173, true);
+        var farthest = createLocated("farthest", -33.8688, 151.2093, true);
+
+        var first = itemService.searchNearby(55.7560, 37.6173, null, null, PageRequestWithOffset.of(0, 2));
+        assertThat(nearbyIds(first.getContent()), equalTo(List.of(center, near)));
+        assertThat(first.hasNext(), is(true));
+
+        var second = itemService.searchNearby(55.7560, 37.6173, null, null, PageRequestWithOffset.of(2, 2));
+        assertThat(nearbyIds(second.getContent()), equalTo(List.of(far, farthest)));
+        assertThat(second.hasNext(), is(false));
+    }
+
+    @Test
+    public void searchNearbyInvalidRadiusFail() {
+        Pageable pageable = PageRequestWithOffset.of(0, 10);
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> itemService.searchNearby(55.7558, 37.6173, 0.0, null, pageable));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.INVALID_RADIUS.getMessage()));
+        assertThrows(IllegalArgumentException.class,
+                () -> itemService.searchNearby(55.7558, 37.6173, -1.0, null, pageable));
+    }
+
+    @Test
+    public void createIncompleteLocationFail() {
+        itemCreateDto.setLatitude(55.7558);
+        var exception = assertThrows(IllegalArgumentException.class, () -> itemService.create(ownerId, itemCreateDto));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.INCOMPLETE_LOCATION.getMessage()));
+    }
+
+    private long createLocated(String name, double latitude, double longitude, boolean available) {
+        var itemDto = ItemDto.builder()
+                .name(name)
+                .description("item_description")
+                .available(available)
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+        return itemService.create(ownerId, itemDto).getId();
+    }
+
+    private static List<Long> nearbyIds(List<NearbyItemDto> items) {
+        return items.stream()
+                .map(item -> item.getItem().getId())
+                .collect(Collectors.toList());
+    }
+
     private LocalDateTime getCurrentTime() {
         return LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
     }
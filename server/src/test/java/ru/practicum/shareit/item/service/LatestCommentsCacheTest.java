@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.CommentShort;
+import ru.practicum.shareit.item.model.LatestComments;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class LatestCommentsCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void loadedOnceOk() {
+        var cache = new LatestCommentsCache(10);
+
+        var result = cache.getAll(List.of(1L, 2L), this::load);
+        assertThat(result.get(2L).getComments().get(0).getItemId(), equalTo(2L));
+        cache.getAll(List.of(1L, 2L), this::load);
+        cache.get(1L, this::load);
+        assertThat(loads.get(), equalTo(1));
+
+        cache.getAll(List.of(1L, 3L), ids -> {
+            assertThat(ids, equalTo(List.of(3L)));
+            return load(ids);
+        });
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    void evictOk() {
+        var cache = new LatestCommentsCache(10);
+
+        cache.get(1L, this::load);
+        cache.evict(1L);
+        cache.get(1L, this::load);
+        assertThat(loads.get(), equalTo(2));
+
+        cache.clear();
+        cache.get(1L, this::load);
+        assertThat(loads.get(), equalTo(3));
+    }
+
+    @Test
+    void evictedWhileLoadingNotCachedOk() {
+        var cache = new LatestCommentsCache(10);
+
+        cache.get(1L, ids -> {
+            cache.evict(1L);
+            return load(ids);
+        });
+        cache.get(1L, this::load);
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    void disabledOk() {
+        var cache = new LatestCommentsCache(0);
+
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    private Map<Long, LatestComments> load(Collection<Long> itemIds) {
+        loads.incrementAndGet();
+        return itemIds.stream()
+                .collect(Collectors.toMap(Function.identity(), itemId -> new LatestComments(List.of(
+                        new CommentShort(itemId, itemId, "author", "comment", LocalDateTime.now())))));
+    }
+}
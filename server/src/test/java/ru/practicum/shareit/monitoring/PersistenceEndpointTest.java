@@ -0,0 +1,72 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.service.ItemService;
+
+import javax.transaction.Transactional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class PersistenceEndpointTest {
+
+    private final ItemService itemService;
+    private final PersistenceEndpoint persistenceEndpoint;
+    private final MeterRegistry meterRegistry;
+
+    private final long ownerId = 1;
+    private final long itemId = 2;
+    private final long unknownItemId = 99999;
+
+    @Test
+    void persistenceOk() {
+        itemService.findById(ownerId, itemId);
+
+        var persistence = persistenceEndpoint.persistence(null);
+
+        assertThat(persistence.getHibernate().isStatisticsEnabled(), is(true));
+        assertThat(persistence.getHibernate().getEntityLoads(), greaterThan(0L));
+        assertThat(persistence.getSlowestQueries(), not(empty()));
+        assertThat(persistence.getPools(), hasSize(1));
+        var pool = persistence.getPools().get(0);
+        assertThat(pool.getActive(), greaterThan(0));
+        assertThat(pool.getMax(), greaterThanOrEqualTo(pool.getTotal()));
+
+        var findById = persistence.getTransactions().get("ItemServiceImpl.findById");
+        assertThat(findById, notNullValue());
+        assertThat(findById.getCount(), greaterThan(0L));
+        assertThat(findById.getStatementsMean(), greaterThan(0.0));
+        assertThat(findById.getEntityLoadsMean(), greaterThan(0.0));
+    }
+
+    @Test
+    void persistenceLimitOk() {
+        itemService.findById(ownerId, itemId);
+
+        assertThat(persistenceEndpoint.persistence(1).getSlowestQueries(), hasSize(1));
+    }
+
+    @Test
+    void transactionFailuresOk() {
+        assertThrows(NotFoundException.class, () -> itemService.findById(ownerId, unknownItemId));
+
+        var findById = persistenceEndpoint.persistence(null).getTransactions().get("ItemServiceImpl.findById");
+        assertThat(findById.getFailures(), greaterThan(0L));
+    }
+
+    @Test
+    void poolAndHibernateMetersOk() {
+        assertThat(meterRegistry.find("hikaricp.connections.active").gauge(), notNullValue());
+        assertThat(meterRegistry.find("hikaricp.connections.pending").gauge(), notNullValue());
+        assertThat(meterRegistry.find("hibernate.entities.loads").functionCounter(), notNullValue());
+    }
+}
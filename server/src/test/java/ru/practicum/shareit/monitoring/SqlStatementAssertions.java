@@ -0,0 +1,34 @@
+package ru.practicum.shareit.monitoring;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Guards service methods against N+1 regressions, e.g.
+ * {@code var dto = assertMaxStatements(3, () -> itemService.findById(ownerId, itemId));}
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T assertMaxStatements(int max, Supplier<T> call) {
+        T result;
+        try (var recording = SqlStatementCounter.start(true)) {
+            result = call.get();
+            if (recording.getCount() > max) {
+                fail(String.format("Expected at most %d SQL statements but %d were run:%n%s", max,
+                        recording.getCount(), String.join(System.lineSeparator(), recording.getStatements())));
+            }
+        }
+        return result;
+    }
+
+    public static void assertMaxStatements(int max, Runnable call) {
+        assertMaxStatements(max, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "shareit.sql.statements-header=true",
+        "spring.datasource.url=jdbc:h2:mem:statements;MODE=PostgreSQL"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class SqlStatementFilterTest {
+
+    private final MockMvc mvc;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void statementsHeaderAndMetricOk() throws Exception {
+        var count = summaryCount();
+        mvc.perform(get("/items/{id}", 2)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementFilter.HEADER, "3"));
+        mvc.perform(get("/items/{id}", 2)
+                        .header("X-Sharer-User-Id", 3))
+                .andExpect(status().isOk())
+                // the comments are cached by the first request
+                .andExpect(header().string(SqlStatementFilter.HEADER, "1"));
+
+        assertThat(summaryCount(), equalTo(count + 2));
+    }
+
+    @Test
+    void statementsHeaderOnErrorOk() throws Exception {
+        mvc.perform(get("/items/{id}", 99999)
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(SqlStatementFilter.HEADER, "1"));
+    }
+
+    private long summaryCount() {
+        var summary = meterRegistry.find("shareit.sql.statements")
+                .tag("method", "GET")
+                .tag("uri", "/items/{id}")
+                .summary();
+        return summary == null ? 0 : summary.count();
+    }
+}
@@ -0,0 +1,194 @@
+package ru.practicum.shareit.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Transactional
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class OutboxTest {
+
+    private final Outbox outbox;
+    private final OutboxRepository outboxRepository;
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final long ownerId = 1;
+    private final long bookerId = 2;
+    private final long itemIdFirst = 1;
+
+    @Test
+    void publishedWithChangeOk() throws Exception {
+        var start = LocalDateTime.now().plusMonths(1);
+        var booking = bookingService.create(bookerId, BookingCreateDto.builder()
+                .itemId(itemIdFirst)
+                .start(start)
+                .end(start.plusDays(1))
+                .build());
+        bookingService.updateStatus(booking.getId(), ownerId, true);
+        var user = userService.create(UserDto.builder()
+                .name("outbox user")
+                .email("outbox@mail.com")
+                .build());
+
+        var events = outboxRepository.findAll();
+        assertThat(events.stream().map(OutboxEvent::getType).collect(Collectors.toList()), contains(
+                OutboxEventType.BOOKING_CREATED, OutboxEventType.BOOKING_STATUS_CHANGED, OutboxEventType.USER_CREATED));
+        assertThat(events.get(1).getAggregate(), equalTo(OutboxAggregate.BOOKING));
+        assertThat(events.get(1).getAggregateId(), equalTo(booking.getId()));
+        assertThat(objectMapper.readTree(events.get(1).getPayload()).path("status").asText(), equalTo("APPROVED"));
+        assertThat(events.get(2).getAggregateId(), equalTo(user.getId()));
+    }
+
+    @Test
+    void relayOk() {
+        outbox.publish(OutboxEventType.ITEM_UPDATED, 1, Map.of("id", 1));
+        outbox.publish(OutboxEventType.USER_UPDATED, 1, Map.of("id", 1));
+        outbox.publish(OutboxEventType.COMMENT_CREATED, 1, Map.of("id", 1));
+        List<OutboxMessage> messages = new ArrayList<>();
+
+        relay(2, messages::add).drain();
+        assertThat(messages.stream().map(OutboxMessage::getType).collect(Collectors.toList()), contains(
+                OutboxEventType.ITEM_UPDATED, OutboxEventType.USER_UPDATED, OutboxEventType.COMMENT_CREATED));
+        assertThat(outboxRepository.findAll(), hasSize(0));
+    }
+
+    @Test
+    void failedDeliveryHoldsBackAggregateOk() {
+        outbox.publish(OutboxEventType.ITEM_UPDATED, 1, Map.of("id", 1));
+        outbox.publish(OutboxEventType.USER_UPDATED, 1, Map.of("id", 1));
+        outbox.publish(OutboxEventType.ITEM_DELETED, 1, Map.of("id", 1));
+        List<OutboxMessage> messages = new ArrayList<>();
+
+        var failing = relay(10, message -> {
+            if (message.getType() == OutboxEventType.ITEM_UPDATED) throw new IllegalStateException("listener down");
+            messages.add(message);
+        });
+        failing.drain();
+        assertThat(messages.stream().map(OutboxMessage::getType).collect(Collectors.toList()),
+                contains(OutboxEventType.USER_UPDATED));
+        var left = outboxRepository.findAll(Sort.by("id"));
+        assertThat(left.stream().map(OutboxEvent::getType).collect(Collectors.toList()), contains(
+                OutboxEventType.ITEM_UPDATED, OutboxEventType.ITEM_DELETED));
+
+        relay(10, messages::add).drain();
+        assertThat(messages.stream().map(OutboxMessage::getType).collect(Collectors.toList()), contains(
+                OutboxEventType.USER_UPDATED, OutboxEventType.ITEM_UPDATED, OutboxEventType.ITEM_DELETED));
+    }
+
+    @Test
+    void drainPastFailedBatchOk() {
+        outbox.publish(OutboxEventType.ITEM_UPDATED, 1, Map.of("id", 1));
+        outbox.publish(OutboxEventType.USER_UPDATED, 1, Map.of("id", 1));
+        outbox.publish(OutboxEventType.ITEM_DELETED, 1, Map.of("id", 1));
+        List<OutboxMessage> messages = new ArrayList<>();
+
+        relay(1, message -> {
+            if (message.getType() == OutboxEventType.ITEM_UPDATED) throw new IllegalStateException("listener down");
+            messages.add(message);
+        }).drain();
+        assertThat(messages.stream().map(OutboxMessage::getType).collect(Collectors.toList()),
+                contains(OutboxEventType.USER_UPDATED));
+        var left = outboxRepository.findAll(Sort.by("id"));
+        assertThat(left.stream().map(OutboxEvent::getType).collect(Collectors.toList()), contains(
+                OutboxEventType.ITEM_UPDATED, OutboxEventType.ITEM_DELETED));
+    }
+
+    @Test
+    void failedDeliveryParkedOk() {
+        outbox.publish(OutboxEventType.ITEM_UPDATED, 1, Map.of("id", 1));
+        outbox.publish(OutboxEventType.ITEM_DELETED, 1, Map.of("id", 1));
+        List<OutboxMessage> messages = new ArrayList<>();
+        var relay = relay(10, 2, message -> {
+            if (message.getType() == OutboxEventType.ITEM_UPDATED) throw new IllegalStateException("listener down");
+            messages.add(message);
+        });
+
+        relay.drain();
+        assertThat(messages, hasSize(0));
+        relay.drain();
+        relay.drain();
+        assertThat(messages.stream().map(OutboxMessage::getType).collect(Collectors.toList()),
+                contains(OutboxEventType.ITEM_DELETED));
+        var left = outboxRepository.findAll(Sort.by("id"));
+        assertThat(left, hasSize(1));
+        assertThat(left.get(0).getStatus(), equalTo(OutboxStatus.PARKED));
+        assertThat(left.get(0).getAttempts(), equalTo(2));
+    }
+
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void aggregateWritersCommitInEventOrderOk() throws Exception {
+        var published = new CountDownLatch(1);
+        var commit = new CountDownLatch(1);
+        var update = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            userService.update(bookerId, UserDto.builder()
+                    .name("updated")
+                    .build());
+            published.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        published.await();
+        var delete = CompletableFuture.runAsync(() -> userService.delete(bookerId));
+        List<OutboxMessage> messages = new ArrayList<>();
+
+        assertThrows(TimeoutException.class, () -> delete.get(500, TimeUnit.MILLISECONDS));
+        relay(10, messages::add).drain();
+        assertThat(messages, hasSize(0));
+
+        commit.countDown();
+        update.get();
+        delete.get();
+        relay(10, messages::add).drain();
+        assertThat(messages.stream().map(OutboxMessage::getType).collect(Collectors.toList()), contains(
+                OutboxEventType.USER_UPDATED, OutboxEventType.USER_DELETED));
+    }
+
+    private OutboxRelay relay(int batchSize, Consumer<OutboxMessage> listener) {
+        return relay(batchSize, new OutboxProperties().getMaxAttempts(), listener);
+    }
+
+    private OutboxRelay relay(int batchSize, int maxAttempts, Consumer<OutboxMessage> listener) {
+        var properties = new OutboxProperties();
+        properties.setBatchSize(batchSize);
+        properties.setMaxAttempts(maxAttempts);
+        return new OutboxRelay(outboxRepository, event -> listener.accept((OutboxMessage) event), transactionTemplate,
+                null, properties, new SimpleMeterRegistry());
+    }
+}
@@ -8,12 +8,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import ru.practicum.shareit.exception.ErrorMessages;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.RequestCreateDto;
 import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.dto.RequestFeedDto;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
 import ru.practicum.shareit.request.dto.RequestWithItemsDto;
 import ru.practicum.shareit.request.service.RequestService;
 import ru.practicum.shareit.util.PageRequestWithOffset;
@@ -167,7 +172,7 @@ class RequestControllerTest {
                 .header(USER_ID_HEADER, userId);
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("created").descending());
         when(requestService.findAll(userId, pageable))
-                .thenReturn(answer);
+                .thenReturn(new SliceImpl<>(answer));
         mockMvc.perform(mockRequest)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id", is(answer.get(0).getId()), Long.class))
@@ -183,4 +188,88 @@ class RequestControllerTest {
         mockMvc.perform(mockRequest)
                 .andExpect(status().isInternalServerError());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSuggestionsOk() throws Exception {
+        var userId = 1L;
+        var requestId = 2L;
+        var answer = List.of(ItemDto.builder()
+                .id(3L)
+                .name("item")
+                .description("item description")
+                .available(true)
+                .build());
+        var mockRequest = MockMvcRequestBuilders.get("/requests/" + requestId + "/suggestions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(USER_ID_HEADER, userId);
+        when(requestService.findSuggestions(userId, requestId))
+                .thenReturn(answer);
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(answer.get(0).getId()), Long.class));
+    }
+
+    @Test
+    void getMatchesOk() throws Exception {
+        var userId = 1L;
+        var afterId = 5L;
+        var size = 2;
+        var answer = List.of(RequestMatchDto.builder()
+                .id(6L)
+                .created(LocalDateTime.now())
+                .request(RequestDto.builder()
+                        .id(2L)
+                        .description("request description")
+                        .build())
+                .item(ItemDto.builder()
+                        .id(3L)
+                        .build())
+                .build());
+        var mockRequest = MockMvcRequestBuilders.get(String.format("/requests/matches?afterId=%d&size=%d",
+                        afterId, size))
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(USER_ID_HEADER, userId);
+        when(requestService.findMatches(userId, afterId, size))
+                .thenReturn(answer);
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(answer.get(0).getId()), Long.class))
+                .andExpect(jsonPath("$[0].request.id", is(answer.get(0).getRequest().getId()), Long.class))
+                .andExpect(jsonPath("$[0].item.id", is(answer.get(0).getItem().getId()), Long.class));
+    }
+
+    @Test
+    void getFeedOk() throws Exception {
+        var userId = 1L;
+        var cursor = new RequestFeedCursor(LocalDateTime.of(2024, 3, 1, 10, 0), 7);
+        var answer = RequestFeedDto.builder()
+                .requests(List.of(RequestWithItemsDto.builder()
+                        .id(6L)
+                        .description("request description")
+                        .created(LocalDateTime.of(2024, 2, 1, 10, 0))
+                        .items(Collections.emptyList())
+                        .build()))
+                .nextCursor("next")
+                .build();
+        var mockRequest = MockMvcRequestBuilders.get("/requests/feed?size=1&cursor=" + cursor.encode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(USER_ID_HEADER, userId);
+        when(requestService.findFeed(userId, cursor, 1))
+                .thenReturn(answer);
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requests[0].id", is(6L), Long.class))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+    }
+
+    @Test
+    void getFeedInvalidCursorFail() throws Exception {
+        var mockRequest = MockMvcRequestBuilders.get("/requests/feed?cursor=abc")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(USER_ID_HEADER, 1L);
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is(ErrorMessages.INVALID_CURSOR.getFormatMessage("abc"))));
+    }
+}
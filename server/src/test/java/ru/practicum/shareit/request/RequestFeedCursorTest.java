@@ -0,0 +1,33 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ErrorMessages;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestFeedCursorTest {
+
+    @Test
+    void encodeOk() {
+        var cursor = new RequestFeedCursor(LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123456000), 42);
+        assertThat(RequestFeedCursor.decode(cursor.encode()), equalTo(cursor));
+    }
+
+    @Test
+    void decodeEmptyOk() {
+        assertThat(RequestFeedCursor.decode(null), equalTo(RequestFeedCursor.FIRST));
+        assertThat(RequestFeedCursor.decode(""), equalTo(RequestFeedCursor.FIRST));
+    }
+
+    @Test
+    void decodeInvalidFail() {
+        for (var cursor : new String[]{"%%%", "bm90LWEtY3Vyc29y", "MjAyNC0wMy0wMVQxMDoxNV94"}) {
+            var exception = assertThrows(IllegalArgumentException.class, () -> RequestFeedCursor.decode(cursor));
+            assertThat(exception.getMessage(), equalTo(ErrorMessages.INVALID_CURSOR.getFormatMessage(cursor)));
+        }
+    }
+}
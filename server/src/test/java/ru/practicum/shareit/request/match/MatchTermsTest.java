@@ -0,0 +1,32 @@
+package ru.practicum.shareit.request.match;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+class MatchTermsTest {
+
+    @Test
+    void ofOk() {
+        assertThat(List.copyOf(MatchTerms.of("Cordless DRILL, 18v", null, "a drill for the garden")),
+                equalTo(List.of("cordless", "drill", "18v", "for", "the", "garden")));
+        assertThat(List.copyOf(MatchTerms.of("Дрель ударная")), equalTo(List.of("дрель", "ударная")));
+    }
+
+    @Test
+    void ofLimitsOk() {
+        var longWord = "x".repeat(MatchTerms.MAX_LENGTH + 10);
+        assertThat(List.copyOf(MatchTerms.of(longWord)), equalTo(List.of("x".repeat(MatchTerms.MAX_LENGTH))));
+
+        var text = IntStream.range(0, MatchTerms.MAX_TERMS * 2)
+                .mapToObj(i -> "word" + i)
+                .collect(Collectors.joining(" "));
+        assertThat(MatchTerms.of(text), hasSize(MatchTerms.MAX_TERMS));
+    }
+}
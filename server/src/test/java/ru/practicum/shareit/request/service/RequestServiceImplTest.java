@@ -7,25 +7,38 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.ErrorMessages;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.Request;
+import ru.practicum.shareit.request.RequestFeedCursor;
 import ru.practicum.shareit.request.dto.RequestCreateDto;
+import ru.practicum.shareit.request.dto.RequestMatchDto;
+import ru.practicum.shareit.request.dto.RequestWithItemsDto;
 import ru.practicum.shareit.request.mapper.RequestMapper;
 import ru.practicum.shareit.util.PageRequestWithOffset;
 
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.monitoring.SqlStatementAssertions.assertMaxStatements;
 
 @Transactional
 @SpringBootTest
@@ -33,6 +46,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 class RequestServiceImplTest {
 
     private final RequestService requestService;
+    private final ItemService itemService;
     private final RequestMapper requestMapper;
     private final ItemMapper itemMapper;
     private final EntityManager em;
@@ -164,7 +178,7 @@ class RequestServiceImplTest {
         var from = 0;
         var size = 10;
         Pageable pageable = PageRequestWithOffset.of(from, size, Sort.by("created").descending());
-        var result = requestService.findAll(bookerId, pageable);
+        var result = requestService.findAll(bookerId, pageable).getContent();
         assertThat(result, hasSize(0));
 
         size = 1;
@@ -185,7 +199,7 @@ class RequestServiceImplTest {
                 .map(r -> requestMapper.toRequestWithItemsDto(r, items.getOrDefault(r.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
         pageable = PageRequestWithOffset.of(from, size, Sort.by("created").descending());
-        result = requestService.findAll(ownerId, pageable);
+        result = requestService.findAll(ownerId, pageable).getContent();
 
         assertThat(result, hasSize(size));
         org.assertj.core.api.Assertions.assertThat(result)
@@ -193,6 +207,16 @@ class RequestServiceImplTest {
                 .isEqualTo(requestWithItemsDto);
     }
 
+    @Test
+    void findAllHasNextOk() {
+        var result = requestService.findAll(ownerId, PageRequestWithOffset.of(0, 1, Sort.by("created").descending()));
+        assertThat(result.getContent(), hasSize(1));
+        assertThat(result.hasNext(), is(true));
+        result = requestService.findAll(ownerId, PageRequestWithOffset.of(0, 2, Sort.by("created").descending()));
+        assertThat(result.getContent(), hasSize(2));
+        assertThat(result.hasNext(), is(false));
+    }
+
     @Test
     void findAllWithoutUserFail() {
         var from = 0;
@@ -202,4 +226,186 @@ class RequestServiceImplTest {
                 () -> requestService.findAll(unknownUserId, pageable));
         assertThat(exception.getMessage(), equalTo(ErrorMessages.USER_NOT_FOUND.getFormatMessage(unknownUserId)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findStatementsOk() {
+        var request = assertMaxStatements(3, () -> requestService.findById(bookerId, requestWithItemsId));
+        assertThat(request.getItems(), hasSize(3));
+        em.clear();
+        assertMaxStatements(3, () -> requestService.findByUserId(bookerId));
+        em.clear();
+        Pageable pageable = PageRequestWithOffset.of(0, 10, Sort.by("created").descending());
+        var requests = assertMaxStatements(2, () -> requestService.findAll(ownerId, pageable).getContent());
+        assertThat(requests.get(0).getItems(), hasSize(3));
+        em.clear();
+        assertMaxStatements(2, () -> requestService.findFeed(ownerId, RequestFeedCursor.FIRST, 10));
+    }
+
+    @Test
+    void findFeedOk() {
+        for (var i = 0; i < 3; i++) {
+            requestService.create(bookerId, RequestCreateDto.builder()
+                    .description("feed request " + i)
+                    .build());
+        }
+        var expected = em.createQuery("select r from Request r where r.user.id <> :id" +
+                        " order by r.created desc, r.id desc", Request.class)
+                .setParameter("id", ownerId)
+                .getResultStream()
+                .map(Request::getId)
+                .collect(Collectors.toList());
+
+        List<Long> result = new ArrayList<>();
+        var cursor = RequestFeedCursor.FIRST;
+        var pages = 0;
+        while (cursor != null) {
+            var page = requestService.findFeed(ownerId, cursor, 2);
+            page.getRequests().forEach(r -> result.add(r.getId()));
+            cursor = page.getNextCursor() == null ? null : RequestFeedCursor.decode(page.getNextCursor());
+            pages++;
+        }
+
+        assertThat(pages, equalTo(3));
+        assertThat(result, equalTo(expected));
+    }
+
+    @Test
+    void findFeedZeroSizeFail() {
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> requestService.findFeed(ownerId, RequestFeedCursor.FIRST, 0));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.INVALID_PAGE_SIZE.getMessage()));
+    }
+
+    @Test
+    void findFeedItemsOk() {
+        var feed = requestService.findFeed(ownerId, RequestFeedCursor.FIRST, 10);
+        var items = em.createQuery("select i from Item i where i.request.id = :id order by i.id", Item.class)
+                .setParameter("id", requestWithItemsId)
+                .getResultStream()
+                .map(itemMapper::toItemWithRequestDto)
+                .collect(Collectors.toList());
+
+        assertThat(feed.getNextCursor(), equalTo(null));
+        assertThat(feed.getRequests().stream().map(RequestWithItemsDto::getId).collect(Collectors.toList()),
+                equalTo(List.of(requestWithItemsId, requestWithoutItemsId)));
+        org.assertj.core.api.Assertions.assertThat(feed.getRequests().get(0).getItems())
+                .usingRecursiveComparison()
+                .isEqualTo(items);
+        assertThat(feed.getRequests().get(1).getItems(), empty());
+        assertThat(requestService.findFeed(bookerId, RequestFeedCursor.FIRST, 10).getRequests(), empty());
+    }
+
+    @Test
+    void createMatchesAvailableItemsOk() {
+        var request = requestService.create(userId, RequestCreateDto.builder()
+                .description("Any item, please")
+                .build());
+
+        var suggestions = requestService.findSuggestions(userId, request.getId());
+        assertThat(itemIds(suggestions), containsInAnyOrder(1L, 2L, 3L));
+
+        var matches = requestService.findMatches(ownerId, 0, 10);
+        assertThat(matches, hasSize(3));
+        assertThat(matches.stream().map(m -> m.getRequest().getId()).distinct().collect(Collectors.toList()),
+                equalTo(List.of(request.getId())));
+        assertThat(matches.stream().map(RequestMatchDto::getItem).map(ItemDto::getId).collect(Collectors.toList()),
+                containsInAnyOrder(1L, 2L, 3L));
+    }
+
+    @Test
+    void createOwnItemsNotMatchedOk() {
+        var request = requestService.create(ownerId, RequestCreateDto.builder()
+                .description("Any item, please")
+                .build());
+
+        assertThat(requestService.findSuggestions(ownerId, request.getId()), empty());
+        assertThat(requestService.findMatches(ownerId, 0, 10), empty());
+    }
+
+    @Test
+    void itemCreateMatchesOpenRequestsOk() {
+        var item = itemService.create(userId, ItemDto.builder()
+                .name("Request")
+                .description("matches any description")
+                .available(true)
+                .build());
+
+        var matches = requestService.findMatches(userId, 0, 10);
+        assertThat(matches.stream().map(m -> m.getRequest().getId()).collect(Collectors.toList()),
+                equalTo(List.of(requestWithoutItemsId)));
+        assertThat(itemIds(requestService.findSuggestions(bookerId, requestWithoutItemsId)), contains(item.getId()));
+    }
+
+    @Test
+    void answeredRequestNotMatchedOk() {
+        itemService.create(ownerId, ItemDto.builder()
+                .name("Answer")
+                .description("answers the request")
+                .available(true)
+                .requestId(requestWithoutItemsId)
+                .build());
+        itemService.create(userId, ItemDto.builder()
+                .name("Request")
+                .description("matches any description")
+                .available(true)
+                .build());
+
+        assertThat(requestService.findMatches(userId, 0, 10), empty());
+    }
+
+    @Test
+    void findSuggestionsNotAuthorFail() {
+        var request = requestService.create(userId, RequestCreateDto.builder()
+                .description("Any item, please")
+                .build());
+
+        var exception = assertThrows(AccessDeniedException.class,
+                () -> requestService.findSuggestions(bookerId, request.getId()));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.AUTHOR_SUGGESTIONS.getMessage()));
+    }
+
+    @Test
+    void itemMadeAvailableMatchedOk() {
+        var unavailableItemId = 4L;
+        var request = requestService.create(userId, RequestCreateDto.builder()
+                .description("item description 4")
+                .build());
+        assertThat(itemIds(requestService.findSuggestions(userId, request.getId())), containsInAnyOrder(1L, 2L, 3L));
+
+        itemService.update(ownerId, ItemDto.builder()
+                .id(unavailableItemId)
+                .available(true)
+                .build());
+
+        assertThat(itemIds(requestService.findSuggestions(userId, request.getId())),
+                containsInAnyOrder(1L, 2L, 3L, unavailableItemId));
+    }
+
+    @Test
+    void findMatchesPagedOk() {
+        requestService.create(userId, RequestCreateDto.builder()
+                .description("Any item, please")
+                .build());
+
+        var first = requestService.findMatches(ownerId, 0, 2);
+        var second = requestService.findMatches(ownerId, first.get(first.size() - 1).getId(), 2);
+
+        assertThat(first, hasSize(2));
+        assertThat(second, hasSize(1));
+        assertThat(second.get(0).getId() > first.get(1).getId(), equalTo(true));
+    }
+
+    @Test
+    void findSuggestionsWithoutRequestFail() {
+        var exception = assertThrows(NotFoundException.class,
+                () -> requestService.findSuggestions(bookerId, unknownRequestId));
+        assertThat(exception.getMessage(), equalTo(
+                ErrorMessages.REQUEST_NOT_FOUND.getFormatMessage(unknownRequestId)));
+    }
+
+    private static List<Long> itemIds(List<ItemDto> items) {
+        return items.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+    }
+}
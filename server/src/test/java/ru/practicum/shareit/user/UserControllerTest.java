@@ -17,10 +17,11 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
 
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.Mockito.when;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
 class UserControllerTest {
@@ -151,12 +152,47 @@ class UserControllerTest {
         );
         MockHttpServletRequestBuilder mockRequest = MockMvcRequestBuilders.get("/users")
                 .contentType(MediaType.APPLICATION_JSON);
-        when(userService.getAll())
+        when(userService.getAll(0, 100))
                 .thenReturn(users);
         mockMvc.perform(mockRequest)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id", is(users.get(0).getId()), Long.class))
                 .andExpect(jsonPath("$[1].id", is(users.get(1).getId()), Long.class));
+
+        mockRequest = MockMvcRequestBuilders.get("/users?afterId=1&size=1")
+                .contentType(MediaType.APPLICATION_JSON);
+        when(userService.getAll(1, 1))
+                .thenReturn(users.subList(1, 2));
+        mockMvc.perform(mockRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(users.get(1).getId()), Long.class));
+    }
+
+    @Test
+    void streamOk() throws Exception {
+        var users = List.of(
+                UserDto.builder()
+                        .id(1L)
+                        .name("user1name")
+                        .email("user1@mail.com")
+                        .build(),
+                UserDto.builder()
+                        .id(2L)
+                        .name("user2name")
+                        .email("user2@mail.com")
+                        .build()
+        );
+        when(userService.getAll(0, 500))
+                .thenReturn(users);
+        var mvcResult = mockMvc.perform(MockMvcRequestBuilders.get("/users/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var expected = mapper.writeValueAsString(users.get(0)) + "\n" + mapper.writeValueAsString(users.get(1)) + "\n";
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(expected));
     }
 
     @Test
@@ -7,8 +7,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.ErrorMessages;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -16,10 +19,13 @@ import ru.practicum.shareit.user.model.User;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
@@ -29,6 +35,7 @@ class UserServiceImplTest {
 
     private final UserService userService;
     private final UserMapper userMapper;
+    private final BookingService bookingService;
     private final EntityManager em;
 
     private UserDto userDto;
@@ -36,6 +43,7 @@ class UserServiceImplTest {
     private final long ownerId = 1;
     private final long userId = 3;
     private final long unknownUserId = 100;
+    private final int maxPageSize = 1000;
 
     @BeforeEach
     public void setUp() {
@@ -96,7 +104,7 @@ class UserServiceImplTest {
                 .map(userMapper::userToDto)
                 .collect(Collectors.toList());
 
-        var result = userService.getAll();
+        var result = userService.getAll(0, 1000);
         assertThat(result.size(), equalTo(users.size()));
         org.assertj.core.api.Assertions.assertThat(result)
                 .usingRecursiveComparison()
@@ -104,6 +112,37 @@ class UserServiceImplTest {
 
     }
 
+    @Test
+    public void findAllKeysetOk() {
+        var query = em.createQuery("select u from User u where u.id > :id order by u.id", User.class);
+        var users = query.setParameter("id", ownerId)
+                .setMaxResults(1)
+                .getResultStream()
+                .map(userMapper::userToDto)
+                .collect(Collectors.toList());
+
+        var result = userService.getAll(ownerId, 1);
+        assertThat(result.size(), equalTo(1));
+        org.assertj.core.api.Assertions.assertThat(result)
+                .usingRecursiveComparison()
+                .isEqualTo(users);
+    }
+
+    @Test
+    public void findAllSizeCappedOk() {
+        em.createNativeQuery("INSERT INTO users (name, email)" +
+                        " SELECT 'user ' || x, 'user' || x || '@mail.com' FROM system_range(1, 1000)")
+                .executeUpdate();
+        var result = userService.getAll(0, Integer.MAX_VALUE);
+        assertThat(result.size(), equalTo(maxPageSize));
+    }
+
+    @Test
+    public void findAllZeroSizeFail() {
+        var exception = assertThrows(IllegalArgumentException.class, () -> userService.getAll(0, 0));
+        assertThat(exception.getMessage(), equalTo(ErrorMessages.INVALID_PAGE_SIZE.getMessage()));
+    }
+
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
     public void updateOk() {
@@ -155,6 +194,42 @@ class UserServiceImplTest {
         assertThat(exception.getMessage(), equalTo(ErrorMessages.USER_NOT_FOUND.getFormatMessage(unknownUserId)));
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void deleteAuthorCommentsCountOk() {
+        var authorId = 2L;
+        var itemId = 2L;
+        var otherComments = em.createQuery("select count(c) from Comment c where c.item.id = :itemId" +
+                        " and c.author.id <> :authorId", Long.class)
+                .setParameter("itemId", itemId)
+                .setParameter("authorId", authorId)
+                .getSingleResult();
+
+        userService.delete(authorId);
+        assertThat(em.find(Item.class, itemId).getCommentsCount(), equalTo(otherComments));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    public void deleteBookerBookingsCountOk() {
+        var bookerId = 2L;
+        var start = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.SECONDS);
+        var booking = bookingService.create(userId, BookingCreateDto.builder()
+                .itemId(2L)
+                .start(start)
+                .end(start.plusDays(1))
+                .build());
+        bookingService.updateStatus(booking.getId(), ownerId, true);
+
+        userService.delete(bookerId);
+        var booked = em.find(Item.class, 2L);
+        assertThat(booked.getBookingsCount(), equalTo(1L));
+        assertThat(booked.getLastBookedAt(), equalTo(start));
+        var unbooked = em.find(Item.class, 3L);
+        assertThat(unbooked.getBookingsCount(), equalTo(0L));
+        assertThat(unbooked.getLastBookedAt(), nullValue());
+    }
+
     @Test
     @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
     public void deleteOk() {
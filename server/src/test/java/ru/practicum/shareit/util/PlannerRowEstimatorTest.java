@@ -0,0 +1,27 @@
+package ru.practicum.shareit.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class PlannerRowEstimatorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void planRowsOk() {
+        var plan = "[{\"Plan\": {\"Node Type\": \"Index Scan\", \"Startup Cost\": 0.29, \"Total Cost\": 8.31," +
+                " \"Plan Rows\": 128, \"Plan Width\": 4}}]";
+        assertThat(PlannerRowEstimator.planRows(objectMapper, plan), equalTo(OptionalLong.of(128)));
+    }
+
+    @Test
+    void planRowsWithoutPlanOk() {
+        assertThat(PlannerRowEstimator.planRows(objectMapper, "[]"), equalTo(OptionalLong.empty()));
+        assertThat(PlannerRowEstimator.planRows(objectMapper, "not a plan"), equalTo(OptionalLong.empty()));
+    }
+}
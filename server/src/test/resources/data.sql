@@ -35,3 +35,8 @@ INSERT INTO comments (author_id, item_id, text, created)
 VALUES (2, 2, 'Positive comment', current_timestamp - interval '9' hour),
        (2, 2, 'Negative comment', current_timestamp - interval '8' hour),
        (2, 1, 'Neutral comment', current_timestamp - interval '7' hour);
+
+UPDATE items i
+SET comments_count = (SELECT count(*) FROM comments c WHERE c.item_id = i.id),
+    bookings_count = (SELECT count(*) FROM booking b WHERE b.item_id = i.id AND b.status = 'APPROVED'),
+    last_booked_at = (SELECT max(b.start_booking) FROM booking b WHERE b.item_id = i.id AND b.status = 'APPROVED');